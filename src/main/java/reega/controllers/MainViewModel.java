@@ -5,6 +5,7 @@ package reega.controllers;
 
 import javafx.collections.ObservableList;
 import org.apache.commons.lang3.tuple.Pair;
+import reega.data.exporter.ExportJob;
 import reega.data.models.Contract;
 import reega.data.models.ServiceType;
 import reega.statistics.DataPlotter;
@@ -74,6 +75,13 @@ public interface MainViewModel extends UserViewModel {
      */
     ObservableList<Command> getCommands();
 
+    /**
+     * Get the exports running in background, the queued ones and the finished ones not removed yet.
+     *
+     * @return the export jobs, in submission order
+     */
+    ObservableList<ExportJob> getExportJobs();
+
     /**
      * Add <code>contract</code> to the selected contracts.
      *
@@ -1,7 +1,6 @@
 package reega.controllers;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -13,15 +12,20 @@ import javax.inject.Inject;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import reega.data.ContractManager;
 import reega.data.DataFetcher;
+import reega.data.exporter.CompressionCodec;
 import reega.data.exporter.ExportFormat;
-import reega.data.exporter.ReegaExporterFactory;
+import reega.data.exporter.ExportJob;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ExportQueue;
 import reega.data.models.Contract;
 import reega.data.models.Data;
 import reega.data.models.ServiceType;
+import reega.io.DialogExtensionFilter;
 import reega.logging.ExceptionHandler;
 import reega.statistics.DataPlotter;
 import reega.statistics.StatisticsController;
@@ -41,6 +45,8 @@ public class MainViewModelImpl extends AbstractViewModel implements MainViewMode
     private List<Contract> contracts;
     private final ObservableList<Contract> selectedContracts = FXCollections.observableArrayList();
     private final ObservableList<Command> commands = FXCollections.observableArrayList();
+    private final ObservableList<ExportJob> exportJobs = FXCollections.observableArrayList();
+    private final ExportQueue exportQueue = new ExportQueue();
     private EventHandler<Void> logoutEventHandler;
     private final DataFetcher dataFetcher;
     private final ContractManager contractManager;
@@ -60,14 +66,27 @@ public class MainViewModelImpl extends AbstractViewModel implements MainViewMode
      * Initialize the commands.
      */
     protected void initializeCommands() {
-        this.commands.add(new LabeledCommand("Export to CSV",
-                args -> DialogFactory.getDefaultSaveDialog()
-                        .openSaveDialog("CSV Files", ".csv")
-                        .ifPresent(file -> this.exportDataToFile(ExportFormat.CSV, file))));
-        this.commands.add(new LabeledCommand("Export to JSON",
+        this.addExportCommand("Export to CSV", ExportFormat.CSV, "CSV Files", ".csv");
+        this.addExportCommand("Export to JSON", ExportFormat.JSON, "JSON Files", ".json");
+        this.addExportCommand("Export to binary", ExportFormat.BINARY, "Reega binary Files", ".reega");
+    }
+
+    /**
+     * Add a command that exports the current data, letting the user choose between the plain and the compressed file.
+     *
+     * @param label                label of the command
+     * @param format               format of the export
+     * @param extensionDescription description of the files having <code>extension</code>
+     * @param extension            extension of the files
+     */
+    private void addExportCommand(final String label, final ExportFormat format, final String extensionDescription,
+            final String extension) {
+        this.commands.add(new LabeledCommand(label,
                 args -> DialogFactory.getDefaultSaveDialog()
-                        .openSaveDialog("JSON Files", ".json")
-                        .ifPresent(file -> this.exportDataToFile(ExportFormat.JSON, file))));
+                        .openSaveDialog(new DialogExtensionFilter(extensionDescription, List.of(extension)),
+                                new DialogExtensionFilter("Compressed " + extensionDescription,
+                                        List.of(extension + CompressionCodec.GZIP.getExtension())))
+                        .ifPresent(file -> this.exportDataToFile(format, file))));
     }
 
     /**
@@ -115,12 +134,37 @@ public class MainViewModelImpl extends AbstractViewModel implements MainViewMode
         this.getStatisticsController().setData(initialData);
     }
 
+    /**
+     * Queue the export of the current data, so that the UI stays responsive while the file is written.
+     *
+     * @param format format of the export
+     * @param file   destination file
+     */
     private void exportDataToFile(final ExportFormat format, final File file) {
-        try {
-            ReegaExporterFactory.export(format, this.statisticsController.getCurrentData(), file.getAbsolutePath());
-        } catch (final IOException e) {
-            this.exceptionHandler.handleException(e);
-        }
+        final ExportOptions options = ExportOptions.builder()
+                .compression(CompressionCodec.fromFileName(file.getName()))
+                .build();
+        this.trackExportJob(this.exportQueue.submit(format, this.statisticsController.getCurrentData(), file,
+                options));
+    }
+
+    /**
+     * Queue the sharded export of the current data into <code>directory</code>: one file per contract, written in
+     * parallel, and a manifest listing the files.
+     *
+     * @param format    format of the export
+     * @param directory destination directory
+     */
+    protected void exportShardedData(final ExportFormat format, final File directory) {
+        this.trackExportJob(this.exportQueue.submitSharded(format, this.statisticsController.getCurrentData(),
+                directory, ExportOptions.getDefault()));
+    }
+
+    private void trackExportJob(final ExportJob job) {
+        job.addListener(j -> j.getError()
+                .ifPresent(e -> Platform.runLater(() -> this.exceptionHandler.handleException(e,
+                        "Failed to export the data to " + j.getFile().getAbsolutePath()))));
+        this.exportJobs.add(job);
     }
 
     /**
@@ -131,14 +175,21 @@ public class MainViewModelImpl extends AbstractViewModel implements MainViewMode
         return this.commands;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ObservableList<ExportJob> getExportJobs() {
+        return this.exportJobs;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void addSelectedContract(final Contract contract) {
-        final List<Data> newData = this.dataFetcher
-                .pushAndFetchContract(this.getStatisticsController().getCurrentData(), contract);
-        this.getStatisticsController().setData(newData);
+        final List<Data> contractData = this.dataFetcher.fetchContractData(contract);
+        this.getStatisticsController().addContractData(contract.getId(), contractData);
         this.selectedContracts.add(contract);
     }
 
@@ -147,9 +198,8 @@ public class MainViewModelImpl extends AbstractViewModel implements MainViewMode
      */
     @Override
     public void removeSelectedContract(final Contract contract) {
-        final List<Data> newData = this.dataFetcher
-                .removeAndFetchContract(this.getStatisticsController().getCurrentData(), contract);
-        this.getStatisticsController().setData(newData);
+        this.dataFetcher.removeContract(contract);
+        this.getStatisticsController().removeContractData(contract.getId());
         this.selectedContracts.remove(contract);
     }
 
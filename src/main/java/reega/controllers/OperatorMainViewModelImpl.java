@@ -12,6 +12,7 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import reega.data.OperatorContractManager;
 import reega.data.OperatorDataFetcher;
+import reega.data.exporter.ExportFormat;
 import reega.data.models.Contract;
 import reega.data.models.Data;
 import reega.data.models.ServiceType;
@@ -20,6 +21,7 @@ import reega.statistics.DataPlotter;
 import reega.statistics.StatisticsController;
 import reega.users.User;
 import reega.viewutils.Command;
+import reega.viewutils.DialogFactory;
 import reega.viewutils.LabeledCommand;
 
 public class OperatorMainViewModelImpl extends MainViewModelImpl implements OperatorMainViewModel {
@@ -58,6 +60,14 @@ public class OperatorMainViewModelImpl extends MainViewModelImpl implements Oper
         this.getCommands().add(new LabeledCommand("Search", args -> {
             this.jumpToSearchUser();
         }));
+        this.getCommands().add(new LabeledCommand("Export sharded CSV", args -> DialogFactory
+                .getDefaultDirectoryDialog()
+                .openDirectoryDialog()
+                .ifPresent(directory -> this.exportShardedData(ExportFormat.CSV, directory))));
+        this.getCommands().add(new LabeledCommand("Export sharded binary", args -> DialogFactory
+                .getDefaultDirectoryDialog()
+                .openDirectoryDialog()
+                .ifPresent(directory -> this.exportShardedData(ExportFormat.BINARY, directory))));
         this.defaultCommands = List.copyOf(this.getCommands());
     }
 
@@ -0,0 +1,78 @@
+package reega.data;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.NotNull;
+
+import reega.data.models.Contract;
+import reega.data.models.MonthlyReport;
+import reega.data.models.gson.NewContract;
+
+/**
+ * Non-blocking counterpart of {@link ContractController}. Every method returns immediately and the returned future is
+ * completed on the HTTP client thread.
+ */
+public interface AsyncContractController {
+
+    /**
+     * List all contracts for the user without blocking the caller.
+     *
+     * @return a {@link CompletableFuture} completed with the contracts of the user
+     * @see ContractController#getUserContracts()
+     */
+    CompletableFuture<List<Contract>> getUserContractsAsync();
+
+    /**
+     * Retrieve all the contracts in the name of the specified user without blocking the caller.
+     *
+     * @param fiscalCode fiscal code of the user
+     * @return a {@link CompletableFuture} completed with the contracts of the user
+     * @see ContractController#getContractsForUser(String)
+     */
+    CompletableFuture<List<Contract>> getContractsForUserAsync(String fiscalCode);
+
+    /**
+     * Get all the contracts of the Reega platform without blocking the caller.
+     *
+     * @return a {@link CompletableFuture} completed with all the contracts of the Reega platform
+     * @see ContractController#getAllContracts()
+     */
+    CompletableFuture<List<Contract>> getAllContractsAsync();
+
+    /**
+     * Add contract without blocking the caller.
+     *
+     * @param contract contract that needs to be added
+     * @return a {@link CompletableFuture} completed with the new contract
+     * @see ContractController#addContract(NewContract)
+     */
+    CompletableFuture<Contract> addContractAsync(NewContract contract);
+
+    /**
+     * Delete contract without blocking the caller.
+     *
+     * @param id contract ID
+     * @return a {@link CompletableFuture} completed when the contract has been removed
+     * @see ContractController#removeContract(int)
+     */
+    CompletableFuture<Void> removeContractAsync(int id);
+
+    /**
+     * Search for contracts without blocking the caller.
+     *
+     * @param keyword to match, case insensitive
+     * @return a {@link CompletableFuture} completed with the contracts matching the keyword
+     * @see ContractController#searchContract(String)
+     */
+    CompletableFuture<List<Contract>> searchContractAsync(String keyword);
+
+    /**
+     * Get all the bills for the contract IDs specified by <code>contractIDs</code> without blocking the caller.
+     *
+     * @param contractIDs list of contract IDs that needs to get the bills
+     * @return a {@link CompletableFuture} completed with a list of {@link MonthlyReport}
+     * @see ContractController#getBillsForContracts(List)
+     */
+    CompletableFuture<List<MonthlyReport>> getBillsForContractsAsync(@NotNull List<Integer> contractIDs);
+}
@@ -0,0 +1,63 @@
+package reega.data;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+/**
+ * Non-blocking counterpart of {@link DataController}. Every method returns immediately and the returned future is
+ * completed on the HTTP client thread, so UI callers need to move back to their own thread before touching the view.
+ */
+public interface AsyncDataController {
+    /**
+     * Push data into the database without blocking the caller.
+     *
+     * @param data data that needs to be put in the database
+     * @return a {@link CompletableFuture} completed when the data has been sent
+     * @see DataController#putUserData(Data)
+     */
+    CompletableFuture<Void> putUserDataAsync(Data data);
+
+    /**
+     * Push several data series into the database without blocking the caller. The chunks are sent concurrently.
+     *
+     * @param data data series that need to be put in the database
+     * @return a {@link CompletableFuture} completed with the series that could not be stored
+     * @see DataController#putUserDataBatch(List)
+     */
+    CompletableFuture<List<Data>> putUserDataBatchAsync(List<Data> data);
+
+    /**
+     * Get the latest timestamp for the specific contract and metric without blocking the caller.
+     *
+     * @param contractID ID of the researched contract
+     * @param service    data type requested
+     * @return a {@link CompletableFuture} completed with the latest timestamp(in milliseconds)
+     * @see DataController#getLatestData(int, DataType)
+     */
+    CompletableFuture<Long> getLatestDataAsync(int contractID, DataType service);
+
+    /**
+     * Get the latest timestamp of every {@link DataType} of the given contracts without blocking the caller.
+     *
+     * @param contractIDs IDs of the researched contracts
+     * @return a {@link CompletableFuture} completed with the latest timestamps by contract and {@link DataType}
+     * @see DataController#getLatestTimestamps(Collection)
+     */
+    CompletableFuture<Map<Integer, Map<DataType, Long>>> getLatestTimestampsAsync(Collection<Integer> contractIDs);
+
+    /**
+     * Get the data from the first day of the month until today without blocking the caller.
+     *
+     * @param contractID contractID that needs to get the monthly data
+     * @return a {@link CompletableFuture} completed with the monthly data
+     * @see DataController#getMonthlyData(Integer)
+     */
+    CompletableFuture<List<Data>> getMonthlyDataAsync(@Nullable Integer contractID);
+}
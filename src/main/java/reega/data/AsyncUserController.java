@@ -0,0 +1,50 @@
+package reega.data;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import reega.users.NewUser;
+import reega.users.User;
+
+/**
+ * Non-blocking counterpart of {@link UserController}. Every method returns immediately and the returned future is
+ * completed on the HTTP client thread.
+ */
+public interface AsyncUserController {
+
+    /**
+     * Add user to REEGA platform without blocking the caller.
+     *
+     * @param newUser new user that wants to be added to the platform
+     * @return a {@link CompletableFuture} completed when the user has been added
+     * @see UserController#addUser(NewUser)
+     */
+    CompletableFuture<Void> addUserAsync(NewUser newUser);
+
+    /**
+     * Remove user from REEGA platform without blocking the caller.
+     *
+     * @param fiscalCode fiscal code of the user that wants to be removed
+     * @return a {@link CompletableFuture} completed when the user has been removed
+     * @see UserController#removeUser(String)
+     */
+    CompletableFuture<Void> removeUserAsync(String fiscalCode);
+
+    /**
+     * Find a user by a specified contract ID without blocking the caller. Admin only
+     *
+     * @param contractID id of the contract
+     * @return a {@link CompletableFuture} completed with the accountholder user
+     * @see UserController#getUserFromContract(int)
+     */
+    CompletableFuture<User> getUserFromContractAsync(int contractID);
+
+    /**
+     * Search for users without blocking the caller.
+     *
+     * @param keyword to match, case insensitive
+     * @return a {@link CompletableFuture} completed with the users matching the keyword
+     * @see UserController#searchUser(String)
+     */
+    CompletableFuture<List<User>> searchUserAsync(String keyword);
+}
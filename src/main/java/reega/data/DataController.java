@@ -5,7 +5,9 @@ import reega.data.models.DataType;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface DataController {
     /**
@@ -15,6 +17,15 @@ public interface DataController {
      */
     void putUserData(Data data) throws IOException;
 
+    /**
+     * Push several data series into the database using as few requests as possible (implementation specific). The
+     * series are split in chunks of bounded size, a failing chunk doesn't stop the following ones.
+     *
+     * @param data data series that need to be put in the database
+     * @return the series that could not be stored, an empty {@link List} if all of them have been stored
+     */
+    List<Data> putUserDataBatch(List<Data> data);
+
     /**
      * Get the latest timestamp for the specific contract and metric present in the database.
      *
@@ -24,6 +35,16 @@ public interface DataController {
      */
     Long getLatestData(int contractID, DataType service) throws IOException;
 
+    /**
+     * Get the latest timestamp of every {@link DataType} of the given contracts with a single request.
+     *
+     * @param contractIDs IDs of the researched contracts
+     * @return a {@link Map} having the contract ID as key and the latest timestamp(in milliseconds) by
+     *         {@link DataType} as value; contracts and data types without data are missing
+     * @throws IOException if an error occurred while performing the HTTP call
+     */
+    Map<Integer, Map<DataType, Long>> getLatestTimestamps(Collection<Integer> contractIDs) throws IOException;
+
     /**
      * Get the data from the first day of the month until today for a given <code>contractID</code>.
      *
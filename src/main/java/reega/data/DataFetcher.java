@@ -33,4 +33,19 @@ public interface DataFetcher {
      * @return a {@link List} of data in which the <code>contract</code>'s data has been removed
      */
     List<Data> removeAndFetchContract(List<Data> oldData, Contract contract);
+
+    /**
+     * Fetch the data of <code>contract</code> and add it to the current contracts.
+     *
+     * @param contract contract to fetch
+     * @return a {@link List} containing only the data of <code>contract</code>
+     */
+    List<Data> fetchContractData(Contract contract);
+
+    /**
+     * Remove <code>contract</code> from the current contracts.
+     *
+     * @param contract contract to remove
+     */
+    void removeContract(Contract contract);
 }
@@ -1,14 +1,23 @@
 package reega.data;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 import reega.data.models.Contract;
@@ -18,14 +27,55 @@ import reega.users.User;
 
 public class DataFetcherImpl implements DataFetcher {
 
+    /**
+     * Default maximum number of contracts fetched at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
     private Map<Contract, List<Data>> currentDataByContract;
     private final DataController contractController;
     private final ExceptionHandler exceptionHandler;
+    private final int maxConcurrentRequests;
+    @Nullable
+    private final ExecutorService executor;
 
     @Inject
     public DataFetcherImpl(final DataController contractController, final ExceptionHandler exceptionHandler) {
+        this(contractController, exceptionHandler, DataFetcherImpl.DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Create a data fetcher that fetches at most <code>maxConcurrentRequests</code> contracts at the same time. The
+     * fetches share a pool of daemon threads that lives as long as the fetcher, its idle threads are stopped after
+     * {@value #IDLE_THREAD_TIMEOUT_SECONDS} seconds.
+     *
+     * @param contractController    controller used to fetch the data
+     * @param exceptionHandler      handler of the errors raised while fetching a contract
+     * @param maxConcurrentRequests maximum number of contracts fetched at the same time, 1 to fetch them serially
+     */
+    public DataFetcherImpl(final DataController contractController, final ExceptionHandler exceptionHandler,
+            final int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests needs to be at least 1");
+        }
         this.contractController = contractController;
         this.exceptionHandler = exceptionHandler;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        if (maxConcurrentRequests == 1) {
+            this.executor = null;
+        } else {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                    DataFetcherImpl.IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "data-fetcher-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
     }
 
     /**
@@ -34,11 +84,50 @@ public class DataFetcherImpl implements DataFetcher {
     @Override
     public List<Data> fetchAllUserData(final User user, final List<Contract> contracts) {
         this.currentDataByContract = new HashMap<>();
-        return contracts.stream().flatMap(contract -> {
-            final List<Data> monthlyData = this.getDataByContract(contract);
-            this.currentDataByContract.put(contract, monthlyData);
-            return monthlyData.stream();
-        }).collect(Collectors.toList());
+        final List<List<Data>> dataByContract = this.fetchInParallel(contracts);
+        final List<Data> allData = new ArrayList<>();
+        for (int i = 0; i < contracts.size(); i++) {
+            this.currentDataByContract.put(contracts.get(i), dataByContract.get(i));
+            allData.addAll(dataByContract.get(i));
+        }
+        return allData;
+    }
+
+    /**
+     * Fetch the data of every contract, with at most {@link #maxConcurrentRequests} requests in flight.
+     *
+     * @param contracts contracts to fetch
+     * @return the data of every contract, in the same order of <code>contracts</code>
+     */
+    private List<List<Data>> fetchInParallel(final List<Contract> contracts) {
+        if (this.executor == null || contracts.size() <= 1) {
+            return contracts.stream().map(this::getDataByContract).collect(Collectors.toList());
+        }
+        final List<Future<List<Data>>> futures = contracts.stream()
+                .map(contract -> this.executor.submit(() -> this.getDataByContract(contract)))
+                .collect(Collectors.toList());
+        try {
+            final List<List<Data>> dataByContract = new ArrayList<>(contracts.size());
+            for (int i = 0; i < futures.size(); i++) {
+                dataByContract.add(this.waitForContract(futures.get(i), contracts.get(i)));
+            }
+            return dataByContract;
+        } finally {
+            // the pool outlives this fetch, the contracts not loaded after an interruption are dropped
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private List<Data> waitForContract(final Future<List<Data>> future, final Contract contract) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.exceptionHandler.handleException(e, "Interrupted while loading the contract: " + contract.getId());
+        } catch (final ExecutionException e) {
+            this.exceptionHandler.handleException(e, "Failed to load data for the contract: " + contract.getId());
+        }
+        return Collections.emptyList();
     }
 
     /**
@@ -46,20 +135,35 @@ public class DataFetcherImpl implements DataFetcher {
      */
     @Override
     public List<Data> pushAndFetchContract(final List<Data> oldData, final Contract contract) {
+        final List<Data> monthlyData = this.fetchContractData(contract);
+        return Stream.concat(monthlyData.stream(), oldData.stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> removeAndFetchContract(final List<Data> oldData, final Contract contract) {
+        this.removeContract(contract);
+        return this.currentDataByContract.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> fetchContractData(final Contract contract) {
         final List<Data> monthlyData = this.getDataByContract(contract);
-        final Stream<Data> newDataStream = monthlyData.stream();
-        final List<Data> allData = Stream.concat(newDataStream, oldData.stream()).collect(Collectors.toList());
         this.currentDataByContract.put(contract, monthlyData);
-        return allData;
+        return monthlyData;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Data> removeAndFetchContract(final List<Data> oldData, final Contract contract) {
+    public void removeContract(final Contract contract) {
         this.currentDataByContract.remove(contract);
-        return this.currentDataByContract.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,72 @@
+package reega.data.exporter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation-free formatting of numbers as ASCII text into a {@link ByteBuffer}.
+ */
+final class AsciiFormat {
+    /**
+     * Longest text written by {@link #putDouble(ByteBuffer, double)}.
+     */
+    static final int MAX_DOUBLE_LENGTH = 32;
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L };
+    /**
+     * Range in which {@link Double#toString(double)} doesn't use the computerized scientific notation.
+     */
+    private static final double MIN_PLAIN = 1e-3;
+    private static final double MAX_PLAIN = 1e7;
+
+    private AsciiFormat() {
+    }
+
+    /**
+     * Write the decimal digits of <code>value</code>, padded with zeros to <code>minWidth</code> digits.
+     *
+     * @param out      buffer to write into
+     * @param value    non negative value
+     * @param minWidth minimum number of digits
+     */
+    static void putDigits(final ByteBuffer out, final long value, final int minWidth) {
+        int digits = 1;
+        for (long rest = value; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, minWidth);
+        final int start = out.position();
+        long rest = value;
+        for (int i = digits - 1; i >= 0; i--) {
+            out.put(start + i, (byte) ('0' + rest % 10));
+            rest /= 10;
+        }
+        out.position(start + digits);
+    }
+
+    /**
+     * Write <code>value</code> with the same text produced by {@link Double#toString(double)}. Values having up to
+     * six decimal digits are formatted without allocating; the others fall back to {@link Double#toString(double)}.
+     *
+     * @param out   buffer to write into
+     * @param value value to write
+     */
+    static void putDouble(final ByteBuffer out, final double value) {
+        final double abs = Math.abs(value);
+        if (abs >= AsciiFormat.MIN_PLAIN && abs < AsciiFormat.MAX_PLAIN) {
+            for (int decimals = 0; decimals < AsciiFormat.POWERS_OF_TEN.length; decimals++) {
+                final long power = AsciiFormat.POWERS_OF_TEN[decimals];
+                final long scaled = Math.round(abs * power);
+                if (scaled / (double) power == abs) {
+                    if (value < 0) {
+                        out.put((byte) '-');
+                    }
+                    AsciiFormat.putDigits(out, scaled / power, 1);
+                    out.put((byte) '.');
+                    AsciiFormat.putDigits(out, scaled % power, Math.max(decimals, 1));
+                    return;
+                }
+            }
+        }
+        out.put(Double.toString(value).getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,120 @@
+package reega.data.exporter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reega.data.models.Data;
+import reega.data.models.TimeSeries;
+
+/**
+ * Exporter of the columnar binary format described in {@link BinaryFormat}.
+ */
+public class BinaryExporter implements ReegaExporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryExporter.class);
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int VARINT_DATA_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final byte[] PADDING = new byte[BinaryFormat.ALIGNMENT];
+    private final List<Data> data;
+
+    protected BinaryExporter(final List<Data> data) {
+        this.data = Objects.requireNonNullElse(data, new ArrayList<>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(final WritableByteChannel channel, final ExportMonitor monitor) throws IOException {
+        BinaryExporter.LOGGER.info("exporting data in binary format");
+        final ByteBuffer buffer = ByteBuffer.allocate(BinaryExporter.BUFFER_SIZE);
+        buffer.putInt(BinaryFormat.MAGIC).putShort(BinaryFormat.VERSION).putShort((short) 0);
+        long offset = BinaryFormat.HEADER_SIZE;
+
+        final List<Data> sortedData = ReegaExporterFactory.sortByContract(this.data);
+        final long total = ReegaExporterFactory.countRecords(sortedData);
+        long written = 0;
+        final long[] blockOffsets = new long[sortedData.size()];
+        final int[] timestampsLengths = new int[sortedData.size()];
+        for (int i = 0; i < sortedData.size(); i++) {
+            final TimeSeries series = sortedData.get(i).getSeries();
+            blockOffsets[i] = offset;
+            for (int j = 0; j < series.size(); j++) {
+                BinaryExporter.ensureRemaining(buffer, channel, Double.BYTES);
+                buffer.putDouble(series.getValue(j));
+            }
+            int timestampsLength = 0;
+            for (int j = 0; j < series.size(); j++) {
+                BinaryExporter.ensureRemaining(buffer, channel, BinaryFormat.MAX_VARINT_LENGTH);
+                final int start = buffer.position();
+                if (j == 0) {
+                    buffer.putLong(series.getTimestamp(0));
+                } else {
+                    BinaryExporter.putVarint(buffer, series.getTimestamp(j) - series.getTimestamp(j - 1));
+                }
+                timestampsLength += buffer.position() - start;
+            }
+            timestampsLengths[i] = timestampsLength;
+            offset += (long) series.size() * Double.BYTES + timestampsLength;
+            final int padding = (int) ((BinaryFormat.ALIGNMENT - offset % BinaryFormat.ALIGNMENT)
+                    % BinaryFormat.ALIGNMENT);
+            BinaryExporter.ensureRemaining(buffer, channel, padding);
+            buffer.put(BinaryExporter.PADDING, 0, padding);
+            offset += padding;
+            written += series.size();
+            monitor.checkpoint(written, total);
+        }
+
+        for (int i = 0; i < sortedData.size(); i++) {
+            final Data series = sortedData.get(i);
+            final TimeSeries records = series.getSeries();
+            BinaryExporter.ensureRemaining(buffer, channel, BinaryFormat.INDEX_ENTRY_SIZE);
+            buffer.putInt(series.getContractID())
+                    .putInt(series.getType().getID())
+                    .putInt(records.size())
+                    .putInt(timestampsLengths[i])
+                    .putLong(blockOffsets[i])
+                    .putLong(records.isEmpty() ? 0 : records.getTimestamp(0))
+                    .putLong(records.isEmpty() ? 0 : records.getTimestamp(records.size() - 1));
+        }
+        BinaryExporter.ensureRemaining(buffer, channel, BinaryFormat.TRAILER_SIZE);
+        buffer.putLong(offset).putInt(sortedData.size()).putInt(BinaryFormat.MAGIC);
+        BinaryExporter.flush(buffer, channel);
+        BinaryExporter.LOGGER.info("export complete");
+    }
+
+    /**
+     * Write <code>value</code> as an unsigned LEB128 varint.
+     */
+    private static void putVarint(final ByteBuffer buffer, final long value) {
+        long rest = value;
+        while ((rest & ~BinaryExporter.VARINT_MASK) != 0) {
+            buffer.put((byte) (rest & BinaryExporter.VARINT_MASK | BinaryExporter.VARINT_CONTINUATION));
+            rest >>>= BinaryExporter.VARINT_DATA_BITS;
+        }
+        buffer.put((byte) rest);
+    }
+
+    private static void ensureRemaining(final ByteBuffer buffer, final WritableByteChannel channel, final int bytes)
+            throws IOException {
+        if (buffer.remaining() < bytes) {
+            BinaryExporter.flush(buffer, channel);
+        }
+    }
+
+    private static void flush(final ByteBuffer buffer, final WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package reega.data.exporter;
+
+/**
+ * Layout of the files written by {@link ExportFormat#BINARY}. Every number is big-endian.
+ *
+ * <pre>
+ * header   magic (int), version (short), flags (short)
+ * blocks   one for each series, aligned to 8 bytes:
+ *            values      count doubles
+ *            timestamps  first timestamp (long), then count - 1 unsigned LEB128 varint deltas
+ *            padding     zeros up to the next multiple of 8
+ * index    one entry for each block:
+ *            contract id (int), data type id (int), count (int), timestamps length (int),
+ *            block offset (long), first timestamp (long), last timestamp (long)
+ * trailer  index offset (long), number of index entries (int), magic (int)
+ * </pre>
+ *
+ * The values of every block are aligned, so a reader can memory-map the file and read them in place; the index at
+ * the end allows to load a single contract or data type without scanning the blocks.
+ */
+public final class BinaryFormat {
+    /**
+     * Magic number at the start and at the end of the file, "RGB1" in ASCII.
+     */
+    public static final int MAGIC = 0x52474231;
+    /**
+     * Current version of the format.
+     */
+    public static final short VERSION = 1;
+    /**
+     * Size of the header.
+     */
+    public static final int HEADER_SIZE = 8;
+    /**
+     * Size of an index entry.
+     */
+    public static final int INDEX_ENTRY_SIZE = 40;
+    /**
+     * Size of the trailer.
+     */
+    public static final int TRAILER_SIZE = 16;
+    /**
+     * Alignment of the blocks.
+     */
+    public static final int ALIGNMENT = 8;
+    /**
+     * Maximum length of a varint encoded long.
+     */
+    public static final int MAX_VARINT_LENGTH = 10;
+
+    private BinaryFormat() {
+    }
+}
@@ -0,0 +1,95 @@
+package reega.data.exporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codec used to compress the output of an export while it is written, and to decompress it while it is imported.
+ */
+public interface CompressionCodec {
+    /**
+     * Codec that leaves the output uncompressed.
+     */
+    CompressionCodec NONE = new CompressionCodec() {
+        @Override
+        public String getExtension() {
+            return "";
+        }
+
+        @Override
+        public OutputStream wrap(final OutputStream outputStream) {
+            return outputStream;
+        }
+
+        @Override
+        public InputStream unwrap(final InputStream inputStream) {
+            return inputStream;
+        }
+    };
+
+    /**
+     * Codec that compresses the output with gzip.
+     */
+    CompressionCodec GZIP = new CompressionCodec() {
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        @Override
+        public String getExtension() {
+            return ".gz";
+        }
+
+        @Override
+        public OutputStream wrap(final OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream unwrap(final InputStream inputStream) throws IOException {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+    };
+
+    /**
+     * Get the extension appended to the name of the files compressed with this codec.
+     *
+     * @return the extension, including the leading dot, or an empty string if the files keep their extension
+     */
+    String getExtension();
+
+    /**
+     * Wrap <code>outputStream</code> with a stream that compresses everything written into it. Closing the returned
+     * stream completes the compressed output and closes <code>outputStream</code>.
+     *
+     * @param outputStream stream that receives the compressed output
+     * @return the compressing stream
+     * @throws IOException
+     */
+    OutputStream wrap(OutputStream outputStream) throws IOException;
+
+    /**
+     * Wrap <code>inputStream</code>, which contains data compressed with this codec, with a stream that returns the
+     * decompressed data. Closing the returned stream closes <code>inputStream</code>.
+     *
+     * @param inputStream stream of the compressed data
+     * @return the decompressing stream
+     * @throws IOException
+     */
+    InputStream unwrap(InputStream inputStream) throws IOException;
+
+    /**
+     * Get the codec matching the extension of <code>fileName</code>.
+     *
+     * @param fileName name of the file
+     * @return {@link #GZIP} if <code>fileName</code> ends with its extension, {@link #NONE} otherwise
+     */
+    static CompressionCodec fromFileName(final String fileName) {
+        if (fileName.toLowerCase(Locale.ROOT).endsWith(CompressionCodec.GZIP.getExtension())) {
+            return CompressionCodec.GZIP;
+        }
+        return CompressionCodec.NONE;
+    }
+}
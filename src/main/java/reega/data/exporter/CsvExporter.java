@@ -1,29 +1,32 @@
 package reega.data.exporter;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.TimeZone;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import reega.data.models.Data;
-import reega.main.Settings;
+import reega.data.models.TimeSeries;
+import reega.util.TimeBuckets;
 
+/**
+ * Exporter that streams the rows straight from the sorted series into a large buffer, which is written to the channel
+ * only when it is full.
+ */
 public class CsvExporter implements ReegaExporter {
     private static final Logger LOGGER = LoggerFactory.getLogger(CsvExporter.class);
+    private static final byte[] HEADER = "timestamp,contract_id,type,value\n".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 1 << 20;
+    /**
+     * Longest row without the contract and the type: timestamp, value, separators and newline.
+     */
+    private static final int MAX_ROW_LENGTH = 64 + AsciiFormat.MAX_DOUBLE_LENGTH;
     private final List<Data> data;
 
     protected CsvExporter(final List<Data> data) {
@@ -34,39 +37,41 @@ public class CsvExporter implements ReegaExporter {
      * {@inheritDoc}
      */
     @Override
-    public void export(final File file) throws IOException {
-        CsvExporter.LOGGER.info("exporting data in csv format to " + file.getAbsolutePath());
-        final FileOutputStream outputStream = new FileOutputStream(file);
-        // writing header
-        outputStream.write("timestamp,contract_id,type,value\n".getBytes(StandardCharsets.UTF_8));
-
-        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX");
-        format.setTimeZone(TimeZone.getTimeZone(Settings.CLIENT_TIMEZONE));
-        this.data.stream()
-                .collect(Collectors.groupingBy(Data::getContractID))
-                .entrySet()
-                .stream()
-                .sorted(Comparator.comparingInt(Map.Entry::getKey))
-                .forEach(contract -> contract.getValue()
-                        .forEach(val -> val.getData()
-                                .entrySet()
-                                .stream()
-                                .sorted(Comparator.comparingLong(Map.Entry::getKey))
-                                .map(record -> this.csvRow(format.format(new Date(record.getKey())), contract.getKey(),
-                                        val.getType().getName(), record.getValue()))
-                                .forEach(k -> {
-                                    try {
-                                        outputStream.write(k.getBytes(StandardCharsets.UTF_8));
-                                    } catch (final IOException e) {
-                                        throw new UncheckedIOException(e);
-                                    }
-                                })));
-        outputStream.flush();
-        outputStream.close();
+    public void export(final WritableByteChannel channel, final ExportMonitor monitor) throws IOException {
+        CsvExporter.LOGGER.info("exporting data in csv format");
+        final ByteBuffer buffer = ByteBuffer.allocate(CsvExporter.BUFFER_SIZE);
+        buffer.put(CsvExporter.HEADER);
+        final List<Data> sortedData = ReegaExporterFactory.sortByContract(this.data);
+        final TimestampFormatter formatter = new TimestampFormatter(
+                TimeBuckets.covering(TimeBuckets.Granularity.HOUR, sortedData));
+        final long total = ReegaExporterFactory.countRecords(sortedData);
+        long written = 0;
+        for (final Data series : sortedData) {
+            final byte[] contractAndType = ("," + series.getContractID() + "," + series.getType().getName() + ",")
+                    .getBytes(StandardCharsets.UTF_8);
+            final TimeSeries records = series.getSeries();
+            for (int i = 0; i < records.size(); i++) {
+                if (buffer.remaining() < CsvExporter.MAX_ROW_LENGTH + contractAndType.length) {
+                    CsvExporter.flush(buffer, channel);
+                    monitor.checkpoint(written, total);
+                }
+                formatter.write(records.getTimestamp(i), buffer);
+                buffer.put(contractAndType);
+                AsciiFormat.putDouble(buffer, records.getValue(i));
+                buffer.put((byte) '\n');
+                written++;
+            }
+        }
+        CsvExporter.flush(buffer, channel);
+        monitor.checkpoint(written, total);
         CsvExporter.LOGGER.info("export complete");
     }
 
-    private String csvRow(final Object... element) {
-        return Arrays.stream(element).map(String::valueOf).collect(Collectors.joining(",")) + "\n";
+    private static void flush(final ByteBuffer buffer, final WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
     }
 }
@@ -0,0 +1,17 @@
+package reega.data.exporter;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when an export stops because it has been cancelled through its {@link ExportMonitor}.
+ */
+public class ExportCancelledException extends IOException {
+    private static final long serialVersionUID = -2915583817153374512L;
+
+    /**
+     * Create a new {@link ExportCancelledException}.
+     */
+    public ExportCancelledException() {
+        super("The export has been cancelled");
+    }
+}
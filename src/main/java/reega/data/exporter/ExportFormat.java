@@ -4,9 +4,28 @@ public enum ExportFormat {
     /**
      * JSON Object.
      */
-    JSON,
+    JSON(".json"),
     /**
      * CSV Object.
      */
-    CSV
+    CSV(".csv"),
+    /**
+     * Columnar binary file, see {@link BinaryFormat}.
+     */
+    BINARY(".reega");
+
+    private final String extension;
+
+    ExportFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Get the extension of the files written with this format.
+     *
+     * @return the extension, including the leading dot
+     */
+    public String getExtension() {
+        return this.extension;
+    }
 }
@@ -0,0 +1,235 @@
+package reega.data.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Export executed in background by an {@link ExportQueue}. It exposes its state and progress, and it can be cancelled
+ * at any time: a queued job is skipped, a running job stops at the next checkpoint and deletes its partial files.
+ */
+public final class ExportJob implements ExportMonitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportJob.class);
+
+    private final ExportFormat format;
+    private final File file;
+    private final Task task;
+    private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+    private final List<Consumer<ExportJob>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelRequested;
+    private volatile long recordsWritten;
+    private volatile long totalRecords;
+    private volatile Exception error;
+
+    /**
+     * Create a job.
+     *
+     * @param format format of the export
+     * @param file   destination file, or destination directory of a sharded export
+     * @param task   export executed by the job
+     */
+    ExportJob(final ExportFormat format, final File file, final Task task) {
+        this.format = Objects.requireNonNull(format);
+        this.file = Objects.requireNonNull(file);
+        this.task = Objects.requireNonNull(task);
+    }
+
+    /**
+     * Run the export, unless it has been cancelled while it was queued.
+     */
+    void run() {
+        if (!this.state.compareAndSet(State.QUEUED, State.RUNNING)) {
+            return;
+        }
+        this.notifyListeners();
+        State finalState;
+        try {
+            this.task.run(this);
+            finalState = State.COMPLETED;
+        } catch (final ExportCancelledException e) {
+            ExportJob.LOGGER.info("export to " + this.file.getAbsolutePath() + " cancelled");
+            finalState = State.CANCELLED;
+        } catch (final Exception e) {
+            this.error = e;
+            finalState = State.FAILED;
+        }
+        this.state.set(finalState);
+        this.notifyListeners();
+    }
+
+    /**
+     * Request the cancellation of the export.
+     */
+    public void cancel() {
+        this.cancelRequested = true;
+        if (this.state.compareAndSet(State.QUEUED, State.CANCELLED)) {
+            this.notifyListeners();
+        }
+    }
+
+    /**
+     * Add a listener notified every time the state or the progress of the job changes. The listener is called on the
+     * thread running the export, or on the thread cancelling a queued job.
+     *
+     * @param listener listener of the job
+     */
+    public void addListener(final Consumer<ExportJob> listener) {
+        this.listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Remove a listener added with {@link #addListener(Consumer)}.
+     *
+     * @param listener listener of the job
+     */
+    public void removeListener(final Consumer<ExportJob> listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void progress(final long recordsWritten, final long totalRecords) {
+        this.recordsWritten = recordsWritten;
+        this.totalRecords = totalRecords;
+        this.notifyListeners();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCancelled() {
+        return this.cancelRequested;
+    }
+
+    /**
+     * Get the format of the export.
+     *
+     * @return the format of the export
+     */
+    public ExportFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Get the file written by the export.
+     *
+     * @return the destination file, or the destination directory of a sharded export
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Get the current state of the job.
+     *
+     * @return the state of the job
+     */
+    public State getState() {
+        return this.state.get();
+    }
+
+    /**
+     * Get the number of records written so far.
+     *
+     * @return the number of records written
+     */
+    public long getRecordsWritten() {
+        return this.recordsWritten;
+    }
+
+    /**
+     * Get the number of records that the export writes, known once the export has started.
+     *
+     * @return the total number of records, 0 if it is not known yet
+     */
+    public long getTotalRecords() {
+        return this.totalRecords;
+    }
+
+    /**
+     * Get the fraction of records written.
+     *
+     * @return a value between 0 and 1
+     */
+    public double getProgress() {
+        if (this.getState() == State.COMPLETED) {
+            return 1;
+        }
+        final long total = this.totalRecords;
+        return total == 0 ? 0 : (double) this.recordsWritten / total;
+    }
+
+    /**
+     * Get the error that made the export fail.
+     *
+     * @return the error if the job is {@link State#FAILED}, an empty {@link Optional} otherwise
+     */
+    public Optional<Exception> getError() {
+        return Optional.ofNullable(this.error);
+    }
+
+    private void notifyListeners() {
+        this.listeners.forEach(listener -> listener.accept(this));
+    }
+
+    /**
+     * Export executed by an {@link ExportJob}.
+     */
+    @FunctionalInterface
+    interface Task {
+        /**
+         * Execute the export.
+         *
+         * @param monitor monitor of the export, that is the job itself
+         * @throws IOException              if the export fails
+         * @throws ExportCancelledException if the export has been cancelled
+         */
+        void run(ExportMonitor monitor) throws IOException;
+    }
+
+    /**
+     * State of an {@link ExportJob}.
+     */
+    public enum State {
+        /**
+         * Waiting for the previous exports.
+         */
+        QUEUED,
+        /**
+         * Writing the files.
+         */
+        RUNNING,
+        /**
+         * Files written.
+         */
+        COMPLETED,
+        /**
+         * Cancelled, the partial files have been deleted.
+         */
+        CANCELLED,
+        /**
+         * Stopped by an error.
+         */
+        FAILED;
+
+        /**
+         * Check if the job has ended.
+         *
+         * @return true if the job won't change its state anymore, false otherwise
+         */
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package reega.data.exporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Manifest written by a {@link ShardedExporter} next to the shards: it lists every shard with the contracts it
+ * contains, its number of records, its size and its SHA-256 checksum, so the export can be verified and loaded shard
+ * by shard.
+ */
+public final class ExportManifest {
+    /**
+     * Version of the manifest layout.
+     */
+    public static final int VERSION = 1;
+
+    @SerializedName("version")
+    private final int version;
+    @SerializedName("format")
+    private final ExportFormat format;
+    @SerializedName("compression")
+    private final String compression;
+    @SerializedName("total_records")
+    private final long totalRecords;
+    @SerializedName("shards")
+    private final List<Shard> shards;
+
+    ExportManifest(final ExportFormat format, final CompressionCodec compression, final List<Shard> shards) {
+        this.version = ExportManifest.VERSION;
+        this.format = format;
+        this.compression = compression == CompressionCodec.GZIP ? "gzip" : "none";
+        this.shards = new ArrayList<>(shards);
+        this.totalRecords = shards.stream().mapToLong(Shard::getRecords).sum();
+    }
+
+    /**
+     * Get the version of the manifest layout.
+     *
+     * @return the version of the manifest
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Get the format of the shards.
+     *
+     * @return the format of the shards
+     */
+    public ExportFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Get the compression of the shards.
+     *
+     * @return "gzip" if the shards are compressed, "none" otherwise
+     */
+    public String getCompression() {
+        return this.compression;
+    }
+
+    /**
+     * Get the number of records of all the shards.
+     *
+     * @return the total number of records
+     */
+    public long getTotalRecords() {
+        return this.totalRecords;
+    }
+
+    /**
+     * Get the shards, sorted by contract.
+     *
+     * @return an unmodifiable {@link List} of shards
+     */
+    public List<Shard> getShards() {
+        return Collections.unmodifiableList(this.shards);
+    }
+
+    /**
+     * Single file of a sharded export.
+     */
+    public static final class Shard {
+        @SerializedName("file")
+        private final String file;
+        @SerializedName("contracts")
+        private final List<Integer> contracts;
+        @SerializedName("records")
+        private final long records;
+        @SerializedName("bytes")
+        private final long bytes;
+        @SerializedName("sha256")
+        private final String sha256;
+
+        Shard(final String file, final List<Integer> contracts, final long records, final long bytes,
+                final String sha256) {
+            this.file = file;
+            this.contracts = new ArrayList<>(contracts);
+            this.records = records;
+            this.bytes = bytes;
+            this.sha256 = sha256;
+        }
+
+        /**
+         * Get the name of the shard file, relative to the directory of the manifest.
+         *
+         * @return the name of the file
+         */
+        public String getFile() {
+            return this.file;
+        }
+
+        /**
+         * Get the IDs of the contracts in the shard.
+         *
+         * @return an unmodifiable {@link List} of contract IDs, in ascending order
+         */
+        public List<Integer> getContracts() {
+            return Collections.unmodifiableList(this.contracts);
+        }
+
+        /**
+         * Get the number of records in the shard.
+         *
+         * @return the number of records
+         */
+        public long getRecords() {
+            return this.records;
+        }
+
+        /**
+         * Get the size of the shard file.
+         *
+         * @return the size in bytes, after the compression
+         */
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * Get the checksum of the shard file.
+         *
+         * @return the lowercase hex SHA-256 of the file, after the compression
+         */
+        public String getSha256() {
+            return this.sha256;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package reega.data.exporter;
+
+/**
+ * Monitor of a running export, notified of the progress and asked whether the export needs to stop.
+ */
+public interface ExportMonitor {
+    /**
+     * Monitor that ignores the progress and never cancels the export.
+     */
+    ExportMonitor NONE = new ExportMonitor() {
+        @Override
+        public void progress(final long recordsWritten, final long totalRecords) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Notify the progress of the export.
+     *
+     * @param recordsWritten number of records already written
+     * @param totalRecords   number of records to write
+     */
+    void progress(long recordsWritten, long totalRecords);
+
+    /**
+     * Check if the export has been cancelled.
+     *
+     * @return true if the export needs to stop as soon as possible, false otherwise
+     */
+    boolean isCancelled();
+
+    /**
+     * Notify the progress of the export, then stop it if it has been cancelled. Called by the exporters between two
+     * writes.
+     *
+     * @param recordsWritten number of records already written
+     * @param totalRecords   number of records to write
+     * @throws ExportCancelledException if the export has been cancelled
+     */
+    default void checkpoint(final long recordsWritten, final long totalRecords) throws ExportCancelledException {
+        if (this.isCancelled()) {
+            throw new ExportCancelledException();
+        }
+        this.progress(recordsWritten, totalRecords);
+    }
+}
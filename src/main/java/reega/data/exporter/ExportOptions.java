@@ -0,0 +1,96 @@
+package reega.data.exporter;
+
+import java.util.Objects;
+
+/**
+ * Options of an export. Not every option applies to every {@link ExportFormat}.
+ */
+public final class ExportOptions {
+    private static final ExportOptions DEFAULT = ExportOptions.builder().build();
+
+    private final boolean prettyPrint;
+    private final CompressionCodec compression;
+
+    private ExportOptions(final Builder builder) {
+        this.prettyPrint = builder.prettyPrint;
+        this.compression = builder.compression;
+    }
+
+    /**
+     * Get the default options.
+     *
+     * @return the default {@link ExportOptions}
+     */
+    public static ExportOptions getDefault() {
+        return ExportOptions.DEFAULT;
+    }
+
+    /**
+     * Create a new {@link Builder} initialized with the default options.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Check if the output needs to be indented to be human readable. Only used by {@link ExportFormat#JSON}.
+     *
+     * @return true if the output is indented, false if it is compact
+     */
+    public boolean isPrettyPrint() {
+        return this.prettyPrint;
+    }
+
+    /**
+     * Get the codec used to compress the output.
+     *
+     * @return the {@link CompressionCodec} of the output
+     */
+    public CompressionCodec getCompression() {
+        return this.compression;
+    }
+
+    /**
+     * Builder of {@link ExportOptions}.
+     */
+    public static final class Builder {
+        private boolean prettyPrint = true;
+        private CompressionCodec compression = CompressionCodec.NONE;
+
+        private Builder() {
+        }
+
+        /**
+         * Set if the output needs to be indented to be human readable.
+         *
+         * @param prettyPrint true to indent the output, false to write it compact
+         * @return this builder
+         */
+        public Builder prettyPrint(final boolean prettyPrint) {
+            this.prettyPrint = prettyPrint;
+            return this;
+        }
+
+        /**
+         * Set the codec used to compress the output while it is written.
+         *
+         * @param compression compression codec, {@link CompressionCodec#NONE} to write it uncompressed
+         * @return this builder
+         */
+        public Builder compression(final CompressionCodec compression) {
+            this.compression = Objects.requireNonNull(compression);
+            return this;
+        }
+
+        /**
+         * Build the {@link ExportOptions}.
+         *
+         * @return new {@link ExportOptions}
+         */
+        public ExportOptions build() {
+            return new ExportOptions(this);
+        }
+    }
+}
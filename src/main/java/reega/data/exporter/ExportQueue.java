@@ -0,0 +1,62 @@
+package reega.data.exporter;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import reega.data.models.Data;
+
+/**
+ * Queue of background exports. The exports are executed one at a time, in submission order, on a daemon thread, so
+ * they never block the caller and they don't compete with each other for the disk.
+ */
+public final class ExportQueue {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "export-queue");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Queue the export of <code>data</code> to <code>file</code>.
+     *
+     * @param format  format of the exported data
+     * @param data    raw data, it must not be modified until the export is finished
+     * @param file    destination file
+     * @param options options of the export
+     * @return the {@link ExportJob} tracking the export
+     */
+    public ExportJob submit(final ExportFormat format, final List<Data> data, final File file,
+            final ExportOptions options) {
+        return this.submit(new ExportJob(format, file,
+                monitor -> ReegaExporterFactory.export(format, data, file.getAbsolutePath(), options, monitor)));
+    }
+
+    /**
+     * Queue the sharded export of <code>data</code> into <code>directory</code>, see {@link ShardedExporter}.
+     *
+     * @param format    format of the shards
+     * @param data      raw data, it must not be modified until the export is finished
+     * @param directory destination directory
+     * @param options   options of the export of each shard
+     * @return the {@link ExportJob} tracking the export
+     */
+    public ExportJob submitSharded(final ExportFormat format, final List<Data> data, final File directory,
+            final ExportOptions options) {
+        final ShardedExporter exporter = new ShardedExporter(format, options);
+        return this.submit(new ExportJob(format, directory, monitor -> exporter.export(data, directory, monitor)));
+    }
+
+    private ExportJob submit(final ExportJob job) {
+        this.executor.execute(job::run);
+        return job;
+    }
+
+    /**
+     * Stop accepting exports and interrupt the running one.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+}
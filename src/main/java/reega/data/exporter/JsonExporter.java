@@ -1,84 +1,90 @@
 package reega.data.exporter;
 
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.TimeZone;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
 
 import reega.data.models.Data;
-import reega.main.Settings;
+import reega.data.models.TimeSeries;
+import reega.util.TimeBuckets;
 
+/**
+ * Exporter that streams the contracts and their series through a {@link JsonWriter}, without building the document
+ * in memory.
+ */
 public class JsonExporter implements ReegaExporter {
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonExporter.class);
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String INDENT = "  ";
     private final List<Data> data;
+    private final ExportOptions options;
 
     protected JsonExporter(final List<Data> data) {
-        this.data = data;
+        this(data, ExportOptions.getDefault());
+    }
+
+    protected JsonExporter(final List<Data> data, final ExportOptions options) {
+        this.data = Objects.requireNonNullElse(data, new ArrayList<>());
+        this.options = Objects.requireNonNull(options);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void export(final File file) throws IOException {
-        JsonExporter.LOGGER.info("exporting data in json format to " + file.getAbsolutePath());
-        final FileOutputStream outputStream = new FileOutputStream(file);
-        final var metrics = this.data.stream()
-                .collect(Collectors.groupingBy(Data::getContractID))
-                .entrySet()
-                .stream()
-                .map(contracts -> new ContractEntry(contracts.getKey(),
-                        contracts.getValue()
-                                .stream()
-                                .map(values -> new DataEntry(values.getType().getName(), values.getData()))
-                                .collect(Collectors.toList())))
-                .collect(Collectors.toList());
-        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        final String output = gson.toJson(metrics);
-        outputStream.write(output.getBytes(StandardCharsets.UTF_8));
-        outputStream.flush();
-        outputStream.close();
-        JsonExporter.LOGGER.info("export complete");
-    }
-
-    private static class DataEntry {
-        @SerializedName("type")
-        private final String type;
-        @SerializedName("values")
-        private final Map<String, Double> values;
+    public void export(final WritableByteChannel channel, final ExportMonitor monitor) throws IOException {
+        JsonExporter.LOGGER.info("exporting data in json format");
+        final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+                JsonExporter.BUFFER_SIZE);
+        // closing the JsonWriter would close the channel too, it's only flushed
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        if (this.options.isPrettyPrint()) {
+            jsonWriter.setIndent(JsonExporter.INDENT);
+        }
+        final List<Data> sortedData = ReegaExporterFactory.sortByContract(this.data);
+        final TimestampFormatter formatter = new TimestampFormatter(
+                TimeBuckets.covering(TimeBuckets.Granularity.HOUR, sortedData));
+        final long total = ReegaExporterFactory.countRecords(sortedData);
+        long written = 0;
 
-        DataEntry(final String type, final Map<Long, Double> values) {
-            this.type = type;
-            final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX");
-            format.setTimeZone(TimeZone.getTimeZone(Settings.CLIENT_TIMEZONE));
-            this.values = values.entrySet()
-                    .stream()
-                    .collect(Collectors.toMap(e -> format.format(new Date(e.getKey())), Map.Entry::getValue));
+        jsonWriter.beginArray();
+        int i = 0;
+        while (i < sortedData.size()) {
+            final int contractID = sortedData.get(i).getContractID();
+            jsonWriter.beginObject().name("contract_id").value(contractID).name("values").beginArray();
+            while (i < sortedData.size() && sortedData.get(i).getContractID() == contractID) {
+                final Data series = sortedData.get(i++);
+                JsonExporter.writeSeries(jsonWriter, series, formatter);
+                written += series.getSeries().size();
+                monitor.checkpoint(written, total);
+            }
+            jsonWriter.endArray().endObject();
         }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+        JsonExporter.LOGGER.info("export complete");
     }
 
-    private static class ContractEntry {
-        @SerializedName("contract_id")
-        private final int contractId;
-        @SerializedName("values")
-        private final List<DataEntry> values;
-
-        ContractEntry(final int contractId, final List<DataEntry> values) {
-            this.contractId = contractId;
-            this.values = values;
+    private static void writeSeries(final JsonWriter jsonWriter, final Data series,
+            final TimestampFormatter formatter) throws IOException {
+        jsonWriter.beginObject().name("type").value(series.getType().getName()).name("values").beginObject();
+        final TimeSeries records = series.getSeries();
+        for (int i = 0; i < records.size(); i++) {
+            jsonWriter.name(formatter.format(records.getTimestamp(i))).value(records.getValue(i));
         }
+        jsonWriter.endObject().endObject();
     }
 }
@@ -2,6 +2,9 @@ package reega.data.exporter;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 public interface ReegaExporter {
 
@@ -11,5 +14,41 @@ public interface ReegaExporter {
      * @param file to write the output on
      * @throws IOException
      */
-    void export(File file) throws IOException;
+    default void export(final File file) throws IOException {
+        this.export(file, ExportMonitor.NONE);
+    }
+
+    /**
+     * Export data to the given file instance, reporting the progress to <code>monitor</code>.
+     *
+     * @param file    to write the output on
+     * @param monitor monitor of the export
+     * @throws IOException
+     */
+    default void export(final File file, final ExportMonitor monitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            this.export(channel, monitor);
+        }
+    }
+
+    /**
+     * Export data to the given channel. The channel is not closed.
+     *
+     * @param channel channel to write the output on
+     * @throws IOException
+     */
+    default void export(final WritableByteChannel channel) throws IOException {
+        this.export(channel, ExportMonitor.NONE);
+    }
+
+    /**
+     * Export data to the given channel, reporting the progress to <code>monitor</code>. The channel is not closed.
+     *
+     * @param channel channel to write the output on
+     * @param monitor monitor of the export
+     * @throws IOException              if the output can't be written
+     * @throws ExportCancelledException if the export has been cancelled through <code>monitor</code>
+     */
+    void export(WritableByteChannel channel, ExportMonitor monitor) throws IOException;
 }
@@ -2,7 +2,11 @@ package reega.data.exporter;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.UnknownFormatFlagsException;
@@ -22,22 +26,105 @@ public final class ReegaExporterFactory {
      * @throws IOException
      */
     public static void export(final ExportFormat format, final List<Data> data, final String file) throws IOException {
+        ReegaExporterFactory.export(format, data, file, ExportOptions.getDefault());
+    }
+
+    /**
+     * Export <code>data</code> to the file <code>file</code> with the specified <code>ExportFormat</code> and
+     * <code>options</code>. If a compression codec is set the output is compressed while it is written.
+     *
+     * @param format  format of the exported data
+     * @param data    raw data
+     * @param file    file path
+     * @param options options of the export
+     * @throws IOException
+     */
+    public static void export(final ExportFormat format, final List<Data> data, final String file,
+            final ExportOptions options) throws IOException {
+        ReegaExporterFactory.export(format, data, file, options, ExportMonitor.NONE);
+    }
+
+    /**
+     * Export <code>data</code> to the file <code>file</code> with the specified <code>ExportFormat</code> and
+     * <code>options</code>, reporting the progress to <code>monitor</code>. If the export is cancelled the partial
+     * file is deleted.
+     *
+     * @param format  format of the exported data
+     * @param data    raw data
+     * @param file    file path
+     * @param options options of the export
+     * @param monitor monitor of the export
+     * @throws IOException              if the file can't be written
+     * @throws ExportCancelledException if the export has been cancelled through <code>monitor</code>
+     */
+    public static void export(final ExportFormat format, final List<Data> data, final String file,
+            final ExportOptions options, final ExportMonitor monitor) throws IOException {
         final File outputFile = new File(file);
         if (!outputFile.exists() && !outputFile.createNewFile()) {
             throw new IOException("Unable to access or create file " + file);
         }
+        final ReegaExporter exporter = ReegaExporterFactory.create(format, data, options);
+        try {
+            ReegaExporterFactory.export(exporter, outputFile, options, monitor);
+        } catch (final ExportCancelledException e) {
+            Files.deleteIfExists(outputFile.toPath());
+            throw e;
+        }
+    }
+
+    /**
+     * Create the {@link ReegaExporter} of <code>format</code>.
+     *
+     * @param format  format of the exported data
+     * @param data    raw data
+     * @param options options of the export
+     * @return a new {@link ReegaExporter}
+     */
+    static ReegaExporter create(final ExportFormat format, final List<Data> data, final ExportOptions options) {
         final List<Data> dataToBeExported = Objects.requireNonNullElse(data, new ArrayList<>());
-        ReegaExporter exporter;
         switch (format) {
             case JSON:
-                exporter = new JsonExporter(dataToBeExported);
-                break;
+                return new JsonExporter(dataToBeExported, options);
             case CSV:
-                exporter = new CsvExporter(dataToBeExported);
-                break;
+                return new CsvExporter(dataToBeExported);
+            case BINARY:
+                return new BinaryExporter(dataToBeExported);
             default:
                 throw new UnknownFormatFlagsException("Invalid ExportFormat!");
         }
-        exporter.export(outputFile);
+    }
+
+    /**
+     * Sort <code>data</code> by contract, in the order the exporters write it. The sort is stable, so the series of a
+     * contract keep their order.
+     *
+     * @param data data to sort
+     * @return a sorted copy of <code>data</code>
+     */
+    static List<Data> sortByContract(final List<Data> data) {
+        final List<Data> sortedData = new ArrayList<>(data);
+        sortedData.sort(Comparator.comparingInt(Data::getContractID));
+        return sortedData;
+    }
+
+    /**
+     * Count the records of <code>data</code>, the total reported to the {@link ExportMonitor}.
+     *
+     * @param data exported data
+     * @return the number of records
+     */
+    static long countRecords(final List<Data> data) {
+        return data.stream().mapToLong(d -> d.getSeries().size()).sum();
+    }
+
+    private static void export(final ReegaExporter exporter, final File outputFile, final ExportOptions options,
+            final ExportMonitor monitor) throws IOException {
+        if (options.getCompression() == CompressionCodec.NONE) {
+            exporter.export(outputFile, monitor);
+            return;
+        }
+        try (OutputStream outputStream = options.getCompression().wrap(Files.newOutputStream(outputFile.toPath()))) {
+            exporter.export(Channels.newChannel(outputStream), monitor);
+        }
     }
 }
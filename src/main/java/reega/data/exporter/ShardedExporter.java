@@ -0,0 +1,295 @@
+package reega.data.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.GsonBuilder;
+
+import reega.data.models.Data;
+
+/**
+ * Exporter that partitions the data by contract into shards and writes the shards in parallel on a pool of worker
+ * threads, one file per shard. A shard contains a fixed number of consecutive contracts (one by default). When every
+ * shard has been written a {@link ExportManifest} listing the shards, their records and their checksums is saved in
+ * the same directory as {@value #MANIFEST_FILE_NAME}. If a shard fails or the export is cancelled the other shards
+ * are stopped and all the files already written are deleted.
+ */
+public final class ShardedExporter {
+    /**
+     * Name of the manifest written in the export directory.
+     */
+    public static final String MANIFEST_FILE_NAME = "manifest.json";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedExporter.class);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final ExportFormat format;
+    private final ExportOptions options;
+    private final int contractsPerShard;
+    private final int threads;
+
+    /**
+     * Create an exporter writing one shard per contract, with a thread for each available processor.
+     *
+     * @param format  format of the shards
+     * @param options options of the export of each shard
+     */
+    public ShardedExporter(final ExportFormat format, final ExportOptions options) {
+        this(format, options, 1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create an exporter writing <code>contractsPerShard</code> contracts in each shard, with at most
+     * <code>threads</code> shards written at the same time.
+     *
+     * @param format            format of the shards
+     * @param options           options of the export of each shard
+     * @param contractsPerShard number of consecutive contracts in each shard
+     * @param threads           number of worker threads
+     */
+    public ShardedExporter(final ExportFormat format, final ExportOptions options, final int contractsPerShard,
+            final int threads) {
+        if (contractsPerShard < 1 || threads < 1) {
+            throw new IllegalArgumentException("contractsPerShard and threads must be positive");
+        }
+        this.format = Objects.requireNonNull(format);
+        this.options = Objects.requireNonNull(options);
+        this.contractsPerShard = contractsPerShard;
+        this.threads = threads;
+    }
+
+    /**
+     * Export <code>data</code> into <code>directory</code>, creating it if needed.
+     *
+     * @param data      raw data, it must not be modified until the export is finished
+     * @param directory destination directory
+     * @param monitor   monitor of the whole export
+     * @return the manifest of the export, also saved in <code>directory</code>
+     * @throws IOException              if a shard or the manifest can't be written
+     * @throws ExportCancelledException if the export has been cancelled through <code>monitor</code>
+     */
+    public ExportManifest export(final List<Data> data, final File directory, final ExportMonitor monitor)
+            throws IOException {
+        Files.createDirectories(directory.toPath());
+        final List<List<Data>> partitions = this.partition(data);
+        final long totalRecords = partitions.stream().mapToLong(ReegaExporterFactory::countRecords).sum();
+        final Progress progress = new Progress(monitor, totalRecords);
+        final List<ExportManifest.Shard> shards = this.writeShards(partitions, directory.toPath(), progress);
+        final ExportManifest manifest = new ExportManifest(this.format, this.options.getCompression(), shards);
+        try (Writer writer = Files.newBufferedWriter(directory.toPath().resolve(ShardedExporter.MANIFEST_FILE_NAME),
+                StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(manifest, writer);
+        }
+        return manifest;
+    }
+
+    /**
+     * Sort the data by contract, keeping the order of the series of the same contract, and split it into groups of
+     * {@link #contractsPerShard} contracts.
+     */
+    private List<List<Data>> partition(final List<Data> data) {
+        final List<Data> sorted = new ArrayList<>(data);
+        sorted.sort(Comparator.comparingInt(Data::getContractID));
+        final List<List<Data>> partitions = new ArrayList<>();
+        List<Data> current = null;
+        int contracts = 0;
+        int lastContract = 0;
+        for (final Data d : sorted) {
+            if (current == null || d.getContractID() != lastContract) {
+                if (current == null || contracts == this.contractsPerShard) {
+                    current = new ArrayList<>();
+                    partitions.add(current);
+                    contracts = 0;
+                }
+                contracts++;
+                lastContract = d.getContractID();
+            }
+            current.add(d);
+        }
+        return partitions;
+    }
+
+    private List<ExportManifest.Shard> writeShards(final List<List<Data>> partitions, final Path directory,
+            final Progress progress) throws IOException {
+        final List<ExportManifest.Shard> shards = new ArrayList<>();
+        if (partitions.isEmpty()) {
+            return shards;
+        }
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.threads, partitions.size()),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "export-shard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final List<Path> files = new ArrayList<>();
+        final List<Future<ExportManifest.Shard>> futures = new ArrayList<>();
+        for (final List<Data> partition : partitions) {
+            final Path file = directory.resolve(this.getShardName(partition));
+            files.add(file);
+            futures.add(executor.submit(() -> {
+                try {
+                    return this.writeShard(partition, file, progress);
+                } catch (final IOException | RuntimeException e) {
+                    // stop the other shards as soon as possible
+                    progress.abort();
+                    throw e;
+                }
+            }));
+        }
+        executor.shutdown();
+        // wait for every shard, so that no file is still being written when they are deleted
+        IOException failure = null;
+        for (final Future<ExportManifest.Shard> future : futures) {
+            try {
+                shards.add(future.get());
+            } catch (final ExecutionException e) {
+                progress.abort();
+                final IOException cause = e.getCause() instanceof IOException ? (IOException) e.getCause()
+                        : new IOException("Unable to write shard", e.getCause());
+                // report the error that stopped the export, not the cancellation of the other shards
+                if (failure == null || failure instanceof ExportCancelledException
+                        && !(cause instanceof ExportCancelledException)) {
+                    failure = cause;
+                }
+            } catch (final InterruptedException e) {
+                progress.abort();
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                failure = new InterruptedIOException("Sharded export interrupted");
+                break;
+            }
+        }
+        if (failure != null) {
+            for (final Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            throw failure;
+        }
+        return shards;
+    }
+
+    private ExportManifest.Shard writeShard(final List<Data> partition, final Path file, final Progress progress)
+            throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        final ShardMonitor monitor = new ShardMonitor(progress);
+        try (OutputStream outputStream = this.options.getCompression()
+                .wrap(new DigestOutputStream(Files.newOutputStream(file), digest))) {
+            ReegaExporterFactory.create(this.format, partition, this.options)
+                    .export(Channels.newChannel(outputStream), monitor);
+        }
+        final List<Integer> contracts = new ArrayList<>();
+        long records = 0;
+        for (final Data d : partition) {
+            if (contracts.isEmpty() || contracts.get(contracts.size() - 1) != d.getContractID()) {
+                contracts.add(d.getContractID());
+            }
+            records += d.getSeries().size();
+        }
+        ShardedExporter.LOGGER.info("written shard " + file.getFileName() + " with " + records + " records");
+        return new ExportManifest.Shard(file.getFileName().toString(), contracts, records, Files.size(file),
+                ShardedExporter.toHex(digest.digest()));
+    }
+
+    private String getShardName(final List<Data> partition) {
+        final int first = partition.get(0).getContractID();
+        final int last = partition.get(partition.size() - 1).getContractID();
+        final String name = first == last ? "contract-" + first : "contracts-" + first + "-" + last;
+        return name + this.format.getExtension() + this.options.getCompression().getExtension();
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = ShardedExporter.HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = ShardedExporter.HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Progress of the whole export, shared by the shards.
+     */
+    private static final class Progress {
+        private final ExportMonitor monitor;
+        private final long totalRecords;
+        private final AtomicBoolean aborted = new AtomicBoolean();
+        private long recordsWritten;
+
+        Progress(final ExportMonitor monitor, final long totalRecords) {
+            this.monitor = monitor;
+            this.totalRecords = totalRecords;
+        }
+
+        /**
+         * Add the records written by a shard since its last notification, then notify the parent monitor. The
+         * notifications are serialized, so the parent sees a monotonic progress.
+         */
+        synchronized void add(final long records) {
+            this.recordsWritten += records;
+            this.monitor.progress(this.recordsWritten, this.totalRecords);
+        }
+
+        void abort() {
+            this.aborted.set(true);
+        }
+
+        boolean isCancelled() {
+            return this.aborted.get() || this.monitor.isCancelled();
+        }
+    }
+
+    /**
+     * Monitor of a single shard, forwarding its progress to the whole export.
+     */
+    private static final class ShardMonitor implements ExportMonitor {
+        private final Progress progress;
+        private long reported;
+
+        ShardMonitor(final Progress progress) {
+            this.progress = progress;
+        }
+
+        @Override
+        public void progress(final long recordsWritten, final long totalRecords) {
+            final long delta = recordsWritten - this.reported;
+            this.reported = recordsWritten;
+            if (delta > 0) {
+                this.progress.add(delta);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.progress.isCancelled();
+        }
+    }
+}
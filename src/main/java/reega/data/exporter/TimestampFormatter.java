@@ -0,0 +1,98 @@
+package reega.data.exporter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import reega.util.TimeBuckets;
+
+/**
+ * Formatter of timestamps as <code>yyyy-MM-dd'T'HH:mm:ssXXX</code> in the timezone of some hour buckets. The date,
+ * the hour and the offset are formatted once per hour and cached, only the minutes and the seconds are written for
+ * every timestamp.
+ */
+final class TimestampFormatter {
+    private static final DateTimeFormatter FULL_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:");
+    private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ofPattern("XXX");
+    private static final int MILLIS_IN_SECOND = 1000;
+    private static final int SECONDS_IN_MINUTE = 60;
+
+    private final TimeBuckets hours;
+    private final byte[][] prefixes;
+    private final byte[][] offsets;
+    private int lastIndex = -1;
+
+    /**
+     * Create a formatter for the timestamps covered by <code>hours</code>.
+     *
+     * @param hours hour buckets covering the timestamps that need to be formatted
+     */
+    TimestampFormatter(final TimeBuckets hours) {
+        if (hours.getGranularity() != TimeBuckets.Granularity.HOUR) {
+            throw new IllegalArgumentException("hours needs to have an hourly granularity");
+        }
+        this.hours = hours;
+        this.prefixes = new byte[hours.size()][];
+        this.offsets = new byte[hours.size()][];
+    }
+
+    /**
+     * Write the formatted <code>timestamp</code>.
+     *
+     * @param timestamp timestamp in milliseconds
+     * @param out       buffer to write into
+     */
+    void write(final long timestamp, final ByteBuffer out) {
+        final int index = this.indexOf(timestamp);
+        if (index < 0) {
+            out.put(this.formatUncached(timestamp).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        out.put(this.prefixes[index]);
+        final long seconds = (timestamp - this.hours.getStart(index)) / TimestampFormatter.MILLIS_IN_SECOND;
+        AsciiFormat.putDigits(out, seconds / TimestampFormatter.SECONDS_IN_MINUTE, 2);
+        out.put((byte) ':');
+        AsciiFormat.putDigits(out, seconds % TimestampFormatter.SECONDS_IN_MINUTE, 2);
+        out.put(this.offsets[index]);
+    }
+
+    /**
+     * Get the formatted <code>timestamp</code>.
+     *
+     * @param timestamp timestamp in milliseconds
+     * @return the formatted timestamp
+     */
+    String format(final long timestamp) {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        this.write(timestamp, buffer);
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Get the index of the hour containing <code>timestamp</code>, filling the cache of that hour if needed.
+     * Consecutive timestamps usually fall in the same hour, so the last one is checked before searching.
+     */
+    private int indexOf(final long timestamp) {
+        int index = this.lastIndex;
+        if (index < 0 || timestamp < this.hours.getStart(index) || timestamp >= this.hours.getEnd(index)) {
+            index = this.hours.indexOf(timestamp);
+            if (index < 0) {
+                return index;
+            }
+            this.lastIndex = index;
+        }
+        if (this.prefixes[index] == null) {
+            final ZonedDateTime start = Instant.ofEpochMilli(this.hours.getStart(index)).atZone(this.hours.getZone());
+            this.prefixes[index] = TimestampFormatter.HOUR_FORMAT.format(start).getBytes(StandardCharsets.US_ASCII);
+            this.offsets[index] = TimestampFormatter.OFFSET_FORMAT.format(start).getBytes(StandardCharsets.US_ASCII);
+        }
+        return index;
+    }
+
+    private String formatUncached(final long timestamp) {
+        return TimestampFormatter.FULL_FORMAT.format(Instant.ofEpochMilli(timestamp).atZone(this.hours.getZone()));
+    }
+}
@@ -2,6 +2,7 @@ package reega.data.factory;
 
 import org.jetbrains.annotations.Nullable;
 
+import reega.data.AsyncContractController;
 import reega.data.ContractController;
 import reega.data.remote.RemoteConnection;
 import reega.data.remote.RemoteContractAPI;
@@ -32,4 +33,14 @@ public final class ContractControllerFactory {
     public static ContractController getRemoteDatabaseController(@Nullable final RemoteConnection connection) {
         return new RemoteContractAPI(connection);
     }
+
+    /**
+     * Get the default {@link AsyncContractController}.
+     *
+     * @param connection {@link RemoteConnection} used to get the default asynchronous contract controller
+     * @return the default {@link AsyncContractController}
+     */
+    public static AsyncContractController getDefaultAsyncContractController(@Nullable final RemoteConnection connection) {
+        return new RemoteContractAPI(connection);
+    }
 }
@@ -2,6 +2,7 @@ package reega.data.factory;
 
 import org.jetbrains.annotations.Nullable;
 
+import reega.data.AsyncDataController;
 import reega.data.DataController;
 import reega.data.remote.RemoteConnection;
 import reega.data.remote.RemoteDataAPI;
@@ -33,4 +34,13 @@ public final class DataControllerFactory {
         return new RemoteDataAPI(connection);
     }
 
+    /**
+     * Get the default {@link AsyncDataController}.
+     *
+     * @param connection {@link RemoteConnection} used to get the default asynchronous data controller
+     * @return the default {@link AsyncDataController}
+     */
+    public static AsyncDataController getDefaultAsyncDataController(@Nullable final RemoteConnection connection) {
+        return new RemoteDataAPI(connection);
+    }
 }
@@ -2,6 +2,7 @@ package reega.data.factory;
 
 import javax.annotation.Nullable;
 
+import reega.data.AsyncUserController;
 import reega.data.UserController;
 import reega.data.remote.RemoteConnection;
 import reega.data.remote.RemoteUserAPI;
@@ -32,4 +33,14 @@ public final class UserControllerFactory {
     public static UserController getRemoteUserController(@Nullable final RemoteConnection connection) {
         return new RemoteUserAPI(connection);
     }
+
+    /**
+     * Get the default {@link AsyncUserController}.
+     *
+     * @param connection {@link RemoteConnection} used to get the default asynchronous user controller
+     * @return the default {@link AsyncUserController}
+     */
+    public static AsyncUserController getDefaultAsyncUserController(@Nullable final RemoteConnection connection) {
+        return new RemoteUserAPI(connection);
+    }
 }
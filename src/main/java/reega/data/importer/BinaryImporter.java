@@ -0,0 +1,177 @@
+package reega.data.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reega.data.exporter.BinaryFormat;
+import reega.data.exporter.CompressionCodec;
+import reega.data.exporter.ExportFormat;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+import reega.data.models.TimeSeries;
+
+/**
+ * Importer of the columnar binary format described in {@link BinaryFormat}. The file is memory-mapped and the blocks
+ * are located through the index at the end of the file. Files up to {@value #REGION_SIZE} bytes are mapped once, the
+ * bigger ones in regions of that size, and every block is a slice of its region. A compressed file is first
+ * decompressed to a temporary file, since a compressed stream can't be mapped.
+ */
+public class BinaryImporter implements ReegaImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryImporter.class);
+    private static final int VARINT_DATA_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int MAX_VARINT_SHIFT = 63;
+    private static final long REGION_SIZE = 1L << 30;
+
+    protected BinaryImporter() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> importData(final File file) throws IOException {
+        final CompressionCodec codec = CompressionCodec.fromFileName(file.getName());
+        if (codec == CompressionCodec.NONE) {
+            return BinaryImporter.importMapped(file);
+        }
+        final Path uncompressed = Files.createTempFile("reega-import", ExportFormat.BINARY.getExtension());
+        try {
+            try (InputStream inputStream = codec.unwrap(Files.newInputStream(file.toPath()))) {
+                Files.copy(inputStream, uncompressed, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return BinaryImporter.importMapped(uncompressed.toFile());
+        } finally {
+            Files.deleteIfExists(uncompressed);
+        }
+    }
+
+    private static List<Data> importMapped(final File file) throws IOException {
+        BinaryImporter.LOGGER.info("importing binary data from " + file.getAbsolutePath());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < BinaryFormat.HEADER_SIZE + BinaryFormat.TRAILER_SIZE) {
+                throw new IOException("Invalid binary file: too short");
+            }
+            final MappedRegions regions = new MappedRegions(channel, size);
+            final ByteBuffer header = regions.slice(0, BinaryFormat.HEADER_SIZE);
+            if (header.getInt() != BinaryFormat.MAGIC) {
+                throw new IOException("Invalid binary file: wrong magic number");
+            }
+            final short version = header.getShort();
+            if (version != BinaryFormat.VERSION) {
+                throw new IOException("Unsupported binary file version " + version);
+            }
+            final ByteBuffer trailer = regions.slice(size - BinaryFormat.TRAILER_SIZE, BinaryFormat.TRAILER_SIZE);
+            final long indexOffset = trailer.getLong();
+            final int entries = trailer.getInt();
+            final long indexLength = (long) entries * BinaryFormat.INDEX_ENTRY_SIZE;
+            if (trailer.getInt() != BinaryFormat.MAGIC || entries < 0 || indexLength > Integer.MAX_VALUE
+                    || indexOffset + indexLength != size - BinaryFormat.TRAILER_SIZE) {
+                throw new IOException("Invalid binary file: corrupted trailer");
+            }
+            final ByteBuffer index = regions.slice(indexOffset, (int) indexLength);
+            final List<Data> data = new ArrayList<>(entries);
+            for (int i = 0; i < entries; i++) {
+                data.add(BinaryImporter.readBlock(regions, index, indexOffset));
+            }
+            BinaryImporter.LOGGER.info("import complete");
+            return data;
+        }
+    }
+
+    /**
+     * Read the block described by the next entry of <code>index</code>.
+     */
+    private static Data readBlock(final MappedRegions regions, final ByteBuffer index, final long indexOffset)
+            throws IOException {
+        final int contractID = index.getInt();
+        final DataType type = DataType.fromId(index.getInt());
+        final int count = index.getInt();
+        final int timestampsLength = index.getInt();
+        final long offset = index.getLong();
+        // first and last timestamp are only needed to filter the blocks without reading them
+        index.getLong();
+        index.getLong();
+        final long length = (long) count * Double.BYTES + timestampsLength;
+        if (type == null || count < 0 || timestampsLength < 0 || offset < BinaryFormat.HEADER_SIZE
+                || offset + length > indexOffset || length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid binary file: corrupted index entry for the contract " + contractID);
+        }
+        final ByteBuffer block = regions.slice(offset, (int) length);
+        final double[] values = new double[count];
+        final long[] timestamps = new long[count];
+        try {
+            block.asDoubleBuffer().get(values);
+            block.position(count * Double.BYTES);
+            if (count > 0) {
+                timestamps[0] = block.getLong();
+                for (int i = 1; i < count; i++) {
+                    timestamps[i] = timestamps[i - 1] + BinaryImporter.getVarint(block);
+                }
+            }
+        } catch (final BufferUnderflowException e) {
+            throw new IOException("Invalid binary file: truncated block for the contract " + contractID, e);
+        }
+        return new Data(contractID, type, TimeSeries.of(timestamps, values, count));
+    }
+
+    /**
+     * Read an unsigned LEB128 varint.
+     */
+    private static long getVarint(final ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift <= BinaryImporter.MAX_VARINT_SHIFT; shift += BinaryImporter.VARINT_DATA_BITS) {
+            final int b = buffer.get();
+            value |= (long) (b & BinaryImporter.VARINT_MASK) << shift;
+            if ((b & BinaryImporter.VARINT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid binary file: malformed timestamp");
+    }
+
+    /**
+     * Read-only mapping of a file in regions of {@value BinaryImporter#REGION_SIZE} bytes. The blocks are read in file
+     * order, so a region is mapped again only when a block doesn't fit in the current one.
+     */
+    private static final class MappedRegions {
+        private final FileChannel channel;
+        private final long size;
+        private long start;
+        private ByteBuffer region;
+
+        MappedRegions(final FileChannel channel, final long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        /**
+         * Get the bytes from <code>offset</code> to <code>offset + length</code>, excluded, as a buffer positioned at
+         * zero.
+         */
+        ByteBuffer slice(final long offset, final int length) throws IOException {
+            if (this.region == null || offset < this.start || offset + length > this.start + this.region.capacity()) {
+                this.start = offset;
+                this.region = this.channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.max(length, Math.min(BinaryImporter.REGION_SIZE, this.size - offset)));
+            }
+            final int position = (int) (offset - this.start);
+            return this.region.duplicate().position(position).limit(position + length).slice();
+        }
+    }
+}
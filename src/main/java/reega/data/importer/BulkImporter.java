@@ -0,0 +1,255 @@
+package reega.data.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reega.data.DataController;
+import reega.data.exporter.ExportFormat;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+/**
+ * Bulk import of CSV or JSON usage files into the platform. The file is parsed in a streaming fashion and its records
+ * are grouped in batches of a bounded number of records, one {@link Data} for each contract and {@link DataType} of
+ * the batch. At most a bounded number of batches is sent at the same time through
+ * {@link DataController#putUserDataBatch(List)}, so the memory used doesn't depend on the size of the file.
+ * <p>
+ * The number of leading records of the file that have been stored is saved to a checkpoint file after every batch.
+ * If the import stops, running it again with the same checkpoint file skips the stored records and resumes from the
+ * first batch that wasn't stored; the checkpoint is deleted when the whole file has been imported. Batches sent after
+ * a failed one may have been stored too, so a resumed import can send some records again.
+ */
+public final class BulkImporter {
+    /**
+     * Default number of records of a batch.
+     */
+    public static final int DEFAULT_BATCH_RECORDS = 50_000;
+    /**
+     * Default number of batches sent at the same time.
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkImporter.class);
+
+    private final DataController controller;
+    private final int batchRecords;
+    private final int concurrency;
+
+    /**
+     * Create a bulk importer with the default batch size and concurrency.
+     *
+     * @param controller controller used to store the data
+     */
+    public BulkImporter(final DataController controller) {
+        this(controller, BulkImporter.DEFAULT_BATCH_RECORDS, BulkImporter.DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Create a bulk importer.
+     *
+     * @param controller   controller used to store the data
+     * @param batchRecords number of records of a batch
+     * @param concurrency  number of batches sent at the same time
+     */
+    public BulkImporter(final DataController controller, final int batchRecords, final int concurrency) {
+        if (batchRecords < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("batchRecords and concurrency must be positive");
+        }
+        this.controller = Objects.requireNonNull(controller);
+        this.batchRecords = batchRecords;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Import <code>file</code>, resuming from <code>checkpointFile</code> if it exists.
+     *
+     * @param format         format of the file, {@link ExportFormat#CSV} or {@link ExportFormat#JSON}
+     * @param file           file to import, it may be compressed
+     * @param checkpointFile file where the progress of the import is saved
+     * @return the number of records stored by this run
+     * @throws IOException if the file is not valid or some records could not be stored; the checkpoint is kept, so
+     *                     the import can be resumed
+     */
+    public long importFile(final ExportFormat format, final File file, final File checkpointFile)
+            throws IOException {
+        final StreamingImporter importer = ReegaImporterFactory.createStreaming(format);
+        final ImportCheckpoint checkpoint = ImportCheckpoint.load(checkpointFile, file);
+        if (checkpoint.getRecords() > 0) {
+            BulkImporter.LOGGER.info("resuming the import of " + file.getAbsolutePath() + " after "
+                    + checkpoint.getRecords() + " records");
+        }
+        final Run run = new Run(checkpoint, checkpointFile);
+        try {
+            importer.read(file, run::accept);
+            run.submitBatch();
+        } finally {
+            run.awaitBatches();
+        }
+        if (run.failed) {
+            throw new IOException("Could not store all the records of " + file.getAbsolutePath() + ", the first "
+                    + checkpoint.getRecords() + " records have been stored; import it again to resume");
+        }
+        Files.deleteIfExists(checkpointFile.toPath());
+        BulkImporter.LOGGER.info("imported " + run.stored.get() + " records from " + file.getAbsolutePath());
+        return run.stored.get();
+    }
+
+    /**
+     * State of a single import: the batch being filled, the batches being sent and the committed records.
+     */
+    private final class Run {
+        private final ImportCheckpoint checkpoint;
+        private final File checkpointFile;
+        private final long skip;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final Map<Long, Data> batch = new LinkedHashMap<>();
+        /**
+         * Batches stored after a batch that is still being sent, by first record.
+         */
+        private final NavigableMap<Long, Long> pending = new TreeMap<>();
+        private final AtomicLong stored = new AtomicLong();
+        private volatile boolean failed;
+        private long recordIndex;
+        private long batchStart;
+        private int batchSize;
+        private long committed;
+
+        Run(final ImportCheckpoint checkpoint, final File checkpointFile) {
+            this.checkpoint = checkpoint;
+            this.checkpointFile = checkpointFile;
+            this.skip = checkpoint.getRecords();
+            this.committed = this.skip;
+            this.permits = new Semaphore(BulkImporter.this.concurrency);
+            this.executor = Executors.newFixedThreadPool(BulkImporter.this.concurrency, runnable -> {
+                final Thread thread = new Thread(runnable, "bulk-import-" + this.threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void accept(final int contractID, final DataType type, final long timestamp, final double value)
+                throws IOException {
+            if (this.failed) {
+                throw new IOException("Import stopped, a batch could not be stored");
+            }
+            if (this.recordIndex++ < this.skip) {
+                return;
+            }
+            if (this.batchSize == 0) {
+                this.batchStart = this.recordIndex - 1;
+            }
+            this.batch.computeIfAbsent(StreamingImporter.key(contractID, type), k -> new Data(contractID, type))
+                    .addRecord(timestamp, value);
+            if (++this.batchSize == BulkImporter.this.batchRecords) {
+                this.submitBatch();
+            }
+        }
+
+        /**
+         * Send the current batch, waiting if too many batches are being sent.
+         */
+        void submitBatch() throws IOException {
+            if (this.batchSize == 0) {
+                return;
+            }
+            final List<Data> data = new ArrayList<>(this.batch.values());
+            final long start = this.batchStart;
+            final long end = this.recordIndex;
+            final int records = this.batchSize;
+            this.batch.clear();
+            this.batchSize = 0;
+            try {
+                this.permits.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            }
+            if (this.failed) {
+                this.permits.release();
+                throw new IOException("Import stopped, a batch could not be stored");
+            }
+            this.executor.execute(() -> {
+                try {
+                    this.store(data, start, end, records);
+                } finally {
+                    this.permits.release();
+                }
+            });
+        }
+
+        private void store(final List<Data> data, final long start, final long end, final int records) {
+            List<Data> failedSeries;
+            try {
+                failedSeries = BulkImporter.this.controller.putUserDataBatch(data);
+            } catch (final RuntimeException e) {
+                BulkImporter.LOGGER.error("could not store the records from " + start + " to " + end, e);
+                failedSeries = data;
+            }
+            if (!failedSeries.isEmpty()) {
+                BulkImporter.LOGGER.error("could not store " + failedSeries.size() + " series of the records from "
+                        + start + " to " + end);
+                this.failed = true;
+                return;
+            }
+            this.stored.addAndGet(records);
+            this.commit(start, end);
+        }
+
+        /**
+         * Mark the records from <code>start</code> to <code>end</code> as stored, then save the checkpoint if all the
+         * records before them have been stored too.
+         */
+        private synchronized void commit(final long start, final long end) {
+            this.pending.put(start, end);
+            final long previous = this.committed;
+            while (this.pending.containsKey(this.committed)) {
+                this.committed = this.pending.remove(this.committed);
+            }
+            if (this.committed == previous) {
+                return;
+            }
+            this.checkpoint.setRecords(this.committed);
+            try {
+                this.checkpoint.save(this.checkpointFile);
+            } catch (final IOException e) {
+                // the next commit saves it again, at worst some records are sent twice when resuming
+                BulkImporter.LOGGER.error("could not save the checkpoint " + this.checkpointFile.getAbsolutePath(), e);
+            }
+        }
+
+        /**
+         * Wait for the batches being sent.
+         */
+        void awaitBatches() throws IOException {
+            this.executor.shutdown();
+            try {
+                while (!this.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    BulkImporter.LOGGER.info("waiting for the batches being sent");
+                }
+            } catch (final InterruptedException e) {
+                this.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            }
+        }
+    }
+}
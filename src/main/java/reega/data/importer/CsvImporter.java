@@ -0,0 +1,76 @@
+package reega.data.importer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reega.data.models.DataType;
+
+/**
+ * Streaming importer of the layout written by {@link reega.data.exporter.CsvExporter}: a header followed by one
+ * <code>timestamp,contract_id,type,value</code> row for each record.
+ */
+public class CsvImporter extends StreamingImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CsvImporter.class);
+    private static final String HEADER = "timestamp,contract_id,type,value";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int RADIX = 10;
+
+    protected CsvImporter() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void read(final File file, final RecordConsumer consumer) throws IOException {
+        CsvImporter.LOGGER.info("importing csv data from " + file.getAbsolutePath());
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(StreamingImporter.open(file), StandardCharsets.UTF_8),
+                CsvImporter.BUFFER_SIZE)) {
+            final String header = reader.readLine();
+            if (header == null || !CsvImporter.HEADER.equals(header.strip())) {
+                throw new IOException("Invalid csv file: the header needs to be " + CsvImporter.HEADER);
+            }
+            final TimestampParser timestampParser = new TimestampParser();
+            long lineNumber = 1;
+            String line = reader.readLine();
+            while (line != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    CsvImporter.parseRow(line, lineNumber, timestampParser, consumer);
+                }
+                line = reader.readLine();
+            }
+        }
+        CsvImporter.LOGGER.info("import complete");
+    }
+
+    /**
+     * Split <code>line</code> without regular expressions, then pass the record to <code>consumer</code>.
+     */
+    private static void parseRow(final String line, final long lineNumber, final TimestampParser timestampParser,
+            final RecordConsumer consumer) throws IOException {
+        final int first = line.indexOf(',');
+        final int second = first < 0 ? -1 : line.indexOf(',', first + 1);
+        final int third = second < 0 ? -1 : line.indexOf(',', second + 1);
+        if (third < 0 || line.indexOf(',', third + 1) >= 0) {
+            throw new IOException("Invalid csv file: line " + lineNumber + " doesn't have 4 fields");
+        }
+        final DataType type = DataType.fromName(line.substring(second + 1, third));
+        if (type == null) {
+            throw new IOException("Invalid csv file: unknown type at line " + lineNumber);
+        }
+        try {
+            consumer.accept(Integer.parseInt(line, first + 1, second, CsvImporter.RADIX), type,
+                    timestampParser.parse(line.substring(0, first)), Double.parseDouble(line.substring(third + 1)));
+        } catch (final NumberFormatException e) {
+            throw new IOException("Invalid csv file: invalid number at line " + lineNumber, e);
+        }
+    }
+}
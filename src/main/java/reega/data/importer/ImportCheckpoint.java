@@ -0,0 +1,96 @@
+package reega.data.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Progress of a {@link BulkImporter} run, saved to a small JSON file so that an interrupted import can be resumed. It
+ * records the number of leading records of the source file that have been stored, together with the size and the
+ * modification time of the file, so that a checkpoint is never applied to a different file.
+ */
+final class ImportCheckpoint {
+    @SerializedName("file")
+    private String file;
+    @SerializedName("size")
+    private long size;
+    @SerializedName("last_modified")
+    private long lastModified;
+    @SerializedName("records")
+    private long records;
+
+    private ImportCheckpoint() {
+    }
+
+    /**
+     * Load the checkpoint of <code>source</code>.
+     *
+     * @param checkpointFile file of the checkpoint
+     * @param source         file being imported
+     * @return the saved checkpoint, or a checkpoint with no records if <code>checkpointFile</code> doesn't exist
+     * @throws IOException if the checkpoint can't be read or it belongs to another file
+     */
+    static ImportCheckpoint load(final File checkpointFile, final File source) throws IOException {
+        if (!checkpointFile.exists()) {
+            final ImportCheckpoint checkpoint = new ImportCheckpoint();
+            checkpoint.file = source.getAbsolutePath();
+            checkpoint.size = source.length();
+            checkpoint.lastModified = source.lastModified();
+            return checkpoint;
+        }
+        final ImportCheckpoint checkpoint;
+        try (Reader reader = Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+            checkpoint = new Gson().fromJson(reader, ImportCheckpoint.class);
+        } catch (final JsonParseException e) {
+            throw new IOException("Invalid checkpoint " + checkpointFile.getAbsolutePath(), e);
+        }
+        if (checkpoint == null || checkpoint.records < 0 || !source.getAbsolutePath().equals(checkpoint.file)
+                || source.length() != checkpoint.size || source.lastModified() != checkpoint.lastModified) {
+            throw new IOException("The checkpoint " + checkpointFile.getAbsolutePath() + " doesn't belong to "
+                    + source.getAbsolutePath() + " or the file has changed since it was saved");
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Save the checkpoint, replacing the previous one atomically.
+     *
+     * @param checkpointFile file of the checkpoint
+     * @throws IOException if the checkpoint can't be written
+     */
+    void save(final File checkpointFile) throws IOException {
+        final Path target = checkpointFile.toPath();
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            new Gson().toJson(this, writer);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Get the number of leading records of the file that have been stored.
+     *
+     * @return the number of stored records
+     */
+    long getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Set the number of leading records of the file that have been stored.
+     *
+     * @param records number of stored records
+     */
+    void setRecords(final long records) {
+        this.records = records;
+    }
+}
@@ -0,0 +1,105 @@
+package reega.data.importer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import reega.data.models.DataType;
+
+/**
+ * Streaming importer of the layout written by {@link reega.data.exporter.JsonExporter}, read through a
+ * {@link JsonReader} without building the document in memory. The <code>contract_id</code> of a contract and the
+ * <code>type</code> of a series need to precede their <code>values</code>, like in the exported files.
+ */
+public class JsonImporter extends StreamingImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonImporter.class);
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    protected JsonImporter() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void read(final File file, final RecordConsumer consumer) throws IOException {
+        JsonImporter.LOGGER.info("importing json data from " + file.getAbsolutePath());
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(StreamingImporter.open(file), StandardCharsets.UTF_8),
+                JsonImporter.BUFFER_SIZE))) {
+            final TimestampParser timestampParser = new TimestampParser();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JsonImporter.readContract(reader, timestampParser, consumer);
+            }
+            reader.endArray();
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new IOException("Invalid json file: unexpected content after the contracts");
+            }
+        } catch (final IllegalStateException | NumberFormatException e) {
+            throw new IOException("Invalid json file: " + e.getMessage(), e);
+        }
+        JsonImporter.LOGGER.info("import complete");
+    }
+
+    private static void readContract(final JsonReader reader, final TimestampParser timestampParser,
+            final RecordConsumer consumer) throws IOException {
+        Integer contractID = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if ("contract_id".equals(name)) {
+                contractID = reader.nextInt();
+            } else if ("values".equals(name)) {
+                if (contractID == null) {
+                    throw new IOException("Invalid json file: values found before the contract_id at "
+                            + reader.getPath());
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonImporter.readSeries(reader, contractID, timestampParser, consumer);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readSeries(final JsonReader reader, final int contractID,
+            final TimestampParser timestampParser, final RecordConsumer consumer) throws IOException {
+        DataType type = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if ("type".equals(name)) {
+                type = DataType.fromName(reader.nextString());
+                if (type == null) {
+                    throw new IOException("Invalid json file: unknown type at " + reader.getPath());
+                }
+            } else if ("values".equals(name)) {
+                if (type == null) {
+                    throw new IOException("Invalid json file: values found before the type at " + reader.getPath());
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    final long timestamp = timestampParser.parse(reader.nextName());
+                    consumer.accept(contractID, type, timestamp, reader.nextDouble());
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+}
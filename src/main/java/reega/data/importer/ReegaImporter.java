@@ -0,0 +1,19 @@
+package reega.data.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import reega.data.models.Data;
+
+public interface ReegaImporter {
+
+    /**
+     * Import the data of the given file instance.
+     *
+     * @param file file to read the data from
+     * @return the data read from <code>file</code>
+     * @throws IOException if the file can't be read or it is not valid
+     */
+    List<Data> importData(File file) throws IOException;
+}
@@ -0,0 +1,52 @@
+package reega.data.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.UnknownFormatFlagsException;
+
+import reega.data.exporter.ExportFormat;
+import reega.data.models.Data;
+
+public final class ReegaImporterFactory {
+    private ReegaImporterFactory() {
+    }
+
+    /**
+     * Import the data of the file <code>file</code>, written with the specified <code>ExportFormat</code>.
+     *
+     * @param format format of the file
+     * @param file   file path
+     * @return the data read from the file
+     * @throws IOException
+     */
+    public static List<Data> importData(final ExportFormat format, final String file) throws IOException {
+        final ReegaImporter importer;
+        switch (format) {
+            case BINARY:
+                importer = new BinaryImporter();
+                break;
+            default:
+                importer = ReegaImporterFactory.createStreaming(format);
+        }
+        return importer.importData(new File(file));
+    }
+
+    /**
+     * Create the {@link StreamingImporter} of a text format.
+     *
+     * @param format format of the files
+     * @return a new {@link StreamingImporter}
+     * @throws UnknownFormatFlagsException if <code>format</code> can't be read in a streaming fashion
+     */
+    public static StreamingImporter createStreaming(final ExportFormat format) {
+        switch (format) {
+            case CSV:
+                return new CsvImporter();
+            case JSON:
+                return new JsonImporter();
+            default:
+                throw new UnknownFormatFlagsException("Unsupported ExportFormat!");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package reega.data.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import reega.data.exporter.CompressionCodec;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+/**
+ * Importer of a text format that is parsed one record at a time, so that the records can be consumed without keeping
+ * the whole file in memory. Files compressed with a {@link CompressionCodec} are decompressed while they are read.
+ */
+public abstract class StreamingImporter implements ReegaImporter {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> importData(final File file) throws IOException {
+        final Map<Long, Data> series = new LinkedHashMap<>();
+        this.read(file, (contractID, type, timestamp, value) -> series
+                .computeIfAbsent(StreamingImporter.key(contractID, type), k -> new Data(contractID, type))
+                .addRecord(timestamp, value));
+        return new ArrayList<>(series.values());
+    }
+
+    /**
+     * Parse <code>file</code>, passing each record to <code>consumer</code> in file order.
+     *
+     * @param file     file to read the records from
+     * @param consumer consumer of the records
+     * @throws IOException if the file can't be read or it is not valid, or if <code>consumer</code> fails
+     */
+    protected abstract void read(File file, RecordConsumer consumer) throws IOException;
+
+    /**
+     * Open <code>file</code>, decompressing it if its name has the extension of a {@link CompressionCodec}.
+     *
+     * @param file file to open
+     * @return the stream of the (decompressed) content of <code>file</code>
+     * @throws IOException if the file can't be opened
+     */
+    protected static InputStream open(final File file) throws IOException {
+        return CompressionCodec.fromFileName(file.getName()).unwrap(Files.newInputStream(file.toPath()));
+    }
+
+    /**
+     * Get a key identifying the series of <code>contractID</code> and <code>type</code>.
+     *
+     * @param contractID ID of the contract
+     * @param type       type of the data
+     * @return the key of the series
+     */
+    static long key(final int contractID, final DataType type) {
+        return (long) contractID << Integer.SIZE | type.getID();
+    }
+
+    /**
+     * Consumer of the records read from a file.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        /**
+         * Consume a record.
+         *
+         * @param contractID ID of the contract of the record
+         * @param type       type of the record
+         * @param timestamp  timestamp of the record, in milliseconds
+         * @param value      value of the record
+         * @throws IOException if the record can't be consumed
+         */
+        void accept(int contractID, DataType type, long timestamp, double value) throws IOException;
+    }
+}
@@ -0,0 +1,76 @@
+package reega.data.importer;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parser of the timestamps written by the exporters, <code>yyyy-MM-dd'T'HH:mm:ssXXX</code>. Consecutive records
+ * usually share the date, the hour and the offset: the start of the hour of the last timestamp is cached, so only the
+ * minutes and the seconds are parsed for the timestamps of the same hour. Any other ISO-8601 timestamp with an offset
+ * is parsed through {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+ */
+final class TimestampParser {
+    /**
+     * Index of the minutes, after <code>yyyy-MM-dd'T'HH:</code>.
+     */
+    private static final int MINUTES_INDEX = 14;
+    private static final int SECONDS_INDEX = 17;
+    private static final int OFFSET_INDEX = 19;
+    private static final int MILLIS_IN_SECOND = 1000;
+    private static final int SECONDS_IN_MINUTE = 60;
+    private static final int RADIX = 10;
+
+    private String lastTimestamp;
+    private long lastHourStart;
+
+    /**
+     * Parse <code>text</code>.
+     *
+     * @param text timestamp to parse
+     * @return the timestamp in milliseconds
+     * @throws IOException if <code>text</code> is not a valid timestamp
+     */
+    long parse(final String text) throws IOException {
+        if (this.lastTimestamp != null && text.length() == this.lastTimestamp.length()
+                && text.regionMatches(0, this.lastTimestamp, 0, TimestampParser.MINUTES_INDEX)
+                && text.regionMatches(TimestampParser.OFFSET_INDEX, this.lastTimestamp, TimestampParser.OFFSET_INDEX,
+                        text.length() - TimestampParser.OFFSET_INDEX)) {
+            final int minutes = TimestampParser.twoDigits(text, TimestampParser.MINUTES_INDEX);
+            final int seconds = TimestampParser.twoDigits(text, TimestampParser.SECONDS_INDEX);
+            if (minutes >= 0 && minutes < TimestampParser.SECONDS_IN_MINUTE && seconds >= 0
+                    && seconds < TimestampParser.SECONDS_IN_MINUTE
+                    && text.charAt(TimestampParser.SECONDS_INDEX - 1) == ':') {
+                return this.lastHourStart
+                        + (minutes * TimestampParser.SECONDS_IN_MINUTE + seconds) * TimestampParser.MILLIS_IN_SECOND;
+            }
+        }
+        final OffsetDateTime dateTime;
+        try {
+            dateTime = OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        } catch (final DateTimeParseException e) {
+            throw new IOException("Invalid timestamp " + text, e);
+        }
+        final long timestamp = dateTime.toInstant().toEpochMilli();
+        // only the timestamps in the exported layout, without fractions of second, can be cached
+        if (text.length() > TimestampParser.OFFSET_INDEX && dateTime.getNano() == 0
+                && text.charAt(TimestampParser.OFFSET_INDEX) != '.') {
+            this.lastTimestamp = text;
+            this.lastHourStart = timestamp - (dateTime.getMinute() * TimestampParser.SECONDS_IN_MINUTE
+                    + dateTime.getSecond()) * TimestampParser.MILLIS_IN_SECOND;
+        }
+        return timestamp;
+    }
+
+    /**
+     * Parse the two digits at <code>index</code>.
+     *
+     * @return the parsed number, or -1 if they are not digits
+     */
+    private static int twoDigits(final String text, final int index) {
+        final int tens = Character.digit(text.charAt(index), TimestampParser.RADIX);
+        final int units = Character.digit(text.charAt(index + 1), TimestampParser.RADIX);
+        return tens < 0 || units < 0 ? -1 : tens * TimestampParser.RADIX + units;
+    }
+}
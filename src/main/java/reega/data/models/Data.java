@@ -1,7 +1,7 @@
 package reega.data.models;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import com.google.gson.Gson;
 
@@ -13,22 +13,26 @@ import reega.data.models.gson.DataModel;
 public final class Data {
     private final int contractID;
     private final DataType type;
-    private final Map<Long, Double> dataValuesByTimestamp;
+    private final TimeSeries series;
 
     public Data(final DataModel model) {
         this.contractID = model.contractId;
-        this.dataValuesByTimestamp = model.data;
+        this.series = Objects.requireNonNullElseGet(model.data, TimeSeries::new);
         this.type = DataType.fromId(model.type);
     }
 
     public Data(final int contractID, final DataType dataType) {
-        this(contractID, dataType, new HashMap<>());
+        this(contractID, dataType, new TimeSeries());
     }
 
     public Data(final int contractID, final DataType dataType, final Map<Long, Double> data) {
+        this(contractID, dataType, TimeSeries.fromMap(data));
+    }
+
+    public Data(final int contractID, final DataType dataType, final TimeSeries series) {
         this.contractID = contractID;
         this.type = dataType;
-        this.dataValuesByTimestamp = data;
+        this.series = series;
     }
 
     /**
@@ -52,7 +56,7 @@ public final class Data {
      * @param value     value of the record
      */
     public void addRecord(final long timestamp, final double value) {
-        this.dataValuesByTimestamp.put(timestamp, value);
+        this.series.put(timestamp, value);
     }
 
     /**
@@ -61,7 +65,16 @@ public final class Data {
      * @param values values to be added to the current records
      */
     public void addRecords(final Map<Long, Double> values) {
-        this.dataValuesByTimestamp.putAll(values);
+        this.series.putAll(values);
+    }
+
+    /**
+     * Add a {@link TimeSeries} of records to the current record.
+     *
+     * @param values values to be added to the current records
+     */
+    public void addRecords(final TimeSeries values) {
+        this.series.putAll(values);
     }
 
     /**
@@ -83,11 +96,20 @@ public final class Data {
     }
 
     /**
-     * Get the map of records.
+     * Get the records, sorted by timestamp.
+     *
+     * @return the {@link TimeSeries} of records
+     */
+    public TimeSeries getSeries() {
+        return this.series;
+    }
+
+    /**
+     * Get the map of records. The map is a view of {@link #getSeries()}, prefer the series to avoid boxing.
      *
      * @return the map of records
      */
     public Map<Long, Double> getData() {
-        return this.dataValuesByTimestamp;
+        return this.series.asMap();
     }
 }
@@ -64,6 +64,22 @@ public enum DataType {
         return null;
     }
 
+    /**
+     * Get the {@link DataType} having the name <code>name</code>.
+     *
+     * @param name name that can correspond to a {@link DataType}
+     * @return {@link DataType} having the name <code>name</code>, or null if it doesn't correspond to any
+     *         {@link DataType}
+     */
+    public static DataType fromName(final String name) {
+        for (final DataType t : DataType.values()) {
+            if (t.name.equals(name)) {
+                return t;
+            }
+        }
+        return null;
+    }
+
     /**
      * Get all the data types corresponding to the <code>svcType</code> specified.
      *
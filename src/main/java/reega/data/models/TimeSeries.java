@@ -0,0 +1,400 @@
+package reega.data.models;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Time series of records sorted by timestamp, stored in two parallel primitive arrays. Appending a record newer than
+ * the last one costs O(1), every timestamp lookup is a binary search and the iteration never boxes the records.
+ */
+public final class TimeSeries {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] timestamps;
+    private double[] values;
+    private int size;
+
+    /**
+     * Create an empty time series.
+     */
+    public TimeSeries() {
+        this(TimeSeries.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty time series able to hold <code>capacity</code> records without growing.
+     *
+     * @param capacity initial capacity
+     */
+    public TimeSeries(final int capacity) {
+        this.timestamps = new long[Math.max(capacity, 1)];
+        this.values = new double[Math.max(capacity, 1)];
+    }
+
+    private TimeSeries(final long[] timestamps, final double[] values, final int size) {
+        this.timestamps = timestamps;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Create a time series from a {@link Map} of records.
+     *
+     * @param records records having the timestamp as key and the value as value
+     * @return a new {@link TimeSeries} containing <code>records</code>
+     */
+    public static TimeSeries fromMap(final Map<Long, Double> records) {
+        final long[] timestamps = new long[records.size()];
+        final double[] values = new double[records.size()];
+        int i = 0;
+        for (final Map.Entry<Long, Double> record : records.entrySet()) {
+            timestamps[i] = record.getKey();
+            values[i] = record.getValue();
+            i++;
+        }
+        return TimeSeries.of(timestamps, values, i);
+    }
+
+    /**
+     * Create a time series taking ownership of the given arrays. The records don't need to be sorted; if a timestamp
+     * is repeated the last value wins, like in a {@link Map}.
+     *
+     * @param timestamps timestamps of the records
+     * @param values     values of the records
+     * @param size       number of records in the arrays
+     * @return a new {@link TimeSeries} backed by the given arrays
+     */
+    public static TimeSeries of(final long[] timestamps, final double[] values, final int size) {
+        if (size > timestamps.length || size > values.length) {
+            throw new IllegalArgumentException("size is greater than the arrays length");
+        }
+        final TimeSeries series = new TimeSeries(timestamps, values, size);
+        if (!series.isStrictlySorted()) {
+            series.sortAndRemoveDuplicates();
+        }
+        return series;
+    }
+
+    /**
+     * Add a record, replacing the value of an already present timestamp.
+     *
+     * @param timestamp timestamp of the record
+     * @param value     value of the record
+     * @return the index of the record in this series
+     */
+    public int put(final long timestamp, final double value) {
+        if (this.size == 0 || timestamp > this.timestamps[this.size - 1]) {
+            this.ensureCapacity(this.size + 1);
+            this.timestamps[this.size] = timestamp;
+            this.values[this.size] = value;
+            return this.size++;
+        }
+        final int index = this.indexOf(timestamp);
+        if (index >= 0) {
+            this.values[index] = value;
+            return index;
+        }
+        final int insertion = -index - 1;
+        this.ensureCapacity(this.size + 1);
+        System.arraycopy(this.timestamps, insertion, this.timestamps, insertion + 1, this.size - insertion);
+        System.arraycopy(this.values, insertion, this.values, insertion + 1, this.size - insertion);
+        this.timestamps[insertion] = timestamp;
+        this.values[insertion] = value;
+        this.size++;
+        return insertion;
+    }
+
+    /**
+     * Add all the records of <code>other</code>.
+     *
+     * @param other records to add
+     */
+    public void putAll(final TimeSeries other) {
+        this.ensureCapacity(this.size + other.size);
+        if (other.size > 0 && (this.size == 0 || other.timestamps[0] > this.timestamps[this.size - 1])) {
+            // every record comes after the current ones, copy them at the end in one go
+            System.arraycopy(other.timestamps, 0, this.timestamps, this.size, other.size);
+            System.arraycopy(other.values, 0, this.values, this.size, other.size);
+            this.size += other.size;
+            return;
+        }
+        other.forEach(this::put);
+    }
+
+    /**
+     * Add all the records of <code>records</code>.
+     *
+     * @param records records having the timestamp as key and the value as value
+     */
+    public void putAll(final Map<Long, Double> records) {
+        this.putAll(TimeSeries.fromMap(records));
+    }
+
+    /**
+     * Get the number of records.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Check if this series has no records.
+     *
+     * @return true if this series has no records, false otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Get the timestamp of the record at <code>index</code>.
+     *
+     * @param index index of the record
+     * @return the timestamp of the record
+     */
+    public long getTimestamp(final int index) {
+        this.checkIndex(index);
+        return this.timestamps[index];
+    }
+
+    /**
+     * Get the value of the record at <code>index</code>.
+     *
+     * @param index index of the record
+     * @return the value of the record
+     */
+    public double getValue(final int index) {
+        this.checkIndex(index);
+        return this.values[index];
+    }
+
+    /**
+     * Search the record having <code>timestamp</code>.
+     *
+     * @param timestamp timestamp to search
+     * @return the index of the record if present, otherwise <code>(-(insertion point) - 1)</code> like
+     *         {@link Arrays#binarySearch(long[], long)}
+     */
+    public int indexOf(final long timestamp) {
+        return Arrays.binarySearch(this.timestamps, 0, this.size, timestamp);
+    }
+
+    /**
+     * Get the index of the first record having a timestamp greater than or equal to <code>timestamp</code>.
+     *
+     * @param timestamp timestamp to search
+     * @return the index of the first record not older than <code>timestamp</code>, {@link #size()} if there is none
+     */
+    public int lowerBound(final long timestamp) {
+        final int index = this.indexOf(timestamp);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Get a copy of the records between <code>fromIndex</code> (inclusive) and <code>toIndex</code> (exclusive).
+     *
+     * @param fromIndex index of the first record
+     * @param toIndex   index after the last record
+     * @return a new {@link TimeSeries} with the selected records
+     */
+    public TimeSeries subSeries(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range " + fromIndex + " - " + toIndex);
+        }
+        return new TimeSeries(Arrays.copyOfRange(this.timestamps, fromIndex, Math.max(toIndex, fromIndex + 1)),
+                Arrays.copyOfRange(this.values, fromIndex, Math.max(toIndex, fromIndex + 1)), toIndex - fromIndex);
+    }
+
+    /**
+     * Get a copy of the records having a timestamp between <code>fromTimestamp</code> (inclusive) and
+     * <code>toTimestamp</code> (exclusive).
+     *
+     * @param fromTimestamp first timestamp of the range
+     * @param toTimestamp   timestamp after the range
+     * @return a new {@link TimeSeries} with the records in the range
+     */
+    public TimeSeries range(final long fromTimestamp, final long toTimestamp) {
+        final int from = this.lowerBound(fromTimestamp);
+        return this.subSeries(from, Math.max(from, this.lowerBound(toTimestamp)));
+    }
+
+    /**
+     * Call <code>consumer</code> for each record, in timestamp order.
+     *
+     * @param consumer consumer of the records
+     */
+    public void forEach(final RecordConsumer consumer) {
+        for (int i = 0; i < this.size; i++) {
+            consumer.accept(this.timestamps[i], this.values[i]);
+        }
+    }
+
+    /**
+     * Get the sum of all the values.
+     *
+     * @return the sum of all the values
+     */
+    public double sum() {
+        double sum = 0;
+        for (int i = 0; i < this.size; i++) {
+            sum += this.values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Get a live {@link Map} view of this series. Lookups are binary searches and the entries are created lazily
+     * while iterating.
+     *
+     * @return a {@link Map} view having the timestamp as key and the value as value
+     */
+    public Map<Long, Double> asMap() {
+        return new MapView();
+    }
+
+    private boolean isStrictlySorted() {
+        for (int i = 1; i < this.size; i++) {
+            if (this.timestamps[i - 1] >= this.timestamps[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stable merge sort of the parallel arrays, then keep only the last value of every timestamp.
+     */
+    private void sortAndRemoveDuplicates() {
+        final long[] tmpTimestamps = new long[this.size];
+        final double[] tmpValues = new double[this.size];
+        for (int width = 1; width < this.size; width *= 2) {
+            for (int lo = 0; lo < this.size - width; lo += 2 * width) {
+                this.merge(lo, lo + width, Math.min(lo + 2 * width, this.size), tmpTimestamps, tmpValues);
+            }
+        }
+        int last = 0;
+        for (int i = 1; i < this.size; i++) {
+            if (this.timestamps[i] != this.timestamps[last]) {
+                last++;
+            }
+            this.timestamps[last] = this.timestamps[i];
+            this.values[last] = this.values[i];
+        }
+        this.size = this.size == 0 ? 0 : last + 1;
+    }
+
+    private void merge(final int lo, final int mid, final int hi, final long[] tmpTimestamps,
+            final double[] tmpValues) {
+        System.arraycopy(this.timestamps, lo, tmpTimestamps, lo, hi - lo);
+        System.arraycopy(this.values, lo, tmpValues, lo, hi - lo);
+        int left = lo;
+        int right = mid;
+        for (int k = lo; k < hi; k++) {
+            if (right >= hi || left < mid && tmpTimestamps[left] <= tmpTimestamps[right]) {
+                this.timestamps[k] = tmpTimestamps[left];
+                this.values[k] = tmpValues[left++];
+            } else {
+                this.timestamps[k] = tmpTimestamps[right];
+                this.values[k] = tmpValues[right++];
+            }
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > this.timestamps.length) {
+            final int newCapacity = Math.max(capacity, this.timestamps.length * 2);
+            this.timestamps = Arrays.copyOf(this.timestamps, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + this.size);
+        }
+    }
+
+    /**
+     * Consumer of a record, used to iterate without boxing.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        /**
+         * Consume a record.
+         *
+         * @param timestamp timestamp of the record
+         * @param value     value of the record
+         */
+        void accept(long timestamp, double value);
+    }
+
+    /**
+     * {@link Map} adapter backed by the arrays of the series.
+     */
+    private final class MapView extends AbstractMap<Long, Double> {
+        @Override
+        public int size() {
+            return TimeSeries.this.size;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof Long && TimeSeries.this.indexOf((Long) key) >= 0;
+        }
+
+        @Override
+        public Double get(final Object key) {
+            if (!(key instanceof Long)) {
+                return null;
+            }
+            final int index = TimeSeries.this.indexOf((Long) key);
+            return index >= 0 ? TimeSeries.this.values[index] : null;
+        }
+
+        @Override
+        public Double put(final Long key, final Double value) {
+            final Double previous = this.get(key);
+            TimeSeries.this.put(key, value);
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<Long, Double>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Long, Double>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.next < TimeSeries.this.size;
+                        }
+
+                        @Override
+                        public Entry<Long, Double> next() {
+                            if (!this.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final int index = this.next++;
+                            return new SimpleImmutableEntry<>(TimeSeries.this.timestamps[index],
+                                    TimeSeries.this.values[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TimeSeries.this.size;
+                }
+            };
+        }
+    }
+}
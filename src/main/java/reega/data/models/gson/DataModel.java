@@ -1,10 +1,10 @@
 package reega.data.models.gson;
 
-import java.util.Map;
-
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import reega.data.models.Data;
+import reega.data.models.TimeSeries;
 
 /**
  * API data model
@@ -15,11 +15,12 @@ public class DataModel {
     @SerializedName("contract_id")
     public Integer contractId;
     @SerializedName("data")
-    public Map<Long, Double> data;
+    @JsonAdapter(TimeSeriesTypeAdapter.class)
+    public TimeSeries data;
 
     public DataModel(final Data data) {
         this.type = data.getType().getID();
         this.contractId = data.getContractID();
-        this.data = data.getData();
+        this.data = data.getSeries();
     }
 }
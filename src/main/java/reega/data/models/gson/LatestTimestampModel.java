@@ -0,0 +1,17 @@
+package reega.data.models.gson;
+
+import java.util.Date;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * API latest timestamp model, one for each contract and data type.
+ */
+public class LatestTimestampModel {
+    @SerializedName("contract_id")
+    public int contractId;
+    @SerializedName("type")
+    public int type;
+    @SerializedName("timestamp")
+    public Date timestamp;
+}
@@ -0,0 +1,62 @@
+package reega.data.models.gson;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import reega.data.models.TimeSeries;
+
+/**
+ * Gson adapter that reads and writes a {@link TimeSeries} as a JSON object having the timestamps as names, the same
+ * layout used for a <code>Map&lt;Long, Double&gt;</code>, without going through boxed values.
+ */
+public class TimeSeriesTypeAdapter extends TypeAdapter<TimeSeries> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final JsonWriter out, final TimeSeries series) throws IOException {
+        if (series == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (int i = 0; i < series.size(); i++) {
+            out.name(Long.toString(series.getTimestamp(i)));
+            out.value(series.getValue(i));
+        }
+        out.endObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TimeSeries read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        long[] timestamps = new long[TimeSeriesTypeAdapter.INITIAL_CAPACITY];
+        double[] values = new double[TimeSeriesTypeAdapter.INITIAL_CAPACITY];
+        int size = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = Long.parseLong(in.nextName());
+            values[size] = in.nextDouble();
+            size++;
+        }
+        in.endObject();
+        return TimeSeries.of(timestamps, values, size);
+    }
+}
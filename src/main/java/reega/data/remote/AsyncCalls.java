@@ -0,0 +1,45 @@
+package reega.data.remote;
+
+import java.util.concurrent.CompletableFuture;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Bridge between Retrofit's {@link Call#enqueue(Callback)} and {@link CompletableFuture}.
+ */
+final class AsyncCalls {
+    private AsyncCalls() {
+    }
+
+    /**
+     * Enqueue <code>call</code> on the HTTP client dispatcher and return a future completed with its response.
+     * Cancelling the returned future cancels the underlying HTTP call.
+     *
+     * @param <T>  type of the response body
+     * @param call call that needs to be enqueued
+     * @return a {@link CompletableFuture} completed with the {@link Response} or with the failure of the call
+     */
+    static <T> CompletableFuture<Response<T>> enqueue(final Call<T> call) {
+        final CompletableFuture<Response<T>> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(final boolean mayInterruptIfRunning) {
+                call.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(final Call<T> c, final Response<T> response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(final Call<T> c, final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,134 @@
+package reega.data.remote;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker of the requests to the backend. After a number of consecutive failures the circuit opens and the
+ * requests fail immediately, without waiting for timeouts, until the open duration has elapsed; then a single probe
+ * request is let through (half-open state): if it succeeds the circuit closes, otherwise it opens again.
+ */
+public final class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * Create a circuit breaker.
+     *
+     * @param failureThreshold number of consecutive failures that open the circuit
+     * @param openDuration     time the circuit stays open before letting a probe request through
+     */
+    public CircuitBreaker(final int failureThreshold, final Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    /**
+     * Create a circuit breaker reading the time from <code>nanoClock</code>.
+     *
+     * @param failureThreshold number of consecutive failures that open the circuit
+     * @param openDuration     time the circuit stays open before letting a probe request through
+     * @param nanoClock        monotonic clock, in nanoseconds
+     */
+    CircuitBreaker(final int failureThreshold, final Duration openDuration, final LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+    }
+
+    /**
+     * Ask the permission to perform a request. Every granted request needs to be followed by a call to
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onCancelled()}.
+     *
+     * @return true if the request can be performed, false if it needs to fail immediately
+     */
+    public synchronized boolean tryAcquire() {
+        if (this.state == State.OPEN) {
+            if (this.nanoClock.getAsLong() - this.openedAt < this.openNanos) {
+                return false;
+            }
+            this.state = State.HALF_OPEN;
+            this.probeInFlight = false;
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (this.probeInFlight) {
+                return false;
+            }
+            this.probeInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Record a request that reached the backend and got a response that is not a server error.
+     */
+    public synchronized void onSuccess() {
+        if (this.state != State.CLOSED) {
+            CircuitBreaker.LOGGER.info("backend is reachable again, closing the circuit");
+        }
+        this.state = State.CLOSED;
+        this.failures = 0;
+        this.probeInFlight = false;
+    }
+
+    /**
+     * Record a request that failed with an I/O error or a server error.
+     */
+    public synchronized void onFailure() {
+        this.probeInFlight = false;
+        this.failures++;
+        if (this.state == State.HALF_OPEN || this.state == State.CLOSED && this.failures >= this.failureThreshold) {
+            CircuitBreaker.LOGGER.error("backend is failing, opening the circuit after " + this.failures
+                    + " consecutive failures");
+            this.state = State.OPEN;
+            this.openedAt = this.nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Record a request that has been cancelled by the caller, which says nothing about the backend.
+     */
+    public synchronized void onCancelled() {
+        this.probeInFlight = false;
+    }
+
+    /**
+     * Get the current state of the circuit.
+     *
+     * @return the state of the circuit
+     */
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * State of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /**
+         * Requests are performed.
+         */
+        CLOSED,
+        /**
+         * Requests fail immediately.
+         */
+        OPEN,
+        /**
+         * A single probe request is performed to check if the backend is back.
+         */
+        HALF_OPEN
+    }
+}
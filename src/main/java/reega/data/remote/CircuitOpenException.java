@@ -0,0 +1,20 @@
+package reega.data.remote;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown without performing a request when the {@link CircuitBreaker} of the backend is open, that is when
+ * the last requests failed and the backend is considered down.
+ */
+public class CircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create the exception.
+     *
+     * @param message detail message
+     */
+    public CircuitOpenException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,171 @@
+package reega.data.remote;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Single-flight layer for the GET requests: while a request is in flight, identical requests (same URL, including the
+ * query parameters, and same authorization) wait for it instead of hitting the network, then each of them receives
+ * its own copy of the response. The response body is buffered in memory to be shared, which is what the Gson
+ * converter does anyway.
+ * <p>
+ * A waiting request still honours its own cancellation and timeout. If the request in flight is cancelled, its
+ * cancellation is not shared: one of the waiting requests is sent in its place. The login requests are never
+ * coalesced, since their credentials are in the query and their responses belong to a single login.
+ */
+final class CoalescingInterceptor implements Interceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingInterceptor.class);
+    private static final String AUTH_PATH = "/auth/";
+    private static final String LOGIN_SUFFIX = "Login";
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Requests in flight by key. A flight completed with null has been cancelled, its waiters send the request again.
+     */
+    private final Map<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (!CoalescingInterceptor.isCoalesced(request)) {
+            return chain.proceed(request);
+        }
+        final String key = request.url() + " " + request.header("Authorization");
+        final long deadline = System.nanoTime() + CoalescingInterceptor.getTimeoutNanos(chain);
+        while (true) {
+            final CompletableFuture<SharedResponse> flight = new CompletableFuture<>();
+            final CompletableFuture<SharedResponse> existing = this.inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return this.lead(chain, key, flight);
+            }
+            CoalescingInterceptor.LOGGER.debug("joining the request in flight to " + request.url());
+            final SharedResponse shared = CoalescingInterceptor.await(chain, existing, deadline);
+            if (shared != null) {
+                return shared.toResponse(request);
+            }
+            CoalescingInterceptor.LOGGER.debug("the request in flight to " + request.url() + " has been cancelled");
+        }
+    }
+
+    /**
+     * Send the request, sharing its outcome with the requests waiting on <code>flight</code>.
+     */
+    private Response lead(final Chain chain, final String key, final CompletableFuture<SharedResponse> flight)
+            throws IOException {
+        final Request request = chain.request();
+        try {
+            final SharedResponse shared;
+            try (Response response = chain.proceed(request)) {
+                shared = new SharedResponse(response);
+            }
+            this.inFlight.remove(key, flight);
+            flight.complete(shared);
+            return shared.toResponse(request);
+        } catch (final IOException | RuntimeException e) {
+            this.inFlight.remove(key, flight);
+            if (chain.call().isCanceled()) {
+                // only this caller gave up, the waiting ones send the request again
+                flight.complete(null);
+            } else {
+                flight.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            // no-op unless an Error escaped, the waiting requests would be left hanging otherwise
+            this.inFlight.remove(key, flight);
+            flight.complete(null);
+        }
+    }
+
+    /**
+     * Wait for the request in flight until it completes, the waiting call is cancelled or <code>deadline</code> is
+     * reached.
+     *
+     * @return the shared response, null if the request in flight has been cancelled
+     */
+    private static SharedResponse await(final Chain chain, final CompletableFuture<SharedResponse> flight,
+            final long deadline) throws IOException {
+        try {
+            while (true) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new InterruptedIOException("Timed out while waiting for the request in flight");
+                }
+                try {
+                    return flight.get(Math.min(remaining, CoalescingInterceptor.POLL_NANOS), TimeUnit.NANOSECONDS);
+                } catch (final TimeoutException e) {
+                    // check the cancellation and the deadline again
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the request in flight");
+        } catch (final ExecutionException e) {
+            throw new IOException("The request in flight failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Get how long a request can wait for the one in flight: its call timeout, or its read timeout if the call has no
+     * timeout. Without both it waits as long as needed.
+     */
+    private static long getTimeoutNanos(final Chain chain) {
+        final long callTimeout = chain.call().timeout().timeoutNanos();
+        if (callTimeout > 0) {
+            return callTimeout;
+        }
+        final long readTimeout = chain.readTimeoutMillis();
+        return readTimeout > 0 ? TimeUnit.MILLISECONDS.toNanos(readTimeout) : Long.MAX_VALUE / 2;
+    }
+
+    private static boolean isCoalesced(final Request request) {
+        final String path = request.url().encodedPath();
+        final boolean login = path.contains(CoalescingInterceptor.AUTH_PATH)
+                && path.endsWith(CoalescingInterceptor.LOGIN_SUFFIX);
+        return "GET".equals(request.method()) && !login;
+    }
+
+    /**
+     * Response of the network call, with its body buffered so it can be handed out to every waiting request.
+     */
+    private static final class SharedResponse {
+        private final Response response;
+        private final MediaType contentType;
+        private final byte[] body;
+
+        SharedResponse(final Response response) throws IOException {
+            final ResponseBody responseBody = response.body();
+            this.contentType = responseBody == null ? null : responseBody.contentType();
+            this.body = responseBody == null ? new byte[0] : responseBody.bytes();
+            this.response = response;
+        }
+
+        Response toResponse(final Request request) {
+            return this.response.newBuilder()
+                    .request(request)
+                    .body(ResponseBody.create(this.body, this.contentType))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package reega.data.remote;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics of the HTTP traffic of a transport, by {@link ReegaService} endpoint: number of calls, errors, requests in
+ * flight, latency histogram and bytes sent and received. They are recorded by an interceptor with a few atomic
+ * updates per call, and they can be read in-process with {@link #getEndpoints()}, through JMX once
+ * {@link #registerMBean(String)} has been called, or in the log with {@link #logSummary()}.
+ */
+public final class HttpMetrics implements HttpMetricsMXBean {
+    /**
+     * Upper bounds of the latency buckets, in milliseconds; the last bucket has no upper bound.
+     */
+    private static final long[] BUCKET_BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10_000, 30_000};
+    private static final double P50 = 0.5;
+    private static final double P95 = 0.95;
+    private static final double P99 = 0.99;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpMetrics.class);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ScheduledExecutorService logger;
+
+    /**
+     * Record the start of a call.
+     *
+     * @param endpoint     name of the endpoint
+     * @param requestBytes size of the request body, or -1 if it's unknown
+     */
+    void onStart(final String endpoint, final long requestBytes) {
+        this.inFlight.incrementAndGet();
+        final Endpoint metrics = this.endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        metrics.inFlight.incrementAndGet();
+        if (requestBytes > 0) {
+            metrics.requestBytes.addAndGet(requestBytes);
+        }
+    }
+
+    /**
+     * Record the end of a call.
+     *
+     * @param endpoint     name of the endpoint
+     * @param latencyNanos time elapsed from the start of the call to the response headers or the error
+     * @param failed       true if the call ended with an I/O error or an error status, false otherwise
+     */
+    void onEnd(final String endpoint, final long latencyNanos, final boolean failed) {
+        this.inFlight.decrementAndGet();
+        final Endpoint metrics = this.endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        metrics.inFlight.decrementAndGet();
+        metrics.record(TimeUnit.NANOSECONDS.toMillis(latencyNanos), failed);
+    }
+
+    /**
+     * Record bytes of a response body read by the caller.
+     *
+     * @param endpoint name of the endpoint
+     * @param bytes    number of bytes read
+     */
+    void onResponseBytes(final String endpoint, final long bytes) {
+        this.endpoints.computeIfAbsent(endpoint, Endpoint::new).responseBytes.addAndGet(bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EndpointSnapshot> getEndpoints() {
+        final List<EndpointSnapshot> snapshots = new ArrayList<>();
+        this.endpoints.values().forEach(endpoint -> snapshots.add(endpoint.snapshot()));
+        snapshots.sort(Comparator.comparingLong(EndpointSnapshot::getTotalMillis).reversed());
+        return snapshots;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        this.endpoints.values().removeIf(endpoint -> endpoint.inFlight.get() == 0);
+        this.endpoints.values().forEach(Endpoint::clear);
+    }
+
+    /**
+     * Register these metrics in the platform MBean server.
+     *
+     * @param name name of the MBean, for example <code>reega:type=HttpMetrics</code>
+     */
+    public void registerMBean(final String name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (final JMException e) {
+            HttpMetrics.LOGGER.error("could not register the http metrics as " + name, e);
+        }
+    }
+
+    /**
+     * Log a line for each endpoint with its metrics.
+     */
+    public void logSummary() {
+        for (final EndpointSnapshot endpoint : this.getEndpoints()) {
+            HttpMetrics.LOGGER.info(endpoint.toString());
+        }
+    }
+
+    /**
+     * Log the summary every <code>period</code>, on a daemon thread, until {@link #stopLogging()} is called.
+     *
+     * @param period time between two summaries
+     */
+    public synchronized void startLogging(final Duration period) {
+        this.stopLogging();
+        this.logger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "http-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.logger.scheduleAtFixedRate(this::logSummary, period.toMillis(), period.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the periodic summary started with {@link #startLogging(Duration)}.
+     */
+    public synchronized void stopLogging() {
+        if (this.logger != null) {
+            this.logger.shutdownNow();
+            this.logger = null;
+        }
+    }
+
+    /**
+     * Live metrics of an endpoint.
+     */
+    private static final class Endpoint {
+        private final String name;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(HttpMetrics.BUCKET_BOUNDS.length + 1);
+
+        Endpoint(final String name) {
+            this.name = name;
+        }
+
+        void record(final long millis, final boolean failed) {
+            this.calls.incrementAndGet();
+            if (failed) {
+                this.errors.incrementAndGet();
+            }
+            this.totalMillis.addAndGet(millis);
+            this.maxMillis.accumulateAndGet(millis, Math::max);
+            int bucket = 0;
+            while (bucket < HttpMetrics.BUCKET_BOUNDS.length && millis > HttpMetrics.BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            this.buckets.incrementAndGet(bucket);
+        }
+
+        void clear() {
+            this.calls.set(0);
+            this.errors.set(0);
+            this.totalMillis.set(0);
+            this.maxMillis.set(0);
+            this.requestBytes.set(0);
+            this.responseBytes.set(0);
+            for (int i = 0; i < this.buckets.length(); i++) {
+                this.buckets.set(i, 0);
+            }
+        }
+
+        EndpointSnapshot snapshot() {
+            final long[] counts = new long[this.buckets.length()];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = this.buckets.get(i);
+                total += counts[i];
+            }
+            final long max = this.maxMillis.get();
+            return new EndpointSnapshot(this.name, this.calls.get(), this.errors.get(), this.inFlight.get(),
+                    this.totalMillis.get(), max, Endpoint.percentile(counts, total, HttpMetrics.P50, max),
+                    Endpoint.percentile(counts, total, HttpMetrics.P95, max),
+                    Endpoint.percentile(counts, total, HttpMetrics.P99, max), this.requestBytes.get(),
+                    this.responseBytes.get());
+        }
+
+        /**
+         * Estimate a percentile as the upper bound of the bucket containing it, capped to the maximum latency.
+         */
+        private static long percentile(final long[] counts, final long total, final double quantile,
+                final long max) {
+            if (total == 0) {
+                return 0;
+            }
+            final long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < HttpMetrics.BUCKET_BOUNDS.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(HttpMetrics.BUCKET_BOUNDS[i], max);
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Metrics of an endpoint at a point in time.
+     */
+    public static final class EndpointSnapshot {
+        private final String endpoint;
+        private final long calls;
+        private final long errors;
+        private final int inFlight;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final long p50Millis;
+        private final long p95Millis;
+        private final long p99Millis;
+        private final long requestBytes;
+        private final long responseBytes;
+
+        EndpointSnapshot(final String endpoint, final long calls, final long errors, final int inFlight,
+                final long totalMillis, final long maxMillis, final long p50Millis, final long p95Millis,
+                final long p99Millis, final long requestBytes, final long responseBytes) {
+            this.endpoint = endpoint;
+            this.calls = calls;
+            this.errors = errors;
+            this.inFlight = inFlight;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        /**
+         * Get the name of the endpoint.
+         *
+         * @return the name of the {@link ReegaService} method, or the HTTP method and the path for the other calls
+         */
+        public String getEndpoint() {
+            return this.endpoint;
+        }
+
+        /**
+         * Get the number of completed calls.
+         *
+         * @return the number of calls
+         */
+        public long getCalls() {
+            return this.calls;
+        }
+
+        /**
+         * Get the number of calls that ended with an I/O error or an error status.
+         *
+         * @return the number of failed calls
+         */
+        public long getErrors() {
+            return this.errors;
+        }
+
+        /**
+         * Get the number of calls in flight.
+         *
+         * @return the number of calls in flight
+         */
+        public int getInFlight() {
+            return this.inFlight;
+        }
+
+        /**
+         * Get the sum of the latencies of the calls.
+         *
+         * @return the total latency in milliseconds
+         */
+        public long getTotalMillis() {
+            return this.totalMillis;
+        }
+
+        /**
+         * Get the mean latency of the calls.
+         *
+         * @return the mean latency in milliseconds, 0 if there are no calls
+         */
+        public long getMeanMillis() {
+            return this.calls == 0 ? 0 : this.totalMillis / this.calls;
+        }
+
+        /**
+         * Get the highest latency.
+         *
+         * @return the highest latency in milliseconds
+         */
+        public long getMaxMillis() {
+            return this.maxMillis;
+        }
+
+        /**
+         * Get the estimated median latency.
+         *
+         * @return the median latency in milliseconds, rounded up to the histogram bucket
+         */
+        public long getP50Millis() {
+            return this.p50Millis;
+        }
+
+        /**
+         * Get the estimated 95th percentile of the latency.
+         *
+         * @return the 95th percentile in milliseconds, rounded up to the histogram bucket
+         */
+        public long getP95Millis() {
+            return this.p95Millis;
+        }
+
+        /**
+         * Get the estimated 99th percentile of the latency.
+         *
+         * @return the 99th percentile in milliseconds, rounded up to the histogram bucket
+         */
+        public long getP99Millis() {
+            return this.p99Millis;
+        }
+
+        /**
+         * Get the bytes of the request bodies.
+         *
+         * @return the bytes sent
+         */
+        public long getRequestBytes() {
+            return this.requestBytes;
+        }
+
+        /**
+         * Get the bytes of the response bodies read so far.
+         *
+         * @return the bytes received
+         */
+        public long getResponseBytes() {
+            return this.responseBytes;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return this.endpoint + ": " + this.calls + " calls, " + this.errors + " errors, " + this.inFlight
+                    + " in flight, latency mean " + this.getMeanMillis() + " ms p50 " + this.p50Millis + " ms p95 "
+                    + this.p95Millis + " ms p99 " + this.p99Millis + " ms max " + this.maxMillis + " ms, sent "
+                    + this.requestBytes + " B, received " + this.responseBytes + " B";
+        }
+    }
+}
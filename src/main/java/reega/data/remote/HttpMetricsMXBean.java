@@ -0,0 +1,27 @@
+package reega.data.remote;
+
+import java.util.List;
+
+/**
+ * JMX view of the {@link HttpMetrics} of a transport.
+ */
+public interface HttpMetricsMXBean {
+    /**
+     * Get the metrics of every endpoint called so far.
+     *
+     * @return a snapshot of the metrics of each endpoint, sorted by total latency
+     */
+    List<HttpMetrics.EndpointSnapshot> getEndpoints();
+
+    /**
+     * Get the number of requests currently in flight, over all the endpoints.
+     *
+     * @return the number of requests in flight
+     */
+    int getInFlight();
+
+    /**
+     * Forget every recorded metric.
+     */
+    void reset();
+}
@@ -0,0 +1,426 @@
+package reega.data.remote;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Long-lived HTTP transport shared by every {@link RemoteConnection}. It owns a single {@link OkHttpClient}, so the
+ * connection pool, the TLS sessions and the dispatcher survive logins, logouts and token changes. The bearer token is
+ * swapped in place and read by an interceptor on every request. Identical GET requests issued while one of them is
+ * in flight are coalesced into a single network call. Optionally the responses of the read endpoints are kept in a
+ * size-bounded disk cache and revalidated with their ETag or Last-Modified, see {@link Builder#cache(File, long)}.
+ * Failed idempotent requests are retried with a jittered exponential backoff, and a {@link CircuitBreaker} makes the
+ * requests fail fast while the backend is down.
+ */
+public final class HttpTransport {
+    /**
+     * Header carrying a client-generated key that makes a POST request safe to retry.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+    private static final int DEFAULT_MAX_REQUESTS = 64;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 8;
+    private static final boolean DEFAULT_COALESCE_REQUESTS = true;
+    private static final Duration DEFAULT_MAX_STALE = Duration.ZERO;
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    private static final Set<String> DEFAULT_SAFE_POSTS = Set.of("data/getLatestTimestamps", "data/history");
+    /**
+     * Read endpoints whose responses can be cached, relative to the base URL.
+     */
+    private static final List<String> CACHEABLE_ENDPOINTS = List.of("data/contract", "data/contracts", "data/month");
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpTransport.class);
+    private static HttpTransport defaultInstance;
+
+    private final OkHttpClient client;
+    @Nullable
+    private final Cache cache;
+    private final CircuitBreaker circuitBreaker;
+    private final HttpMetrics metrics = new HttpMetrics();
+    private volatile String jwt;
+
+    private HttpTransport(final Builder builder) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(builder.maxRequests);
+        dispatcher.setMaxRequestsPerHost(builder.maxRequestsPerHost);
+        final OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(builder.maxIdleConnections, builder.keepAlive.toMillis(),
+                        TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                // first, so that the metrics measure what the caller waits for
+                .addInterceptor(new MetricsInterceptor(this.metrics))
+                .addInterceptor(new AuthInterceptor());
+        if (builder.coalesceRequests) {
+            // after the authorization, so that requests of different users are never shared
+            clientBuilder.addInterceptor(new CoalescingInterceptor());
+        }
+        if (builder.cacheDirectory != null) {
+            this.cache = new Cache(builder.cacheDirectory, builder.cacheSize);
+            clientBuilder.cache(this.cache)
+                    .addInterceptor(new MaxStaleInterceptor(builder.maxStale))
+                    .addNetworkInterceptor(new RevalidationInterceptor());
+        } else {
+            this.cache = null;
+        }
+        // after the coalescing, so the requests waiting for one in flight share its retries
+        this.circuitBreaker = new CircuitBreaker(builder.failureThreshold, builder.openDuration);
+        clientBuilder.addInterceptor(
+                new ResilienceInterceptor(builder.retryPolicy, builder.endpointRetryPolicies, builder.safePosts,
+                        this.circuitBreaker));
+        this.client = clientBuilder.build();
+    }
+
+    /**
+     * Get the transport shared by the whole application, creating it with the default settings if needed.
+     *
+     * @return the default {@link HttpTransport}
+     */
+    public static synchronized HttpTransport getDefault() {
+        if (HttpTransport.defaultInstance == null) {
+            HttpTransport.defaultInstance = HttpTransport.builder().build();
+        }
+        return HttpTransport.defaultInstance;
+    }
+
+    /**
+     * Replace the transport shared by the whole application. It only affects the {@link RemoteConnection} created
+     * afterwards, so it should be called before building any connection.
+     *
+     * @param transport new default transport
+     */
+    public static synchronized void setDefault(final HttpTransport transport) {
+        HttpTransport.defaultInstance = Objects.requireNonNull(transport);
+    }
+
+    /**
+     * Create a new {@link Builder} initialized with the default settings.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the underlying HTTP client.
+     *
+     * @return the {@link OkHttpClient} used by this transport
+     */
+    public OkHttpClient getClient() {
+        return this.client;
+    }
+
+    /**
+     * Set the JWT token sent as bearer authorization with every request.
+     *
+     * @param jwt JWT token, or null to send unauthenticated requests
+     */
+    public void setToken(@Nullable final String jwt) {
+        this.jwt = jwt;
+    }
+
+    /**
+     * Get the JWT token currently in use.
+     *
+     * @return the JWT token, or null if the requests are not authenticated
+     */
+    @Nullable
+    public String getToken() {
+        return this.jwt;
+    }
+
+    /**
+     * Get the circuit breaker of the backend.
+     *
+     * @return the {@link CircuitBreaker} used by this transport
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+
+    /**
+     * Get the metrics of the calls made through this transport.
+     *
+     * @return the {@link HttpMetrics} of this transport
+     */
+    public HttpMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Remove every response from the disk cache, if there is one.
+     */
+    public void evictCache() {
+        if (this.cache == null) {
+            return;
+        }
+        try {
+            this.cache.evictAll();
+        } catch (final IOException e) {
+            HttpTransport.LOGGER.error("could not clear the http cache", e);
+        }
+    }
+
+    /**
+     * Check if the response of <code>request</code> can be cached.
+     */
+    private static boolean isCacheable(final Request request) {
+        if (!"GET".equals(request.method())) {
+            return false;
+        }
+        final String path = request.url().encodedPath();
+        return HttpTransport.CACHEABLE_ENDPOINTS.stream().anyMatch(endpoint -> path.endsWith("/" + endpoint));
+    }
+
+    /**
+     * Add the bearer token currently set, if any, to the outgoing requests.
+     */
+    private final class AuthInterceptor implements Interceptor {
+        @Override
+        public Response intercept(final Chain chain) throws IOException {
+            final String token = HttpTransport.this.jwt;
+            if (token == null) {
+                return chain.proceed(chain.request());
+            }
+            final Request request = chain.request().newBuilder().header("Authorization", "Bearer " + token).build();
+            return chain.proceed(request);
+        }
+    }
+
+    /**
+     * Let the cache answer the requests to the read endpoints without the network, as long as the cached response is
+     * not older than the configured max-stale.
+     */
+    private static final class MaxStaleInterceptor implements Interceptor {
+        private final CacheControl cacheControl;
+
+        MaxStaleInterceptor(final Duration maxStale) {
+            this.cacheControl = new CacheControl.Builder().maxStale((int) maxStale.getSeconds(), TimeUnit.SECONDS)
+                    .build();
+        }
+
+        @Override
+        public Response intercept(final Chain chain) throws IOException {
+            final Request request = chain.request();
+            if (!HttpTransport.isCacheable(request) || request.header("Cache-Control") != null) {
+                return chain.proceed(request);
+            }
+            return chain.proceed(request.newBuilder().cacheControl(this.cacheControl).build());
+        }
+    }
+
+    /**
+     * Make the responses of the read endpoints cacheable when the backend doesn't say otherwise: they are private,
+     * immediately stale and keyed by the authorization, so they are revalidated with the ETag or the Last-Modified
+     * sent by the backend, and the responses of a user are never returned to another one.
+     */
+    private static final class RevalidationInterceptor implements Interceptor {
+        @Override
+        public Response intercept(final Chain chain) throws IOException {
+            final Response response = chain.proceed(chain.request());
+            if (!HttpTransport.isCacheable(chain.request())) {
+                return response;
+            }
+            final Response.Builder builder = response.newBuilder();
+            if (response.header("Cache-Control") == null) {
+                builder.header("Cache-Control", "private, max-age=0");
+            }
+            final String vary = response.header("Vary");
+            if (vary == null) {
+                builder.header("Vary", "Authorization");
+            } else if (!vary.toLowerCase(Locale.ROOT).contains("authorization")) {
+                builder.header("Vary", vary + ", Authorization");
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Builder used to tune an {@link HttpTransport}.
+     */
+    public static final class Builder {
+        private int maxIdleConnections = HttpTransport.DEFAULT_MAX_IDLE_CONNECTIONS;
+        private Duration keepAlive = HttpTransport.DEFAULT_KEEP_ALIVE;
+        private int maxRequests = HttpTransport.DEFAULT_MAX_REQUESTS;
+        private int maxRequestsPerHost = HttpTransport.DEFAULT_MAX_REQUESTS_PER_HOST;
+        private boolean coalesceRequests = HttpTransport.DEFAULT_COALESCE_REQUESTS;
+        private File cacheDirectory;
+        private long cacheSize;
+        private Duration maxStale = HttpTransport.DEFAULT_MAX_STALE;
+        private RetryPolicy retryPolicy = RetryPolicy.getDefault();
+        private final Map<String, RetryPolicy> endpointRetryPolicies = new HashMap<>();
+        private final Set<String> safePosts = new HashSet<>(HttpTransport.DEFAULT_SAFE_POSTS);
+        private int failureThreshold = HttpTransport.DEFAULT_FAILURE_THRESHOLD;
+        private Duration openDuration = HttpTransport.DEFAULT_OPEN_DURATION;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum number of idle connections kept in the pool.
+         *
+         * @param maxIdleConnections maximum number of idle connections
+         * @return this builder
+         */
+        public Builder maxIdleConnections(final int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * Set how long an idle connection is kept alive in the pool.
+         *
+         * @param keepAlive keep-alive duration
+         * @return this builder
+         */
+        public Builder keepAlive(final Duration keepAlive) {
+            this.keepAlive = Objects.requireNonNull(keepAlive);
+            return this;
+        }
+
+        /**
+         * Set the maximum number of asynchronous requests executed concurrently.
+         *
+         * @param maxRequests maximum number of concurrent requests
+         * @return this builder
+         */
+        public Builder maxRequests(final int maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of asynchronous requests executed concurrently against the same host.
+         *
+         * @param maxRequestsPerHost maximum number of concurrent requests for each host
+         * @return this builder
+         */
+        public Builder maxRequestsPerHost(final int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Set whether identical GET requests issued while one of them is in flight share its response instead of
+         * performing their own network call.
+         *
+         * @param coalesceRequests true to coalesce the identical GET requests, false otherwise
+         * @return this builder
+         */
+        public Builder coalesceRequests(final boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        /**
+         * Cache the responses of the read endpoints in <code>directory</code>. The cached responses are revalidated
+         * with the backend before being used, unless they are within the max-stale set with
+         * {@link #maxStale(Duration)}.
+         *
+         * @param directory directory of the cache, it should be used by a single transport
+         * @param maxSize   maximum size of the cache, in bytes
+         * @return this builder
+         */
+        public Builder cache(final File directory, final long maxSize) {
+            this.cacheDirectory = Objects.requireNonNull(directory);
+            this.cacheSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Set how long a cached response can be used without asking the backend. The default is zero, that is every
+         * cached response is revalidated.
+         *
+         * @param maxStale maximum staleness of the cached responses used without revalidation
+         * @return this builder
+         */
+        public Builder maxStale(final Duration maxStale) {
+            this.maxStale = Objects.requireNonNull(maxStale);
+            return this;
+        }
+
+        /**
+         * Set the retry policy of the endpoints without a specific policy. It only applies to the idempotent
+         * requests, to the POST requests having an {@value HttpTransport#IDEMPOTENCY_KEY_HEADER} header and to the
+         * POST requests of the endpoints marked with {@link #safePost(String)}.
+         *
+         * @param retryPolicy default retry policy
+         * @return this builder
+         */
+        public Builder retryPolicy(final RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Set the retry policy of <code>endpoint</code>.
+         *
+         * @param endpoint    endpoint, relative to the base URL (for example <code>data/month</code>)
+         * @param retryPolicy retry policy of the endpoint
+         * @return this builder
+         */
+        public Builder retryPolicy(final String endpoint, final RetryPolicy retryPolicy) {
+            this.endpointRetryPolicies.put(Objects.requireNonNull(endpoint), Objects.requireNonNull(retryPolicy));
+            return this;
+        }
+
+        /**
+         * Mark the POST requests of <code>endpoint</code> as safe to retry without an
+         * {@value HttpTransport#IDEMPOTENCY_KEY_HEADER} header, because they only read data. The
+         * <code>data/getLatestTimestamps</code> and <code>data/history</code> endpoints are marked by default.
+         *
+         * @param endpoint endpoint, relative to the base URL
+         * @return this builder
+         */
+        public Builder safePost(final String endpoint) {
+            this.safePosts.add(Objects.requireNonNull(endpoint));
+            return this;
+        }
+
+        /**
+         * Set when the circuit breaker opens and how long it stays open.
+         *
+         * @param failureThreshold number of consecutive failures that open the circuit
+         * @param openDuration     time the circuit stays open before letting a probe request through
+         * @return this builder
+         */
+        public Builder circuitBreaker(final int failureThreshold, final Duration openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openDuration = Objects.requireNonNull(openDuration);
+            return this;
+        }
+
+        /**
+         * Build the {@link HttpTransport}.
+         *
+         * @return a new {@link HttpTransport}
+         */
+        public HttpTransport build() {
+            return new HttpTransport(this);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package reega.data.remote;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Invocation;
+
+/**
+ * Record the {@link HttpMetrics} of every call. It is the first interceptor, so the latency is the one seen by the
+ * caller, retries and waits for coalesced requests included; the response bytes are counted while the caller reads
+ * the body.
+ */
+final class MetricsInterceptor implements Interceptor {
+    private final HttpMetrics metrics;
+
+    MetricsInterceptor(final HttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String endpoint = MetricsInterceptor.getEndpoint(request);
+        final RequestBody requestBody = request.body();
+        this.metrics.onStart(endpoint, requestBody == null ? 0 : requestBody.contentLength());
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (final IOException | RuntimeException e) {
+            this.metrics.onEnd(endpoint, System.nanoTime() - start, true);
+            throw e;
+        }
+        this.metrics.onEnd(endpoint, System.nanoTime() - start, !response.isSuccessful());
+        final ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder().body(new CountingBody(body, endpoint)).build();
+    }
+
+    /**
+     * Name the endpoint after the {@link ReegaService} method that created the request, if there is one.
+     */
+    private static String getEndpoint(final Request request) {
+        final Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    /**
+     * Response body counting the bytes read by the caller.
+     */
+    private final class CountingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        CountingBody(final ResponseBody delegate, final String endpoint) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(final Buffer sink, final long byteCount) throws IOException {
+                    final long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        MetricsInterceptor.this.metrics.onResponseBytes(endpoint, read);
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return this.delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return this.delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return this.source;
+        }
+    }
+}
@@ -79,12 +79,29 @@ public interface ReegaService {
     @POST("data/fillUserData")
     Call<Void> pushData(@Body DataModel data);
 
+    /**
+     * Push several data series with a single request.
+     *
+     * @param idempotencyKey key that lets the backend discard a batch sent again by a retry
+     * @param data           series to store
+     * @return an empty response
+     */
+    @POST("data/fillUserDataBatch")
+    Call<Void> pushDataBatch(@Header(HttpTransport.IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+            @Body List<DataModel> data);
+
     @GET("data/month")
     Call<List<DataModel>> getMonthlyData(@QueryMap Map<String, String> options);
 
     @GET("data/getLatestTimestamp")
     Call<Date> getLatestData(@Query("type") int type, @Query("contract_id") int contractId);
 
+    /**
+     * @return the latest timestamp of every data type of the specified contracts
+     */
+    @POST("data/getLatestTimestamps")
+    Call<List<LatestTimestampModel>> getLatestTimestamps(@Body List<Integer> contractIds);
+
     @POST("data/history")
     Call<List<MonthlyReportModel>> getBillReport(@Body List<Integer> contractId);
 
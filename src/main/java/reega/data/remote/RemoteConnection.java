@@ -1,6 +1,5 @@
 package reega.data.remote;
 
-import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reega.data.models.gson.LoginResponse;
@@ -8,8 +7,11 @@ import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
-import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
 
 /**
  * Handle the connection to the server and the http methods authentication.
@@ -17,21 +19,36 @@ import java.io.IOException;
 public class RemoteConnection {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteConnection.class);
     private static final int INITIAL_ERROR_CODE = 299;
-    private static Retrofit retrofit;
-    private static ReegaService service;
+    /**
+     * Services already built, by transport and base URL, so that connections to the same backend share them.
+     */
+    private static final Map<HttpTransport, Map<String, ReegaService>> SERVICES = new WeakHashMap<>();
     private final String baseUrl;
-    private String jwt;
+    private final HttpTransport transport;
+    private final ReegaService service;
 
     /**
      * Get connection instance.
      *
      * @param baseUrl          base URL as prefix fot http paths
+     * @param forceNewInstance if set to true, force the creation of a new service instead of reusing the one of the
+     *                         connections with the same transport and base URL
+     * @param transport        {@link HttpTransport} used to perform the requests
+     */
+    public RemoteConnection(final String baseUrl, final boolean forceNewInstance, final HttpTransport transport) {
+        this.baseUrl = baseUrl;
+        this.transport = Objects.requireNonNull(transport);
+        this.service = this.buildService(forceNewInstance);
+    }
+
+    /**
+     * Get connection instance using the default {@link HttpTransport}.
+     *
+     * @param baseUrl          base URL as prefix fot http paths
      * @param forceNewInstance if set to true, force the creation of a new instance
      */
     public RemoteConnection(final String baseUrl, final boolean forceNewInstance) {
-        this.baseUrl = baseUrl;
-        this.buildRetrofit(forceNewInstance, null);
-        RemoteConnection.service = RemoteConnection.retrofit.create(ReegaService.class);
+        this(baseUrl, forceNewInstance, HttpTransport.getDefault());
     }
 
     /**
@@ -56,8 +73,7 @@ public class RemoteConnection {
      * @param jwt JWT Token
      */
     public void overrideToken(final String jwt) {
-        this.jwt = jwt;
-        this.setClientAuth();
+        this.transport.setToken(jwt);
     }
 
     /**
@@ -75,51 +91,54 @@ public class RemoteConnection {
             RemoteConnection.LOGGER.info("error: " + loginResponse.errorBody());
             return null;
         }
-        this.jwt = loginResponse.body().jwt;
-        this.setClientAuth();
+        this.transport.setToken(loginResponse.body().jwt);
 
         return loginResponse.body();
     }
 
     /**
      * Logout from the REEGA Platform.
-     * This will drop the jwt authenticator middleware and recreate the HTTP client.
+     * This will drop the jwt token and the cached responses of the user, the HTTP client and its pooled connections
+     * are kept.
      */
     public void logout() {
-        this.jwt = null;
-        this.buildRetrofit(true, null);
-        RemoteConnection.service = RemoteConnection.retrofit.create(ReegaService.class);
+        this.transport.setToken(null);
+        this.transport.evictCache();
     }
 
-    private void buildRetrofit(final boolean forceNewInstance, @Nullable final OkHttpClient client) {
-        if (forceNewInstance || RemoteConnection.retrofit == null) {
-            final var builder = new Retrofit.Builder();
-            if (client != null) {
-                builder.client(client);
+    private ReegaService buildService(final boolean forceNewInstance) {
+        synchronized (RemoteConnection.SERVICES) {
+            final Map<String, ReegaService> services = RemoteConnection.SERVICES.computeIfAbsent(this.transport,
+                    t -> new HashMap<>());
+            if (!forceNewInstance && services.containsKey(this.baseUrl)) {
+                return services.get(this.baseUrl);
             }
-            RemoteConnection.retrofit = builder.baseUrl(this.baseUrl)
+            final ReegaService newService = new Retrofit.Builder().client(this.transport.getClient())
+                    .baseUrl(this.baseUrl)
                     .addConverterFactory(GsonConverterFactory.create())
-                    .build();
+                    .build()
+                    .create(ReegaService.class);
+            services.put(this.baseUrl, newService);
+            return newService;
         }
     }
 
-    private void setClientAuth() {
-        final OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(chain -> chain
-                        .proceed(chain.request().newBuilder().addHeader("Authorization", "Bearer " + this.jwt).build()))
-                .build();
-
-        this.buildRetrofit(true, client);
-        RemoteConnection.service = RemoteConnection.retrofit.create(ReegaService.class);
-    }
-
     /**
      * Get the associated {@link ReegaService}.
      *
      * @return the associated {@link ReegaService}
      */
     public ReegaService getService() {
-        return RemoteConnection.service;
+        return this.service;
+    }
+
+    /**
+     * Get the {@link HttpTransport} used by this connection.
+     *
+     * @return the {@link HttpTransport} used by this connection
+     */
+    public HttpTransport getTransport() {
+        return this.transport;
     }
 
     /**
@@ -3,6 +3,7 @@ package reega.data.remote;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reega.data.AsyncContractController;
 import reega.data.ContractController;
 import reega.data.models.BaseContract;
 import reega.data.models.Contract;
@@ -11,6 +12,7 @@ import reega.data.models.MonthlyReport;
 import reega.data.models.gson.ContractModel;
 import reega.data.models.gson.MonthlyReportModel;
 import reega.data.models.gson.NewContract;
+import retrofit2.Call;
 import retrofit2.Response;
 
 import javax.annotation.Nonnull;
@@ -18,12 +20,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
- * {@link ContractController} implementation, using remote database via http requests.
+ * {@link ContractController} and {@link AsyncContractController} implementation, using remote database via http
+ * requests.
  */
-public class RemoteContractAPI implements ContractController {
+public class RemoteContractAPI implements ContractController, AsyncContractController {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteContractAPI.class);
     private static final int INITIAL_ERROR_CODE = 299;
     private static RemoteConnection connection;
@@ -37,10 +41,25 @@ public class RemoteContractAPI implements ContractController {
      */
     @Override
     public List<MonthlyReport> getBillsForContracts(@NotNull final List<Integer> contractIDs) throws IOException {
+        return this.parseBillReportResponse(this.getBillsForContractsCall(contractIDs).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<MonthlyReport>> getBillsForContractsAsync(
+            @NotNull final List<Integer> contractIDs) {
+        return AsyncCalls.enqueue(this.getBillsForContractsCall(contractIDs))
+                .thenApply(this::parseBillReportResponse);
+    }
+
+    private Call<List<MonthlyReportModel>> getBillsForContractsCall(final List<Integer> contractIDs) {
         RemoteContractAPI.LOGGER.info("getting bill report for contract " + contractIDs);
-        final Response<List<MonthlyReportModel>> r = RemoteContractAPI.connection.getService()
-                .getBillReport(contractIDs)
-                .execute();
+        return RemoteContractAPI.connection.getService().getBillReport(contractIDs);
+    }
+
+    private List<MonthlyReport> parseBillReportResponse(final Response<List<MonthlyReportModel>> r) {
         RemoteContractAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteContractAPI.INITIAL_ERROR_CODE || r.body() == null) {
             RemoteContractAPI.LOGGER.info("error: " + r.errorBody());
@@ -67,9 +86,20 @@ public class RemoteContractAPI implements ContractController {
     @Override
     @Nonnull
     public List<Contract> getUserContracts() throws IOException {
+        return this.parseContractResponse(this.getUserContractsCall().execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Contract>> getUserContractsAsync() {
+        return AsyncCalls.enqueue(this.getUserContractsCall()).thenApply(this::parseContractResponse);
+    }
+
+    private Call<List<ContractModel>> getUserContractsCall() {
         RemoteContractAPI.LOGGER.info("getting contracts for the user");
-        final Response<List<ContractModel>> r = RemoteContractAPI.connection.getService().getContracts().execute();
-        return this.parseContractResponse(r);
+        return RemoteContractAPI.connection.getService().getContracts();
     }
 
     /**
@@ -78,11 +108,20 @@ public class RemoteContractAPI implements ContractController {
     @Override
     @Nonnull
     public List<Contract> getContractsForUser(final String fiscalCode) throws IOException {
+        return this.parseContractResponse(this.getContractsForUserCall(fiscalCode).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Contract>> getContractsForUserAsync(final String fiscalCode) {
+        return AsyncCalls.enqueue(this.getContractsForUserCall(fiscalCode)).thenApply(this::parseContractResponse);
+    }
+
+    private Call<List<ContractModel>> getContractsForUserCall(final String fiscalCode) {
         RemoteContractAPI.LOGGER.info("getting contracts for user with fiscal code " + fiscalCode);
-        final Response<List<ContractModel>> r = RemoteContractAPI.connection.getService()
-                .getContractsForUser(fiscalCode)
-                .execute();
-        return this.parseContractResponse(r);
+        return RemoteContractAPI.connection.getService().getContractsForUser(fiscalCode);
     }
 
     /**
@@ -91,9 +130,20 @@ public class RemoteContractAPI implements ContractController {
     @Override
     @Nonnull
     public List<Contract> getAllContracts() throws IOException {
+        return this.parseContractResponse(this.getAllContractsCall().execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Contract>> getAllContractsAsync() {
+        return AsyncCalls.enqueue(this.getAllContractsCall()).thenApply(this::parseContractResponse);
+    }
+
+    private Call<List<ContractModel>> getAllContractsCall() {
         RemoteContractAPI.LOGGER.info("getting all the contracts");
-        final Response<List<ContractModel>> r = RemoteContractAPI.connection.getService().getAllContracts().execute();
-        return this.parseContractResponse(r);
+        return RemoteContractAPI.connection.getService().getAllContracts();
     }
 
     /**
@@ -102,11 +152,20 @@ public class RemoteContractAPI implements ContractController {
     @Override
     @Nonnull
     public List<Contract> searchContract(final String keyword) throws IOException {
+        return this.parseContractResponse(this.searchContractCall(keyword).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Contract>> searchContractAsync(final String keyword) {
+        return AsyncCalls.enqueue(this.searchContractCall(keyword)).thenApply(this::parseContractResponse);
+    }
+
+    private Call<List<ContractModel>> searchContractCall(final String keyword) {
         RemoteContractAPI.LOGGER.info("searching for contracts with keyword " + keyword);
-        final Response<List<ContractModel>> r = RemoteContractAPI.connection.getService()
-                .searchContract(keyword)
-                .execute();
-        return this.parseContractResponse(r);
+        return RemoteContractAPI.connection.getService().searchContract(keyword);
     }
 
     /**
@@ -129,8 +188,23 @@ public class RemoteContractAPI implements ContractController {
      */
     @Override
     public Contract addContract(final NewContract contract) throws IOException {
+        return this.parseAddContractResponse(this.addContractCall(contract).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Contract> addContractAsync(final NewContract contract) {
+        return AsyncCalls.enqueue(this.addContractCall(contract)).thenApply(this::parseAddContractResponse);
+    }
+
+    private Call<ContractModel> addContractCall(final NewContract contract) {
         RemoteContractAPI.LOGGER.info("adding contract: " + contract.toString());
-        final Response<ContractModel> r = RemoteContractAPI.connection.getService().addContract(contract).execute();
+        return RemoteContractAPI.connection.getService().addContract(contract);
+    }
+
+    private Contract parseAddContractResponse(final Response<ContractModel> r) {
         RemoteContractAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteContractAPI.INITIAL_ERROR_CODE || r.body() == null) {
             RemoteContractAPI.LOGGER.info("error: " + r.errorBody());
@@ -144,8 +218,23 @@ public class RemoteContractAPI implements ContractController {
      */
     @Override
     public void removeContract(final int id) throws IOException {
+        this.parseRemoveContractResponse(this.removeContractCall(id).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> removeContractAsync(final int id) {
+        return AsyncCalls.enqueue(this.removeContractCall(id)).thenAccept(this::parseRemoveContractResponse);
+    }
+
+    private Call<Void> removeContractCall(final int id) {
         RemoteContractAPI.LOGGER.info("removing contract with ID " + id);
-        final Response<Void> r = RemoteContractAPI.connection.getService().removeContract(id).execute();
+        return RemoteContractAPI.connection.getService().removeContract(id);
+    }
+
+    private void parseRemoveContractResponse(final Response<Void> r) {
         RemoteContractAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteContractAPI.INITIAL_ERROR_CODE) {
             RemoteContractAPI.LOGGER.info("error: " + r.errorBody());
@@ -1,12 +1,19 @@
 package reega.data.remote;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -14,18 +21,26 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reega.data.AsyncDataController;
 import reega.data.DataController;
 import reega.data.models.Data;
 import reega.data.models.DataType;
+import reega.data.models.TimeSeries;
 import reega.data.models.gson.DataModel;
+import reega.data.models.gson.LatestTimestampModel;
+import retrofit2.Call;
 import retrofit2.Response;
 
 /**
- * {@link DataController} implementation, using remote database via http requests.
+ * {@link DataController} and {@link AsyncDataController} implementation, using remote database via http requests.
  */
-public class RemoteDataAPI implements DataController {
+public class RemoteDataAPI implements DataController, AsyncDataController {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteContractAPI.class);
     private static final int INITIAL_ERROR_CODE = 299;
+    /**
+     * Maximum number of records sent with a single batch request.
+     */
+    private static final int MAX_BATCH_RECORDS = 50_000;
     private static RemoteConnection connection;
 
     public RemoteDataAPI(final RemoteConnection c) {
@@ -37,25 +52,141 @@ public class RemoteDataAPI implements DataController {
      */
     @Override
     public void putUserData(final Data data) throws IOException {
+        this.parsePutResponse(this.putUserDataCall(data).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> putUserDataAsync(final Data data) {
+        return AsyncCalls.enqueue(this.putUserDataCall(data)).thenAccept(this::parsePutResponse);
+    }
+
+    private Call<Void> putUserDataCall(final Data data) {
         RemoteDataAPI.LOGGER.info("inserting data for contract ID: " + data.getContractID());
-        final Response<Void> r = RemoteDataAPI.connection.getService().pushData(data.getJsonModel()).execute();
+        return RemoteDataAPI.connection.getService().pushData(data.getJsonModel());
+    }
+
+    private void parsePutResponse(final Response<Void> r) {
         RemoteDataAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteDataAPI.INITIAL_ERROR_CODE) {
             RemoteDataAPI.LOGGER.info("error: " + r.errorBody());
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> putUserDataBatch(final List<Data> data) {
+        final Set<Data> failed = new LinkedHashSet<>();
+        for (final BatchChunk chunk : RemoteDataAPI.splitInChunks(data)) {
+            try {
+                if (!this.parseBatchResponse(chunk, this.putUserDataBatchCall(chunk).execute())) {
+                    failed.addAll(chunk.origins);
+                }
+            } catch (final IOException e) {
+                RemoteDataAPI.LOGGER.error("could not send a batch of " + chunk.records + " records", e);
+                failed.addAll(chunk.origins);
+            }
+        }
+        return new ArrayList<>(failed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Data>> putUserDataBatchAsync(final List<Data> data) {
+        final Set<Data> failed = new LinkedHashSet<>();
+        final CompletableFuture<?>[] chunks = RemoteDataAPI.splitInChunks(data)
+                .stream()
+                .map(chunk -> AsyncCalls.enqueue(this.putUserDataBatchCall(chunk))
+                        .handle((r, t) -> t == null && this.parseBatchResponse(chunk, r))
+                        .thenAccept(stored -> {
+                            if (!stored) {
+                                synchronized (failed) {
+                                    failed.addAll(chunk.origins);
+                                }
+                            }
+                        }))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(chunks).thenApply(v -> {
+            synchronized (failed) {
+                return new ArrayList<>(failed);
+            }
+        });
+    }
+
+    private Call<Void> putUserDataBatchCall(final BatchChunk chunk) {
+        RemoteDataAPI.LOGGER.info("inserting a batch of " + chunk.models.size() + " series (" + chunk.records
+                + " records)");
+        return RemoteDataAPI.connection.getService().pushDataBatch(chunk.getIdempotencyKey(), chunk.models);
+    }
+
+    private boolean parseBatchResponse(final BatchChunk chunk, final Response<Void> r) {
+        RemoteDataAPI.LOGGER.info("response: " + r.code());
+        if (r.code() > RemoteDataAPI.INITIAL_ERROR_CODE) {
+            RemoteDataAPI.LOGGER.info("error: " + r.errorBody() + " for contracts "
+                    + chunk.origins.stream().map(Data::getContractID).distinct().collect(Collectors.toList()));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Split <code>data</code> in chunks of at most {@link #MAX_BATCH_RECORDS} records. Series bigger than the free
+     * space of the current chunk are split between consecutive chunks, empty series are skipped.
+     *
+     * @param data series to split
+     * @return the chunks to send
+     */
+    private static List<BatchChunk> splitInChunks(final List<Data> data) {
+        final List<BatchChunk> chunks = new ArrayList<>();
+        BatchChunk current = new BatchChunk();
+        for (final Data series : data) {
+            final TimeSeries records = series.getSeries();
+            int from = 0;
+            while (from < records.size()) {
+                final int to = Math.min(records.size(), from + RemoteDataAPI.MAX_BATCH_RECORDS - current.records);
+                current.add(series, records.subSeries(from, to));
+                from = to;
+                if (current.records == RemoteDataAPI.MAX_BATCH_RECORDS) {
+                    chunks.add(current);
+                    current = new BatchChunk();
+                }
+            }
+        }
+        if (current.records > 0) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Long getLatestData(final int contractID, final DataType service) throws IOException {
+        return this.parseLatestDataResponse(this.getLatestDataCall(contractID, service).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> getLatestDataAsync(final int contractID, final DataType service) {
+        return AsyncCalls.enqueue(this.getLatestDataCall(contractID, service)).thenApply(this::parseLatestDataResponse);
+    }
+
+    private Call<Date> getLatestDataCall(final int contractID, final DataType service) {
         RemoteDataAPI.LOGGER.info("getting latest timestamp for contract ID " + contractID + " and service "
                 + service.getServiceType().getName());
-        final Response<Date> r = RemoteDataAPI.connection.getService()
-                .getLatestData(service.getID(), contractID)
-                .execute();
+        return RemoteDataAPI.connection.getService().getLatestData(service.getID(), contractID);
+    }
 
+    private Long parseLatestDataResponse(final Response<Date> r) {
         RemoteDataAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteDataAPI.INITIAL_ERROR_CODE || r.body() == null) {
             RemoteDataAPI.LOGGER.info("error: " + r.errorBody());
@@ -65,11 +196,71 @@ public class RemoteDataAPI implements DataController {
         return d.getTime();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Map<DataType, Long>> getLatestTimestamps(final Collection<Integer> contractIDs)
+            throws IOException {
+        if (contractIDs.isEmpty()) {
+            return new HashMap<>();
+        }
+        return this.parseLatestTimestampsResponse(this.getLatestTimestampsCall(contractIDs).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Map<Integer, Map<DataType, Long>>> getLatestTimestampsAsync(
+            final Collection<Integer> contractIDs) {
+        if (contractIDs.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+        return AsyncCalls.enqueue(this.getLatestTimestampsCall(contractIDs))
+                .thenApply(this::parseLatestTimestampsResponse);
+    }
+
+    private Call<List<LatestTimestampModel>> getLatestTimestampsCall(final Collection<Integer> contractIDs) {
+        RemoteDataAPI.LOGGER.info("getting latest timestamps for " + contractIDs.size() + " contracts");
+        return RemoteDataAPI.connection.getService().getLatestTimestamps(new ArrayList<>(contractIDs));
+    }
+
+    private Map<Integer, Map<DataType, Long>> parseLatestTimestampsResponse(
+            final Response<List<LatestTimestampModel>> r) {
+        RemoteDataAPI.LOGGER.info("response: " + r.code());
+        final Map<Integer, Map<DataType, Long>> latest = new HashMap<>();
+        if (r.code() > RemoteDataAPI.INITIAL_ERROR_CODE || r.body() == null) {
+            RemoteDataAPI.LOGGER.info("error: " + r.errorBody());
+            return latest;
+        }
+        for (final LatestTimestampModel model : r.body()) {
+            final DataType type = DataType.fromId(model.type);
+            if (type != null && model.timestamp != null) {
+                latest.computeIfAbsent(model.contractId, id -> new EnumMap<>(DataType.class))
+                        .put(type, model.timestamp.getTime());
+            }
+        }
+        return latest;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Data> getMonthlyData(@Nullable final Integer contractID) throws IOException {
+        return this.parseMonthlyDataResponse(this.getMonthlyDataCall(contractID).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Data>> getMonthlyDataAsync(@Nullable final Integer contractID) {
+        return AsyncCalls.enqueue(this.getMonthlyDataCall(contractID)).thenApply(this::parseMonthlyDataResponse);
+    }
+
+    private Call<List<DataModel>> getMonthlyDataCall(@Nullable final Integer contractID) {
         final Map<String, String> options = new HashMap<>();
         if (contractID != null) {
             RemoteDataAPI.LOGGER.info("getting global monthly data");
@@ -77,7 +268,10 @@ public class RemoteDataAPI implements DataController {
         } else {
             RemoteDataAPI.LOGGER.info("getting monthly data related to contract ID " + contractID);
         }
-        final Response<List<DataModel>> r = RemoteDataAPI.connection.getService().getMonthlyData(options).execute();
+        return RemoteDataAPI.connection.getService().getMonthlyData(options);
+    }
+
+    private List<Data> parseMonthlyDataResponse(final Response<List<DataModel>> r) {
         RemoteDataAPI.LOGGER.info("response: " + r.code());
 
         if (r.code() > RemoteDataAPI.INITIAL_ERROR_CODE || r.body() == null) {
@@ -86,4 +280,57 @@ public class RemoteDataAPI implements DataController {
         }
         return r.body().stream().map(Data::new).collect(Collectors.toList());
     }
+
+    /**
+     * Group of series sent with a single batch request.
+     */
+    private static final class BatchChunk {
+        private static final long HASH_MULTIPLIER = 31;
+        private final List<DataModel> models = new ArrayList<>();
+        private final Set<Data> origins = new LinkedHashSet<>();
+        private final StringBuilder descriptor = new StringBuilder();
+        private int records;
+
+        /**
+         * Add a part of <code>series</code> to this chunk.
+         *
+         * @param series series that owns the records
+         * @param part   records of <code>series</code> to add
+         */
+        private void add(final Data series, final TimeSeries part) {
+            this.models.add(new Data(series.getContractID(), series.getType(), part).getJsonModel());
+            this.origins.add(series);
+            this.records += part.size();
+            this.descriptor.append(series.getContractID())
+                    .append(':')
+                    .append(series.getType().getID())
+                    .append(':')
+                    .append(part.getTimestamp(0))
+                    .append(':')
+                    .append(part.getTimestamp(part.size() - 1))
+                    .append(':')
+                    .append(part.size())
+                    .append(':')
+                    .append(Long.toHexString(BatchChunk.hashValues(part)))
+                    .append(';');
+        }
+
+        private static long hashValues(final TimeSeries part) {
+            long hash = 1;
+            for (int i = 0; i < part.size(); i++) {
+                hash = BatchChunk.HASH_MULTIPLIER * hash + Double.doubleToLongBits(part.getValue(i));
+            }
+            return hash;
+        }
+
+        /**
+         * Get the idempotency key of this chunk. It only depends on the series and on the records in the chunk, so
+         * the same chunk sent again by a retry or by a new run gets the same key.
+         *
+         * @return the idempotency key
+         */
+        private String getIdempotencyKey() {
+            return UUID.nameUUIDFromBytes(this.descriptor.toString().getBytes(StandardCharsets.UTF_8)).toString();
+        }
+    }
 }
@@ -4,22 +4,25 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reega.data.AsyncUserController;
 import reega.data.UserController;
 import reega.data.models.gson.NewUserBody;
 import reega.users.GenericUser;
 import reega.users.NewUser;
 import reega.users.User;
+import retrofit2.Call;
 import retrofit2.Response;
 
 /**
- * {@link UserController} implementation, using remote database via http requests.
+ * {@link UserController} and {@link AsyncUserController} implementation, using remote database via http requests.
  */
-public class RemoteUserAPI implements UserController {
+public class RemoteUserAPI implements UserController, AsyncUserController {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteUserAPI.class);
     private static final int INITIAL_ERROR_CODE = 299;
     private final RemoteConnection connection;
@@ -33,14 +36,22 @@ public class RemoteUserAPI implements UserController {
      */
     @Override
     public void addUser(final NewUser newUser) throws IOException {
+        this.parseVoidResponse(this.addUserCall(newUser).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> addUserAsync(final NewUser newUser) {
+        return AsyncCalls.enqueue(this.addUserCall(newUser)).thenAccept(this::parseVoidResponse);
+    }
+
+    private Call<Void> addUserCall(final NewUser newUser) {
         RemoteUserAPI.LOGGER.info("adding user: " + newUser.toString());
         final NewUserBody body = new NewUserBody(newUser.getName(), newUser.getSurname(), newUser.getEmail(),
                 newUser.getFiscalCode(), newUser.getRole().getRoleName(), newUser.getPasswordHash());
-        final Response<Void> r = this.connection.getService().addUser(body).execute();
-        RemoteUserAPI.LOGGER.info("response: " + r.code());
-        if (r.code() > RemoteUserAPI.INITIAL_ERROR_CODE) {
-            RemoteUserAPI.LOGGER.info("error: " + r.errorBody());
-        }
+        return this.connection.getService().addUser(body);
     }
 
     /**
@@ -48,8 +59,23 @@ public class RemoteUserAPI implements UserController {
      */
     @Override
     public void removeUser(final String fiscalCode) throws IOException {
+        this.parseVoidResponse(this.removeUserCall(fiscalCode).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> removeUserAsync(final String fiscalCode) {
+        return AsyncCalls.enqueue(this.removeUserCall(fiscalCode)).thenAccept(this::parseVoidResponse);
+    }
+
+    private Call<Void> removeUserCall(final String fiscalCode) {
         RemoteUserAPI.LOGGER.info("removing user with fiscal code: " + fiscalCode);
-        final Response<Void> r = this.connection.getService().removeUser(fiscalCode).execute();
+        return this.connection.getService().removeUser(fiscalCode);
+    }
+
+    private void parseVoidResponse(final Response<Void> r) {
         RemoteUserAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteUserAPI.INITIAL_ERROR_CODE) {
             RemoteUserAPI.LOGGER.info("error: " + r.errorBody());
@@ -61,10 +87,23 @@ public class RemoteUserAPI implements UserController {
      */
     @Override
     public User getUserFromContract(final int contractID) throws IOException {
+        return this.parseUserResponse(this.getUserFromContractCall(contractID).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<User> getUserFromContractAsync(final int contractID) {
+        return AsyncCalls.enqueue(this.getUserFromContractCall(contractID)).thenApply(this::parseUserResponse);
+    }
+
+    private Call<reega.data.models.gson.User> getUserFromContractCall(final int contractID) {
         RemoteUserAPI.LOGGER.info("getting user with contract ID: " + contractID);
-        final Response<reega.data.models.gson.User> r = this.connection.getService()
-                .getUserFromContract(contractID)
-                .execute();
+        return this.connection.getService().getUserFromContract(contractID);
+    }
+
+    private User parseUserResponse(final Response<reega.data.models.gson.User> r) {
         RemoteUserAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteUserAPI.INITIAL_ERROR_CODE || r.body() == null) {
             RemoteUserAPI.LOGGER.info("error: " + r.errorBody());
@@ -78,10 +117,23 @@ public class RemoteUserAPI implements UserController {
      */
     @Override
     public List<User> searchUser(final String keyword) throws IOException {
+        return this.parseUserListResponse(this.searchUserCall(keyword).execute());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<User>> searchUserAsync(final String keyword) {
+        return AsyncCalls.enqueue(this.searchUserCall(keyword)).thenApply(this::parseUserListResponse);
+    }
+
+    private Call<List<reega.data.models.gson.User>> searchUserCall(final String keyword) {
         RemoteUserAPI.LOGGER.info("searching users with keyword: " + keyword);
-        final Response<List<reega.data.models.gson.User>> r = this.connection.getService()
-                .searchUser(keyword)
-                .execute();
+        return this.connection.getService().searchUser(keyword);
+    }
+
+    private List<User> parseUserListResponse(final Response<List<reega.data.models.gson.User>> r) {
         RemoteUserAPI.LOGGER.info("response: " + r.code());
         if (r.code() > RemoteUserAPI.INITIAL_ERROR_CODE || r.body() == null) {
             RemoteUserAPI.LOGGER.info("error: " + r.errorBody());
@@ -0,0 +1,141 @@
+package reega.data.remote;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Retry the failed requests according to the {@link RetryPolicy} of their endpoint, and fail fast through a
+ * {@link CircuitBreaker} while the backend is down. Only idempotent requests are retried: a POST is retried only if its
+ * endpoint just reads data, or if it carries an {@value HttpTransport#IDEMPOTENCY_KEY_HEADER} header that lets the
+ * backend discard the duplicates.
+ */
+final class ResilienceInterceptor implements Interceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResilienceInterceptor.class);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+    private static final int FIRST_SERVER_ERROR = 500;
+    private static final long MILLIS_IN_SECOND = 1000;
+
+    private final RetryPolicy defaultPolicy;
+    private final Map<String, RetryPolicy> endpointPolicies;
+    private final Set<String> safePosts;
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Create the interceptor.
+     *
+     * @param defaultPolicy    policy of the endpoints without a specific policy
+     * @param endpointPolicies policies by endpoint, relative to the base URL
+     * @param safePosts        endpoints whose POST requests only read data, relative to the base URL
+     * @param circuitBreaker   circuit breaker of the backend
+     */
+    ResilienceInterceptor(final RetryPolicy defaultPolicy, final Map<String, RetryPolicy> endpointPolicies,
+            final Set<String> safePosts, final CircuitBreaker circuitBreaker) {
+        this.defaultPolicy = defaultPolicy;
+        this.endpointPolicies = Map.copyOf(endpointPolicies);
+        this.safePosts = Set.copyOf(safePosts);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final RetryPolicy policy = this.getPolicy(request);
+        int attempt = 1;
+        while (true) {
+            if (!this.circuitBreaker.tryAcquire()) {
+                throw new CircuitOpenException("The backend is unavailable, " + request.method() + " "
+                        + request.url().encodedPath() + " has not been sent");
+            }
+            final Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (final IOException | RuntimeException e) {
+                if (chain.call().isCanceled()) {
+                    // the backend is not to blame
+                    this.circuitBreaker.onCancelled();
+                    throw e;
+                }
+                this.circuitBreaker.onFailure();
+                if (e instanceof RuntimeException || attempt >= policy.getMaxAttempts()) {
+                    throw e;
+                }
+                ResilienceInterceptor.LOGGER.info("attempt " + attempt + " of " + request.url().encodedPath()
+                        + " failed: " + e.getMessage());
+                ResilienceInterceptor.sleep(policy.getDelayMillis(attempt));
+                attempt++;
+                continue;
+            }
+            if (response.code() >= ResilienceInterceptor.FIRST_SERVER_ERROR) {
+                this.circuitBreaker.onFailure();
+            } else {
+                this.circuitBreaker.onSuccess();
+            }
+            if (!policy.isRetryable(response.code()) || attempt >= policy.getMaxAttempts()
+                    || chain.call().isCanceled()) {
+                return response;
+            }
+            ResilienceInterceptor.LOGGER.info("attempt " + attempt + " of " + request.url().encodedPath()
+                    + " failed with status " + response.code());
+            final long delay = ResilienceInterceptor.getRetryAfterMillis(response, policy)
+                    .orElse(policy.getDelayMillis(attempt));
+            response.close();
+            ResilienceInterceptor.sleep(delay);
+            attempt++;
+        }
+    }
+
+    private RetryPolicy getPolicy(final Request request) {
+        final String path = request.url().encodedPath();
+        if (!ResilienceInterceptor.IDEMPOTENT_METHODS.contains(request.method())
+                && request.header(HttpTransport.IDEMPOTENCY_KEY_HEADER) == null
+                && this.safePosts.stream().noneMatch(e -> path.endsWith("/" + e))) {
+            return RetryPolicy.NONE;
+        }
+        return this.endpointPolicies.entrySet()
+                .stream()
+                .filter(e -> path.endsWith("/" + e.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(this.defaultPolicy);
+    }
+
+    /**
+     * Read the delay requested by the backend through the Retry-After header, in seconds, capped to the maximum delay
+     * of <code>policy</code>.
+     */
+    private static OptionalLong getRetryAfterMillis(final Response response, final RetryPolicy policy) {
+        final String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            final long millis = Long.parseLong(retryAfter.trim()) * ResilienceInterceptor.MILLIS_IN_SECOND;
+            return OptionalLong.of(Math.max(0, Math.min(millis, policy.getMaxDelay().toMillis())));
+        } catch (final NumberFormatException e) {
+            // HTTP dates are not worth parsing here, fall back to the backoff
+            return OptionalLong.empty();
+        }
+    }
+
+    private static void sleep(final long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry the request");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package reega.data.remote;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy of the requests to an endpoint: how many times a request is attempted and how long to wait between
+ * two attempts. The delay grows exponentially with the attempts, up to a maximum, and a random delay between zero and
+ * that value is used ("full jitter"), so that the clients failing at the same time don't retry all together.
+ */
+public final class RetryPolicy {
+    /**
+     * Policy that never retries.
+     */
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+    private static final RetryPolicy DEFAULT = RetryPolicy.builder().build();
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(250);
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(4);
+    /**
+     * Status codes of the failures that are likely to be transient.
+     */
+    private static final Set<Integer> RETRYABLE_CODES = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    private RetryPolicy(final Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+    }
+
+    /**
+     * Get the default policy: 3 attempts, with delays starting from 250 ms up to 4 s.
+     *
+     * @return the default {@link RetryPolicy}
+     */
+    public static RetryPolicy getDefault() {
+        return RetryPolicy.DEFAULT;
+    }
+
+    /**
+     * Create a new {@link Builder} initialized with the default settings.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the maximum number of attempts of a request, the first one included.
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+    /**
+     * Get the maximum delay between two attempts.
+     *
+     * @return the maximum delay
+     */
+    public Duration getMaxDelay() {
+        return this.maxDelay;
+    }
+
+    /**
+     * Check if a response with status <code>code</code> is worth retrying.
+     *
+     * @param code HTTP status code
+     * @return true if the failure is likely to be transient, false otherwise
+     */
+    public boolean isRetryable(final int code) {
+        return RetryPolicy.RETRYABLE_CODES.contains(code);
+    }
+
+    /**
+     * Get a random delay to wait before the attempt following the attempt number <code>attempt</code>.
+     *
+     * @param attempt number of the failed attempt, starting from 1
+     * @return the delay in milliseconds
+     */
+    public long getDelayMillis(final int attempt) {
+        final long maxMillis = this.maxDelay.toMillis();
+        long ceiling = Math.min(this.baseDelay.toMillis(), maxMillis);
+        for (int i = 1; i < attempt && ceiling < maxMillis; i++) {
+            ceiling = Math.min(maxMillis, ceiling * 2);
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Builder of a {@link RetryPolicy}.
+     */
+    public static final class Builder {
+        private int maxAttempts = RetryPolicy.DEFAULT_MAX_ATTEMPTS;
+        private Duration baseDelay = RetryPolicy.DEFAULT_BASE_DELAY;
+        private Duration maxDelay = RetryPolicy.DEFAULT_MAX_DELAY;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum number of attempts of a request, the first one included.
+         *
+         * @param maxAttempts maximum number of attempts, at least 1
+         * @return this builder
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Set the delay after the first failed attempt, doubled after every following attempt.
+         *
+         * @param baseDelay delay after the first failed attempt
+         * @return this builder
+         */
+        public Builder baseDelay(final Duration baseDelay) {
+            this.baseDelay = Objects.requireNonNull(baseDelay);
+            return this;
+        }
+
+        /**
+         * Set the maximum delay between two attempts.
+         *
+         * @param maxDelay maximum delay
+         * @return this builder
+         */
+        public Builder maxDelay(final Duration maxDelay) {
+            this.maxDelay = Objects.requireNonNull(maxDelay);
+            return this;
+        }
+
+        /**
+         * Build the {@link RetryPolicy}.
+         *
+         * @return a new {@link RetryPolicy}
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package reega.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import reega.data.models.DataType;
+
+/**
+ * Progress of a {@link HistoricalBackfill}, saved to a small JSON file so that an interrupted backfill can be resumed.
+ * It records the range of the backfill and, for each contract and {@link DataType}, the timestamp of the last record
+ * that has been stored.
+ */
+final class BackfillCheckpoint {
+    @SerializedName("from")
+    private long from;
+    @SerializedName("to")
+    private long to;
+    @SerializedName("series")
+    private Map<String, Long> series = new HashMap<>();
+
+    private BackfillCheckpoint() {
+    }
+
+    /**
+     * Load the checkpoint of the backfill from <code>from</code> to <code>to</code>.
+     *
+     * @param checkpointFile file of the checkpoint
+     * @param from           start of the backfill
+     * @param to             end of the backfill
+     * @return the saved checkpoint, or an empty checkpoint if <code>checkpointFile</code> doesn't exist
+     * @throws IOException if the checkpoint can't be read or it belongs to another range
+     */
+    static BackfillCheckpoint load(final File checkpointFile, final long from, final long to) throws IOException {
+        if (!checkpointFile.exists()) {
+            final BackfillCheckpoint checkpoint = new BackfillCheckpoint();
+            checkpoint.from = from;
+            checkpoint.to = to;
+            return checkpoint;
+        }
+        final BackfillCheckpoint checkpoint;
+        try (Reader reader = Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+            checkpoint = new Gson().fromJson(reader, BackfillCheckpoint.class);
+        } catch (final JsonParseException e) {
+            throw new IOException("Invalid checkpoint " + checkpointFile.getAbsolutePath(), e);
+        }
+        if (checkpoint == null || checkpoint.series == null || checkpoint.from != from || checkpoint.to != to) {
+            throw new IOException("The checkpoint " + checkpointFile.getAbsolutePath()
+                    + " belongs to another backfill range, delete it to start a new backfill");
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Save the checkpoint, replacing the previous one atomically.
+     *
+     * @param checkpointFile file of the checkpoint
+     * @throws IOException if the checkpoint can't be written
+     */
+    synchronized void save(final File checkpointFile) throws IOException {
+        final Path target = checkpointFile.toPath();
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            new Gson().toJson(this, writer);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Get the timestamp of the last stored record of a series.
+     *
+     * @param contractID ID of the contract of the series
+     * @param type       type of the series
+     * @return the timestamp of the last stored record, null if nothing has been stored yet
+     */
+    synchronized Long getLast(final int contractID, final DataType type) {
+        return this.series.get(BackfillCheckpoint.key(contractID, type));
+    }
+
+    /**
+     * Set the timestamp of the last stored record of a series.
+     *
+     * @param contractID ID of the contract of the series
+     * @param type       type of the series
+     * @param timestamp  timestamp of the last stored record
+     */
+    synchronized void setLast(final int contractID, final DataType type, final long timestamp) {
+        this.series.put(BackfillCheckpoint.key(contractID, type), timestamp);
+    }
+
+    private static String key(final int contractID, final DataType type) {
+        return contractID + ":" + type.getName();
+    }
+}
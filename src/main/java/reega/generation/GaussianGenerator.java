@@ -1,16 +1,26 @@
 package reega.generation;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class GaussianGenerator implements Generator {
 
-    private final Random rand;
+    private final SplittableRandom rand;
     private final double mean;
     private final double variance;
 
     public GaussianGenerator(final double mean, final double variance) {
-        this.rand = new Random();
-        this.rand.setSeed(this.rand.nextLong());
+        this(mean, variance, new SplittableRandom());
+    }
+
+    /**
+     * Create a generator drawing its values from <code>rand</code>.
+     *
+     * @param mean     mean of the values
+     * @param variance variance of the values
+     * @param rand     random stream owned by this generator, it must not be shared with other threads
+     */
+    public GaussianGenerator(final double mean, final double variance, final SplittableRandom rand) {
+        this.rand = rand;
         this.variance = variance;
         this.mean = mean;
     }
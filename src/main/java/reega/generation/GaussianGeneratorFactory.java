@@ -4,14 +4,13 @@ import org.apache.commons.lang3.tuple.Pair;
 import reega.data.models.DataType;
 
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Static Factory used to create personalized Gaussian Generators.
  */
 public final class GaussianGeneratorFactory {
 
-    private static final Random RANDOMIZER;
     /**
      * map with the values used to initialize the gaussianGnerators depending on the service required. Pair: left value
      * = mean, right value = variance.
@@ -19,7 +18,6 @@ public final class GaussianGeneratorFactory {
     public static final Map<DataType, Pair<Double, Double>> RANGES_MAP;
 
     static {
-        RANDOMIZER = new Random();
         RANGES_MAP = Map.ofEntries(Map.entry(DataType.ELECTRICITY, Pair.of(0.3, 0.23)),
                 Map.entry(DataType.GAS, Pair.of(0.17, 0.2)), Map.entry(DataType.WATER, Pair.of(18.0, 4.0)),
                 Map.entry(DataType.PAPER, Pair.of(0.2, 0.1)), Map.entry(DataType.GLASS, Pair.of(0.2, 0.09)),
@@ -37,23 +35,64 @@ public final class GaussianGeneratorFactory {
      * @return a {@link GaussianGenerator} with mean and range for the specified {@link DataType}
      */
     public static GaussianGenerator getGaussianGenerator(final DataType service) {
+        return GaussianGeneratorFactory.getGaussianGenerator(service, new SplittableRandom());
+    }
+
+    /**
+     * creates a {@link GaussianGenerator} like {@link #getGaussianGenerator(DataType)}, drawing its mean, its variance
+     * and its values from <code>random</code>, so the same stream always gives the same generator.
+     *
+     * @param service the type of service the GaussianGenrator will generate data for.
+     * @param random  random stream of the generator, it must not be used by anyone else afterwards.
+     * @return a {@link GaussianGenerator} with mean and range for the specified {@link DataType}
+     */
+    public static GaussianGenerator getGaussianGenerator(final DataType service, final SplittableRandom random) {
         GaussianGenerator generator;
         if (GaussianGeneratorFactory.RANGES_MAP.containsKey(service)) {
             // mean and variance are now randomized
-            final double mean = GaussianGeneratorFactory.RANDOMIZER.nextDouble() * 0.2
+            final double mean = random.nextDouble() * 0.2
                     + GaussianGeneratorFactory.RANGES_MAP.get(service).getLeft();
-            final double variance = GaussianGeneratorFactory.RANDOMIZER.nextDouble() * 0.2
+            final double variance = random.nextDouble() * 0.2
                     + GaussianGeneratorFactory.RANGES_MAP.get(service).getRight();
-            generator = new GaussianGenerator(mean, variance) {
+            generator = new GaussianGenerator(mean, variance, random) {
                 @Override
                 public double nextValue() {
                     return Math.abs(super.nextValue());
                 }
             };
         } else {
-            generator = new GaussianGenerator(0.0, 0.0);
+            generator = new GaussianGenerator(0.0, 0.0, random);
         }
         return generator;
     }
 
+    /**
+     * creates a generator for the specified type of service whose values follow its default {@link UsageProfile}, if
+     * it has one, otherwise a {@link GaussianGenerator}.
+     *
+     * @param service the type of service the generator will generate data for.
+     * @return a {@link Generator} for the specified {@link DataType}
+     * @see UsageProfiles#getDefault()
+     */
+    public static Generator getProfiledGenerator(final DataType service) {
+        return GaussianGeneratorFactory.getProfiledGenerator(service, new SplittableRandom());
+    }
+
+    /**
+     * creates a generator like {@link #getProfiledGenerator(DataType)}, drawing every random value from
+     * <code>random</code>, so the same stream always gives the same generator.
+     *
+     * @param service the type of service the generator will generate data for.
+     * @param random  random stream of the generator, it must not be used by anyone else afterwards.
+     * @return a {@link Generator} for the specified {@link DataType}
+     */
+    public static Generator getProfiledGenerator(final DataType service, final SplittableRandom random) {
+        final UsageProfiles profiles = UsageProfiles.getDefault();
+        final SplittableRandom spikes = random.split();
+        final GaussianGenerator base = GaussianGeneratorFactory.getGaussianGenerator(service, random);
+        return profiles.get(service)
+                .<Generator>map(profile -> new ProfiledGenerator(base, profile, profiles.getZone(), spikes))
+                .orElse(base);
+    }
+
 }
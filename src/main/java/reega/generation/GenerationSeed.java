@@ -0,0 +1,70 @@
+package reega.generation;
+
+import java.util.SplittableRandom;
+
+import reega.data.models.DataType;
+
+/**
+ * Master seed of a reproducible generation. Every series, identified by its contract and {@link DataType}, gets its
+ * own {@link SplittableRandom} derived from the master seed, so the values of a series don't depend on the other
+ * series nor on the order or the threads they are generated on.
+ */
+public final class GenerationSeed {
+    /**
+     * Odd constant of the golden ratio, used to spread consecutive IDs over the whole seed space.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long masterSeed;
+
+    /**
+     * Create a generation seed.
+     *
+     * @param masterSeed seed every series is derived from
+     */
+    public GenerationSeed(final long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Get the master seed.
+     *
+     * @return the seed every series is derived from
+     */
+    public long getMasterSeed() {
+        return this.masterSeed;
+    }
+
+    /**
+     * Get the random stream of a series. Two calls with the same arguments return streams producing the same values.
+     *
+     * @param contractID ID of the contract of the series
+     * @param type       type of the series
+     * @return a new {@link SplittableRandom} seeded for the series
+     */
+    public SplittableRandom forSeries(final int contractID, final DataType type) {
+        final long contractSeed = GenerationSeed.mix(this.masterSeed + GenerationSeed.GOLDEN_GAMMA * contractID);
+        return new SplittableRandom(GenerationSeed.mix(contractSeed + GenerationSeed.GOLDEN_GAMMA * type.getID()));
+    }
+
+    /**
+     * Derive the seed of a part of the generation, for example the time window starting at <code>key</code>. Two calls
+     * with the same key return seeds producing the same values, different keys give unrelated values.
+     *
+     * @param key key of the part of the generation
+     * @return a new {@link GenerationSeed} for the part
+     */
+    public GenerationSeed derive(final long key) {
+        return new GenerationSeed(GenerationSeed.mix(this.masterSeed + GenerationSeed.GOLDEN_GAMMA * key));
+    }
+
+    /**
+     * Finalizer of SplitMix64: nearby inputs give unrelated outputs.
+     */
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
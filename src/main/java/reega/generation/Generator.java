@@ -8,4 +8,29 @@ public interface Generator {
      * @return a new generated value.
      */
     double nextValue();
+
+    /**
+     * Generates the value at a timestamp. Generators without time structure ignore the timestamp.
+     *
+     * @param timestamp timestamp of the value
+     * @return a new generated value.
+     */
+    default double valueAt(final long timestamp) {
+        return this.nextValue();
+    }
+
+    /**
+     * Generates a whole series of values at once, without boxing them: <code>out[i]</code> is the value at the
+     * timestamp <code>start + i * step</code>. The values are the same that calling {@link #valueAt(long)} with each
+     * timestamp in order would give.
+     *
+     * @param out   array filled with the generated values
+     * @param start timestamp of the first value
+     * @param step  distance between two consecutive timestamps
+     */
+    default void fill(final double[] out, final long start, final long step) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = this.valueAt(start + i * step);
+        }
+    }
 }
@@ -0,0 +1,258 @@
+package reega.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reega.data.DataController;
+import reega.data.models.Contract;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+import reega.data.models.TimeSeries;
+
+/**
+ * Backfill of the usage data of a range of time, for example several years. Every contract walks the range in
+ * time windows of a bounded length: the series of the contract are generated for a window and uploaded with one
+ * batched request, so the memory used doesn't depend on the length of the range. The contracts are processed in
+ * parallel, each one with a single upload in flight.
+ * <p>
+ * The timestamp of the last stored record of every series is saved to a checkpoint file after every uploaded window.
+ * Running the same backfill again with the same checkpoint file resumes every series after its last stored record,
+ * without asking the backend; the checkpoint is deleted when every contract has been backfilled. With a
+ * {@link GenerationSeed} every window derives its random streams from its start, so a resumed backfill stores the same
+ * values of an uninterrupted one with the same seed and window length.
+ */
+public final class HistoricalBackfill {
+    /**
+     * Default length of a time window.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+    /**
+     * Default number of contracts backfilled at the same time.
+     */
+    public static final int DEFAULT_THREADS = 4;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoricalBackfill.class);
+
+    private final DataController database;
+    private final File checkpointFile;
+    private final long windowMillis;
+    private final int threads;
+    @Nullable
+    private final GenerationSeed seed;
+    private volatile Set<Integer> failedContracts = Set.of();
+
+    /**
+     * Create a backfill with the default window and number of threads.
+     *
+     * @param database       controller used to store the data
+     * @param checkpointFile file where the progress of the backfill is saved
+     */
+    public HistoricalBackfill(final DataController database, final File checkpointFile) {
+        this(database, checkpointFile, HistoricalBackfill.DEFAULT_WINDOW, HistoricalBackfill.DEFAULT_THREADS, null);
+    }
+
+    /**
+     * Create a backfill.
+     *
+     * @param database       controller used to store the data
+     * @param checkpointFile file where the progress of the backfill is saved
+     * @param window         length of a time window
+     * @param threads        number of contracts backfilled at the same time
+     * @param seed           seed of the generation, null to generate different values in every run
+     */
+    public HistoricalBackfill(final DataController database, final File checkpointFile, final Duration window,
+            final int threads, @Nullable final GenerationSeed seed) {
+        if (window.isNegative() || window.isZero() || threads < 1) {
+            throw new IllegalArgumentException("window and threads must be positive");
+        }
+        this.database = Objects.requireNonNull(database);
+        this.checkpointFile = Objects.requireNonNull(checkpointFile);
+        this.windowMillis = window.toMillis();
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Backfill <code>contracts</code> from <code>from</code> to <code>to</code>, resuming from the checkpoint file if
+     * it exists. The records of each series are at the timestamps <code>from + i * step</code> before
+     * <code>to</code>, with the step of the {@link DataType}.
+     *
+     * @param contracts contracts to backfill
+     * @param from      timestamp of the start of the range, inclusive
+     * @param to        timestamp of the end of the range, exclusive
+     * @return the number of records stored by this run
+     * @throws IOException if the checkpoint can't be read; the contracts that could not be backfilled are available
+     *                     through {@link #getFailedContracts()} instead
+     */
+    public long backfill(final List<Contract> contracts, final long from, final long to) throws IOException {
+        if (from >= to) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        final BackfillCheckpoint checkpoint = BackfillCheckpoint.load(this.checkpointFile, from, to);
+        final Run run = new Run(checkpoint, from, to);
+        final Set<Integer> failed = ConcurrentHashMap.newKeySet();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors
+                .newFixedThreadPool(Math.max(1, Math.min(this.threads, contracts.size())), runnable -> {
+                    final Thread thread = new Thread(runnable, "backfill-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (final Contract contract : contracts) {
+                futures.add(executor.submit(() -> {
+                    run.backfillContract(contract);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (final ExecutionException e) {
+                    HistoricalBackfill.LOGGER.error("could not backfill the contract " + contracts.get(i).getId(),
+                            e.getCause());
+                    failed.add(contracts.get(i).getId());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Backfill interrupted");
+        } finally {
+            executor.shutdownNow();
+            this.failedContracts = Set.copyOf(failed);
+        }
+        if (failed.isEmpty()) {
+            Files.deleteIfExists(this.checkpointFile.toPath());
+        }
+        HistoricalBackfill.LOGGER.info("backfilled " + run.stored.get() + " records of " + contracts.size()
+                + " contracts, " + failed.size() + " failed");
+        return run.stored.get();
+    }
+
+    /**
+     * Get the contracts that could not be backfilled by the last {@link #backfill(List, long, long)}.
+     *
+     * @return an unmodifiable {@link Set} of contract IDs
+     */
+    public Set<Integer> getFailedContracts() {
+        return this.failedContracts;
+    }
+
+    /**
+     * State of a single backfill: the checkpoint and the stored records.
+     */
+    private final class Run {
+        private final BackfillCheckpoint checkpoint;
+        private final long from;
+        private final long to;
+        private final AtomicLong stored = new AtomicLong();
+
+        Run(final BackfillCheckpoint checkpoint, final long from, final long to) {
+            this.checkpoint = checkpoint;
+            this.from = from;
+            this.to = to;
+        }
+
+        void backfillContract(final Contract contract) throws IOException {
+            final List<DataType> dataTypes = contract.getServices()
+                    .stream()
+                    .flatMap(srv -> DataType.getDataTypesByService(srv).stream())
+                    .collect(Collectors.toList());
+            final UsageSimulator unseeded = HistoricalBackfill.this.seed == null
+                    ? new SelectiveUsageSimulator(dataTypes)
+                    : null;
+            for (long windowStart = this.from; windowStart < this.to;
+                    windowStart += HistoricalBackfill.this.windowMillis) {
+                final long windowEnd = Math.min(this.to, windowStart + HistoricalBackfill.this.windowMillis);
+                // every window has its own streams, so a resumed run generates the same values of a whole run
+                final UsageSimulator simulator = unseeded != null
+                        ? unseeded
+                        : new SelectiveUsageSimulator(dataTypes, contract.getId(),
+                                HistoricalBackfill.this.seed.derive(windowStart));
+                final List<Data> batch = new ArrayList<>();
+                for (final DataType type : dataTypes) {
+                    final Data data = this.generateWindow(simulator, contract.getId(), type, windowStart, windowEnd);
+                    if (data != null) {
+                        batch.add(data);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    this.upload(contract.getId(), batch);
+                }
+            }
+        }
+
+        /**
+         * Generate the records of a series in a window, skipping the ones already stored. The whole window is
+         * generated even if part of it is skipped, so its values don't depend on where the last run stopped.
+         *
+         * @return the generated records, null if there are none
+         */
+        @Nullable
+        private Data generateWindow(final UsageSimulator simulator, final int contractID, final DataType type,
+                final long windowStart, final long windowEnd) {
+            final long step = OnDemandDataFiller.getStepping(type);
+            final Long last = this.checkpoint.getLast(contractID, type);
+            final long lower = last == null ? windowStart : Math.max(windowStart, last + step);
+            // first timestamps of the grid from + i * step not before windowStart and lower
+            final long windowFirst = this.gridCeiling(windowStart, step);
+            final long first = this.gridCeiling(lower, step);
+            if (first >= windowEnd) {
+                return null;
+            }
+            final int count = Math.toIntExact((windowEnd - 1 - windowFirst) / step + 1);
+            final int skipped = Math.toIntExact((first - windowFirst) / step);
+            final double[] values = new double[count];
+            if (!simulator.fill(type, values, windowFirst, step)) {
+                return null;
+            }
+            final long[] timestamps = new long[count - skipped];
+            for (int i = 0; i < timestamps.length; i++) {
+                timestamps[i] = first + i * step;
+            }
+            return new Data(contractID, type, TimeSeries.of(timestamps,
+                    Arrays.copyOfRange(values, skipped, count), timestamps.length));
+        }
+
+        private long gridCeiling(final long timestamp, final long step) {
+            return this.from + Math.floorDiv(timestamp - this.from + step - 1, step) * step;
+        }
+
+        private void upload(final int contractID, final List<Data> batch) throws IOException {
+            final List<Data> failedSeries = HistoricalBackfill.this.database.putUserDataBatch(batch);
+            if (!failedSeries.isEmpty()) {
+                throw new IOException("Could not store " + failedSeries.size() + " series of the contract "
+                        + contractID);
+            }
+            long records = 0;
+            for (final Data data : batch) {
+                final TimeSeries series = data.getSeries();
+                this.checkpoint.setLast(contractID, data.getType(), series.getTimestamp(series.size() - 1));
+                records += series.size();
+            }
+            this.stored.addAndGet(records);
+            this.checkpoint.save(HistoricalBackfill.this.checkpointFile);
+        }
+    }
+}
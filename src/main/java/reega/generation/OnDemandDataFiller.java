@@ -9,17 +9,33 @@ import reega.data.models.Contract;
 import reega.data.models.Data;
 import reega.data.models.DataType;
 import reega.data.models.ServiceType;
+import reega.data.models.TimeSeries;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * {@link DataFiller} generating the missing data of every contract. By default the data of all the contracts is
+ * generated on the calling thread and uploaded with a single batched request; in the parallel mode each contract is
+ * generated and uploaded on a pool of worker threads, with a bound on the uploads in flight. The contracts whose data
+ * could not be stored are available through {@link #getFailedContracts()} after {@link #fill()}.
+ */
 public class OnDemandDataFiller implements DataFiller {
 
     private static final Long SERVICES_STEPPING = 3_600_000L; // one hour in ms
@@ -32,12 +48,63 @@ public class OnDemandDataFiller implements DataFiller {
     private final Map<UsageSimulator, Set<Data>> usageDataMap;
     private final DataController database;
     private final Long currentDate;
+    private final int threads;
+    private final int maxUploads;
+    @Nullable
+    private final GenerationSeed seed;
+    private volatile Set<Integer> failedContracts = Set.of();
 
+    /**
+     * Create a filler generating and uploading the data of every contract on the calling thread.
+     *
+     * @throws IOException if the contracts can't be read
+     */
     public OnDemandDataFiller() throws IOException {
+        this(1, 1);
+    }
+
+    /**
+     * Create a filler generating and uploading the contracts on <code>threads</code> worker threads, with at most
+     * <code>maxUploads</code> uploads in flight.
+     *
+     * @param threads    number of worker threads, 1 to fill every contract on the calling thread
+     * @param maxUploads maximum number of uploads in flight
+     * @throws IOException if the contracts can't be read
+     */
+    public OnDemandDataFiller(final int threads, final int maxUploads) throws IOException {
+        this(threads, maxUploads, null);
+    }
+
+    /**
+     * Create a filler like {@link #OnDemandDataFiller(int, int)} whose values are derived from <code>seed</code>: the
+     * values of each series are the same in every run with the same seed, whatever the number of threads.
+     *
+     * @param threads    number of worker threads, 1 to fill every contract on the calling thread
+     * @param maxUploads maximum number of uploads in flight
+     * @param seed       seed of the generation, null to generate different values in every run
+     * @throws IOException if the contracts can't be read
+     */
+    public OnDemandDataFiller(final int threads, final int maxUploads, @Nullable final GenerationSeed seed)
+            throws IOException {
+        this(DataControllerFactory.getDefaultDataController(null),
+                ContractControllerFactory.getDefaultDataController(null).getAllContracts(), threads, maxUploads, seed);
+    }
+
+    /**
+     * Create a filler of <code>contracts</code> storing the data through <code>database</code>.
+     */
+    OnDemandDataFiller(final DataController database, final List<Contract> contracts, final int threads,
+            final int maxUploads, @Nullable final GenerationSeed seed) {
+        if (threads < 1 || maxUploads < 1) {
+            throw new IllegalArgumentException("threads and maxUploads need to be at least 1");
+        }
         this.currentDate = new Date().getTime() + Duration.ofMinutes(1).toMillis(); // current date + 1 min
-        this.database = DataControllerFactory.getDefaultDataController(null);
+        this.database = database;
+        this.threads = threads;
+        this.maxUploads = maxUploads;
+        this.seed = seed;
         this.usageDataMap = new HashMap<>();
-        this.addContracts(ContractControllerFactory.getDefaultDataController(null).getAllContracts());
+        this.addContracts(contracts);
     }
 
     /**
@@ -45,18 +112,143 @@ public class OnDemandDataFiller implements DataFiller {
      */
     @Override
     public void fill() {
-        // for each entry <UsageSimlator, Set<Data>> generate data and submit it
+        // plan the whole backfill with a single lookup of the latest timestamps
+        final Map<Integer, Map<DataType, Long>> latestTimestamps;
+        try {
+            latestTimestamps = this.database.getLatestTimestamps(this.usageDataMap.values()
+                    .stream()
+                    .flatMap(Set::stream)
+                    .map(Data::getContractID)
+                    .collect(Collectors.toSet()));
+        } catch (final IOException e) {
+            OnDemandDataFiller.LOGGER.error("could not read the latest data from DB.", e);
+            return;
+        }
+        if (this.threads == 1) {
+            this.fillSerially(latestTimestamps);
+        } else {
+            this.fillInParallel(latestTimestamps);
+        }
+        if (!this.failedContracts.isEmpty()) {
+            OnDemandDataFiller.LOGGER.error("could not save generated data to DB for the contracts "
+                    + this.failedContracts + ".");
+        }
+    }
+
+    /**
+     * Get the contracts whose data could not be stored by the last {@link #fill()}.
+     *
+     * @return an unmodifiable {@link Set} of contract IDs
+     */
+    public Set<Integer> getFailedContracts() {
+        return this.failedContracts;
+    }
+
+    /**
+     * Generate the data of every contract, then submit everything with batched requests.
+     */
+    private void fillSerially(final Map<Integer, Map<DataType, Long>> latestTimestamps) {
+        final List<Data> generated = new ArrayList<>();
         for (final Entry<UsageSimulator, Set<Data>> entry : this.usageDataMap.entrySet()) {
-            try {
-                for (final Data data : entry.getValue()) {
-                    this.generateValues(entry.getKey(), data);
-                    this.database.putUserData(data);
+            for (final Data data : entry.getValue()) {
+                this.generateValues(entry.getKey(), data, OnDemandDataFiller.getLatest(latestTimestamps, data));
+                generated.add(data);
+            }
+        }
+        this.failedContracts = this.database.putUserDataBatch(generated)
+                .stream()
+                .map(Data::getContractID)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Generate and upload every contract as a separate task on a pool of {@link #threads} threads, with at most
+     * {@link #maxUploads} uploads in flight. A contract that fails doesn't stop the others.
+     */
+    private void fillInParallel(final Map<Integer, Map<DataType, Long>> latestTimestamps) {
+        final Set<Integer> failed = ConcurrentHashMap.newKeySet();
+        final Semaphore uploads = new Semaphore(this.maxUploads);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors
+                .newFixedThreadPool(Math.max(1, Math.min(this.threads, this.usageDataMap.size())), runnable -> {
+                    final Thread thread = new Thread(runnable, "data-filler-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final List<Set<Data>> dataSets = new ArrayList<>();
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (final Entry<UsageSimulator, Set<Data>> entry : this.usageDataMap.entrySet()) {
+                dataSets.add(entry.getValue());
+                futures.add(executor.submit(() -> this.fillContract(entry.getKey(), entry.getValue(),
+                        latestTimestamps, uploads, failed)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (final ExecutionException e) {
+                    OnDemandDataFiller.LOGGER.error("could not generate the data of a contract.", e.getCause());
+                    dataSets.get(i).forEach(data -> failed.add(data.getContractID()));
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            OnDemandDataFiller.LOGGER.error("interrupted while filling the contracts.");
+            for (int i = 0; i < futures.size(); i++) {
+                if (!futures.get(i).isDone()) {
+                    dataSets.get(i).forEach(data -> failed.add(data.getContractID()));
                 }
-            } catch (final IOException e) {
-                OnDemandDataFiller.LOGGER.error("could not save generated data to DB.", e);
-                break;
             }
+        } finally {
+            executor.shutdownNow();
+        }
+        this.failedContracts = Set.copyOf(failed);
+    }
+
+    /**
+     * Generate the data of a single contract and upload it, waiting for an upload permit.
+     */
+    private void fillContract(final UsageSimulator simulator, final Set<Data> dataSet,
+            final Map<Integer, Map<DataType, Long>> latestTimestamps, final Semaphore uploads,
+            final Set<Integer> failed) {
+        if (dataSet.isEmpty()) {
+            return;
+        }
+        for (final Data data : dataSet) {
+            this.generateValues(simulator, data, OnDemandDataFiller.getLatest(latestTimestamps, data));
+        }
+        List<Data> failedSeries;
+        try {
+            uploads.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dataSet.forEach(data -> failed.add(data.getContractID()));
+            return;
+        }
+        try {
+            failedSeries = this.database.putUserDataBatch(new ArrayList<>(dataSet));
+        } catch (final RuntimeException e) {
+            OnDemandDataFiller.LOGGER.error("could not upload the generated data.", e);
+            failedSeries = new ArrayList<>(dataSet);
+        } finally {
+            uploads.release();
         }
+        failedSeries.forEach(data -> failed.add(data.getContractID()));
+    }
+
+    /**
+     * Get the distance between two records of a data type.
+     *
+     * @param type data type
+     * @return one day for wastes, one hour for the other services, in ms
+     */
+    static long getStepping(final DataType type) {
+        return type.getServiceType() == ServiceType.GARBAGE ? OnDemandDataFiller.GARBAGE_STEPPING
+                : OnDemandDataFiller.SERVICES_STEPPING;
+    }
+
+    private static Long getLatest(final Map<Integer, Map<DataType, Long>> latestTimestamps, final Data data) {
+        return latestTimestamps.getOrDefault(data.getContractID(), Map.of()).get(data.getType());
     }
 
     /**
@@ -70,7 +262,9 @@ public class OnDemandDataFiller implements DataFiller {
                     .stream()
                     .flatMap(srv -> DataType.getDataTypesByService(srv).stream())
                     .collect(Collectors.toList());
-            this.usageDataMap.put(new SelectiveUsageSimulator(dataTypes),
+            final UsageSimulator simulator = this.seed == null ? new SelectiveUsageSimulator(dataTypes)
+                    : new SelectiveUsageSimulator(dataTypes, contract.getId(), this.seed);
+            this.usageDataMap.put(simulator,
                     dataTypes.stream().map(data -> new Data(contract.getId(), data)).collect(Collectors.toSet()));
         }
     }
@@ -80,25 +274,25 @@ public class OnDemandDataFiller implements DataFiller {
      *
      * @param simulator {@link UsageSimulator} used for generating data
      * @param data      data class to populate with records
-     * @throws IOException
+     * @param latest    latest timestamp stored for <code>data</code>, null if nothing has been stored yet
      */
-    private void generateValues(final UsageSimulator simulator, final Data data) throws IOException {
+    private void generateValues(final UsageSimulator simulator, final Data data, final Long latest) {
 
-        final Map<Long, Double> simulations = new HashMap<>();
-        final Long stepping = data.getType().getServiceType() == ServiceType.GARBAGE
-                ? OnDemandDataFiller.GARBAGE_STEPPING
-                : OnDemandDataFiller.SERVICES_STEPPING;
-        Long dataDate = this.database.getLatestData(data.getContractID(), data.getType());
-        if (dataDate == null || dataDate == 0L) {
-            dataDate = OnDemandDataFiller.START_DATE;
-        } else {
-            dataDate += stepping;
+        final long stepping = OnDemandDataFiller.getStepping(data.getType());
+        final long first = latest == null || latest == 0L ? OnDemandDataFiller.START_DATE : latest + stepping;
+        if (first > this.currentDate) {
+            return;
+        }
+        final int count = Math.toIntExact((this.currentDate - first) / stepping + 1);
+        final long[] timestamps = new long[count];
+        final double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = first + i * stepping;
         }
-        while (dataDate <= this.currentDate) {
-            simulations.put(dataDate, simulator.getUsage(data.getType()).get());
-            dataDate += stepping;
+        if (simulator.fill(data.getType(), values, first, stepping)) {
+            // the timestamps come after the stored ones, so the whole series is appended at once
+            data.addRecords(TimeSeries.of(timestamps, values, count));
         }
-        data.addRecords(simulations);
     }
 
 }
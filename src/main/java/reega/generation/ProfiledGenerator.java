@@ -0,0 +1,99 @@
+package reega.generation;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.SplittableRandom;
+
+/**
+ * {@link Generator} shaping the values of another generator with a {@link UsageProfile}: every value is multiplied by
+ * the factors of its hour, of its day and of its month in the local time of the profile, and with the probability of
+ * the profile it is a spike.
+ */
+public class ProfiledGenerator implements Generator {
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final Generator base;
+    private final UsageProfile profile;
+    private final ZoneRules rules;
+    private final SplittableRandom rand;
+
+    /**
+     * Create a profiled generator.
+     *
+     * @param base    generator of the values without time structure
+     * @param profile profile applied to the values
+     * @param zone    timezone of the profile
+     * @param rand    random stream of the spikes, owned by this generator
+     */
+    public ProfiledGenerator(final Generator base, final UsageProfile profile, final ZoneId zone,
+            final SplittableRandom rand) {
+        this.base = base;
+        this.profile = profile;
+        this.rules = zone.getRules();
+        this.rand = rand;
+    }
+
+    /**
+     * Generates the value of the current time.
+     *
+     * @return a new generated value.
+     */
+    @Override
+    public double nextValue() {
+        return this.valueAt(System.currentTimeMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double valueAt(final long timestamp) {
+        final long local = timestamp + this.getOffsetMillis(timestamp);
+        final long day = Math.floorDiv(local, ProfiledGenerator.MILLIS_PER_DAY);
+        return this.sample(local, this.profile.getDayFactor(day));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fill(final double[] out, final long start, final long step) {
+        // the offset only changes at the transitions of the zone, and the day factor once a day
+        long offset = 0;
+        long nextTransition = Long.MIN_VALUE;
+        long currentDay = Long.MIN_VALUE;
+        double dayFactor = 0;
+        for (int i = 0; i < out.length; i++) {
+            final long timestamp = start + i * step;
+            if (timestamp >= nextTransition) {
+                offset = this.getOffsetMillis(timestamp);
+                final ZoneOffsetTransition transition = this.rules.nextTransition(Instant.ofEpochMilli(timestamp));
+                nextTransition = transition == null ? Long.MAX_VALUE : transition.toEpochSecond() * 1000;
+            }
+            final long local = timestamp + offset;
+            final long day = Math.floorDiv(local, ProfiledGenerator.MILLIS_PER_DAY);
+            if (day != currentDay) {
+                currentDay = day;
+                dayFactor = this.profile.getDayFactor(day);
+            }
+            out[i] = this.sample(local, dayFactor);
+        }
+    }
+
+    private long getOffsetMillis(final long timestamp) {
+        return this.rules.getOffset(Instant.ofEpochMilli(timestamp)).getTotalSeconds() * 1000L;
+    }
+
+    private double sample(final long local, final double dayFactor) {
+        final int hour = (int) (Math.floorMod(local, ProfiledGenerator.MILLIS_PER_DAY)
+                / ProfiledGenerator.MILLIS_PER_HOUR);
+        double value = this.base.nextValue() * this.profile.getHourFactor(hour) * dayFactor;
+        if (this.rand.nextDouble() < this.profile.getSpikeProbability()) {
+            value *= this.profile.getSpikeFactor();
+        }
+        return value;
+    }
+}
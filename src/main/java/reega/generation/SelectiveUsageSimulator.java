@@ -9,13 +9,29 @@ import java.util.stream.Collectors;
 import reega.data.models.DataType;
 import reega.data.models.ServiceType;
 
+/**
+ * {@link UsageSimulator} of a set of services, each one generated following its default {@link UsageProfile}.
+ */
 public class SelectiveUsageSimulator implements UsageSimulator {
 
     private final Map<DataType, Generator> generators;
 
     public SelectiveUsageSimulator(final List<DataType> services) {
         this.generators = new HashMap<>();
-        services.forEach(srv -> this.generators.put(srv, GaussianGeneratorFactory.getGaussianGenerator(srv)));
+        services.forEach(srv -> this.generators.put(srv, GaussianGeneratorFactory.getProfiledGenerator(srv)));
+    }
+
+    /**
+     * Create a simulator of the services of a contract whose values are derived from <code>seed</code>.
+     *
+     * @param services   services to simulate
+     * @param contractID ID of the contract
+     * @param seed       seed of the generation
+     */
+    public SelectiveUsageSimulator(final List<DataType> services, final int contractID, final GenerationSeed seed) {
+        this.generators = new HashMap<>();
+        services.forEach(srv -> this.generators.put(srv,
+                GaussianGeneratorFactory.getProfiledGenerator(srv, seed.forSeries(contractID, srv))));
     }
 
     /**
@@ -53,4 +69,17 @@ public class SelectiveUsageSimulator implements UsageSimulator {
                 .ofNullable(this.generators.containsKey(service) ? this.generators.get(service).nextValue() : null);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean fill(final DataType service, final double[] out, final long start, final long step) {
+        final Generator generator = this.generators.get(service);
+        if (generator == null) {
+            return false;
+        }
+        generator.fill(out, start, step);
+        return true;
+    }
+
 }
@@ -0,0 +1,148 @@
+package reega.generation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Time structure of the usage of a {@link reega.data.models.DataType}: a curve over the hours of the day, a factor for
+ * the weekend, a curve over the months of the year and the probability of a spike. The curves are normalized to a
+ * mean of 1 and the weekend factor is balanced with the weekdays, so a profile changes the shape of the usage but not
+ * its mean, apart from the spikes.
+ */
+public final class UsageProfile {
+    private static final int HOURS = 24;
+    private static final int MONTHS = 12;
+    private static final int WEEKEND_DAYS = 2;
+    private static final int DAYS_PER_WEEK = 7;
+
+    @SerializedName("hourly")
+    private double[] hourly;
+    @SerializedName("weekend")
+    private double weekend = 1;
+    @SerializedName("monthly")
+    private double[] monthly;
+    @SerializedName("spike_probability")
+    private double spikeProbability;
+    @SerializedName("spike_factor")
+    private double spikeFactor = 1;
+
+    private transient double weekdayFactor;
+    private transient double weekendFactor;
+
+    /**
+     * Used by Gson, so that the missing values get their defaults.
+     */
+    private UsageProfile() {
+    }
+
+    /**
+     * Create a profile.
+     *
+     * @param hourly           relative usage of each hour of the day, 24 values; null for a flat curve
+     * @param weekend          usage of a weekend day relative to a weekday
+     * @param monthly          relative usage of each month, 12 values from January; null for a flat curve
+     * @param spikeProbability probability of each value to be a spike
+     * @param spikeFactor      factor a spike is multiplied by
+     */
+    public UsageProfile(final double[] hourly, final double weekend, final double[] monthly,
+            final double spikeProbability, final double spikeFactor) {
+        this.hourly = hourly == null ? null : hourly.clone();
+        this.weekend = weekend;
+        this.monthly = monthly == null ? null : monthly.clone();
+        this.spikeProbability = spikeProbability;
+        this.spikeFactor = spikeFactor;
+        this.normalize();
+    }
+
+    /**
+     * Check the values read from the configuration and normalize the curves.
+     *
+     * @throws IllegalArgumentException if a value is not valid
+     */
+    void normalize() {
+        this.hourly = UsageProfile.normalize(this.hourly, UsageProfile.HOURS, "hourly");
+        this.monthly = UsageProfile.normalize(this.monthly, UsageProfile.MONTHS, "monthly");
+        if (!(this.weekend > 0)) {
+            throw new IllegalArgumentException("weekend must be positive");
+        }
+        if (!(this.spikeProbability >= 0 && this.spikeProbability <= 1)) {
+            throw new IllegalArgumentException("spike_probability must be between 0 and 1");
+        }
+        if (!(this.spikeFactor > 0)) {
+            throw new IllegalArgumentException("spike_factor must be positive");
+        }
+        final double week = UsageProfile.DAYS_PER_WEEK - UsageProfile.WEEKEND_DAYS
+                + UsageProfile.WEEKEND_DAYS * this.weekend;
+        this.weekdayFactor = UsageProfile.DAYS_PER_WEEK / week;
+        this.weekendFactor = this.weekend * this.weekdayFactor;
+    }
+
+    private static double[] normalize(final double[] curve, final int length, final String name) {
+        if (curve == null) {
+            final double[] flat = new double[length];
+            Arrays.fill(flat, 1);
+            return flat;
+        }
+        if (curve.length != length) {
+            throw new IllegalArgumentException(name + " must have " + length + " values");
+        }
+        double sum = 0;
+        for (final double value : curve) {
+            if (!(value >= 0)) {
+                throw new IllegalArgumentException(name + " values must not be negative");
+            }
+            sum += value;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException(name + " values must not be all zero");
+        }
+        final double mean = sum / length;
+        return Arrays.stream(curve).map(value -> value / mean).toArray();
+    }
+
+    /**
+     * Get the factor of an hour of the day.
+     *
+     * @param hour hour of the day, from 0 to 23
+     * @return the factor of the hour
+     */
+    public double getHourFactor(final int hour) {
+        return this.hourly[hour];
+    }
+
+    /**
+     * Get the factor of a day, given by its month and by being in the weekend or not.
+     *
+     * @param epochDay local day, counted from 1970-01-01
+     * @return the factor of the day
+     */
+    public double getDayFactor(final long epochDay) {
+        final LocalDate date = LocalDate.ofEpochDay(epochDay);
+        final DayOfWeek dayOfWeek = date.getDayOfWeek();
+        final double weekFactor = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY
+                ? this.weekendFactor
+                : this.weekdayFactor;
+        return weekFactor * this.monthly[date.getMonthValue() - 1];
+    }
+
+    /**
+     * Get the probability of a value to be a spike.
+     *
+     * @return the probability of a spike
+     */
+    public double getSpikeProbability() {
+        return this.spikeProbability;
+    }
+
+    /**
+     * Get the factor a spike is multiplied by.
+     *
+     * @return the factor of a spike
+     */
+    public double getSpikeFactor() {
+        return this.spikeFactor;
+    }
+}
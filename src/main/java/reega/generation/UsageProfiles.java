@@ -0,0 +1,160 @@
+package reega.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import reega.data.models.DataType;
+import reega.main.Settings;
+
+/**
+ * Set of {@link UsageProfile}s by {@link DataType}, read from a JSON configuration like:
+ *
+ * <pre>
+ * {
+ *   "timezone": "Europe/Rome",
+ *   "profiles": {
+ *     "electricity": { "hourly": [24 values], "weekend": 1.1, "monthly": [12 values],
+ *                      "spike_probability": 0.01, "spike_factor": 3 }
+ *   }
+ * }
+ * </pre>
+ *
+ * The timezone is the one of the hours and days of the profiles, the client one if it's missing. Data types without a
+ * profile are generated without time structure. The default profiles are read from {@value #DEFAULT_RESOURCE}.
+ */
+public final class UsageProfiles {
+    private static final String DEFAULT_RESOURCE = "/generation/profiles.json";
+    private static UsageProfiles defaultInstance;
+
+    @SerializedName("timezone")
+    private String timezone;
+    @SerializedName("profiles")
+    private Map<String, UsageProfile> profiles;
+
+    private transient ZoneId zone;
+    private transient Map<DataType, UsageProfile> profilesByType;
+
+    private UsageProfiles() {
+    }
+
+    /**
+     * Read the profiles from a JSON configuration.
+     *
+     * @param reader reader of the configuration
+     * @return the profiles of the configuration
+     * @throws IllegalArgumentException if the configuration is not valid
+     */
+    public static UsageProfiles load(final Reader reader) {
+        final UsageProfiles loaded;
+        try {
+            loaded = new Gson().fromJson(reader, UsageProfiles.class);
+        } catch (final JsonParseException e) {
+            throw new IllegalArgumentException("Invalid usage profiles: " + e.getMessage(), e);
+        }
+        if (loaded == null) {
+            throw new IllegalArgumentException("Empty usage profiles");
+        }
+        try {
+            loaded.zone = ZoneId.of(Objects.requireNonNullElse(loaded.timezone, Settings.CLIENT_TIMEZONE));
+        } catch (final DateTimeException e) {
+            throw new IllegalArgumentException("Invalid timezone in usage profiles: " + loaded.timezone, e);
+        }
+        loaded.profilesByType = new EnumMap<>(DataType.class);
+        if (loaded.profiles != null) {
+            for (final Map.Entry<String, UsageProfile> entry : loaded.profiles.entrySet()) {
+                final DataType type = DataType.fromName(entry.getKey());
+                if (type == null) {
+                    throw new IllegalArgumentException("Unknown data type in usage profiles: " + entry.getKey());
+                }
+                if (entry.getValue() == null) {
+                    throw new IllegalArgumentException("Missing profile " + entry.getKey());
+                }
+                try {
+                    entry.getValue().normalize();
+                } catch (final IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid profile " + entry.getKey() + ": " + e.getMessage(), e);
+                }
+                loaded.profilesByType.put(type, entry.getValue());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Read the profiles from a JSON configuration file.
+     *
+     * @param file configuration file
+     * @return the profiles of the configuration
+     * @throws IOException              if the file can't be read
+     * @throws IllegalArgumentException if the configuration is not valid
+     */
+    public static UsageProfiles load(final File file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return UsageProfiles.load(reader);
+        }
+    }
+
+    /**
+     * Get the profiles used by default by the generators, reading the bundled configuration if needed.
+     *
+     * @return the default {@link UsageProfiles}
+     */
+    public static synchronized UsageProfiles getDefault() {
+        if (UsageProfiles.defaultInstance == null) {
+            try (InputStream stream = UsageProfiles.class.getResourceAsStream(UsageProfiles.DEFAULT_RESOURCE)) {
+                if (stream == null) {
+                    throw new IllegalStateException("Missing resource " + UsageProfiles.DEFAULT_RESOURCE);
+                }
+                UsageProfiles.defaultInstance = UsageProfiles
+                        .load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return UsageProfiles.defaultInstance;
+    }
+
+    /**
+     * Replace the profiles used by default by the generators. It only affects the generators created afterwards.
+     *
+     * @param profiles new default profiles
+     */
+    public static synchronized void setDefault(final UsageProfiles profiles) {
+        UsageProfiles.defaultInstance = Objects.requireNonNull(profiles);
+    }
+
+    /**
+     * Get the timezone of the profiles.
+     *
+     * @return the timezone of the hours and days of the profiles
+     */
+    public ZoneId getZone() {
+        return this.zone;
+    }
+
+    /**
+     * Get the profile of a data type.
+     *
+     * @param type data type
+     * @return the profile of <code>type</code>, empty if it has no profile
+     */
+    public Optional<UsageProfile> get(final DataType type) {
+        return Optional.ofNullable(this.profilesByType.get(type));
+    }
+}
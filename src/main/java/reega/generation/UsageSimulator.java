@@ -44,4 +44,17 @@ public interface UsageSimulator {
      * @return an {@link java.util.Optional}.
      */
     Optional<Double> getUsage(DataType service);
+
+    /**
+     * Generates a whole series of usages of the specified service at once, see {@link Generator#fill}.
+     *
+     * @param service type of service of which the usage will be generated.
+     * @param out     array filled with the generated values, <code>out[i]</code> is the usage at
+     *                <code>start + i * step</code>.
+     * @param start   timestamp of the first value.
+     * @param step    distance between two consecutive timestamps.
+     * @return true if the service belongs to the ones specified at construction, false otherwise, leaving
+     *         <code>out</code> untouched.
+     */
+    boolean fill(DataType service, double[] out, long start, long step);
 }
@@ -0,0 +1,17 @@
+package reega.io;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * Interface for choosing a directory.
+ */
+public interface DirectoryDialog {
+    /**
+     * Open a dialog to choose a directory and return an {@link Optional} filled in with the directory if it has been
+     * chosen, otherwise return an empty {@link Optional}.
+     *
+     * @return a filled in {@link Optional} if a directory has been chosen, otherwise an empty {@link Optional}
+     */
+    Optional<File> openDirectoryDialog();
+}
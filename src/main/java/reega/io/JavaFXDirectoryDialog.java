@@ -0,0 +1,20 @@
+package reega.io;
+
+import java.io.File;
+import java.util.Optional;
+
+import javafx.stage.DirectoryChooser;
+
+public class JavaFXDirectoryDialog implements DirectoryDialog {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<File> openDirectoryDialog() {
+        final DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Choose Export Directory");
+        directoryChooser.setInitialDirectory(new File(System.getProperty("user.home")));
+        final File selectedDirectory = directoryChooser.showDialog(null);
+        return Optional.ofNullable(selectedDirectory);
+    }
+}
@@ -2,15 +2,31 @@ package reega.main;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reega.data.factory.ContractControllerFactory;
+import reega.data.factory.DataControllerFactory;
+import reega.data.remote.HttpTransport;
 import reega.data.remote.RemoteConnection;
 import reega.generation.DataFiller;
+import reega.generation.GenerationSeed;
+import reega.generation.HistoricalBackfill;
 import reega.generation.OnDemandDataFiller;
+import reega.generation.UsageProfiles;
+import reega.io.IOControllerFactory;
 
+import javax.annotation.Nullable;
+import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 
 public final class GenerationLauncher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GenerationLauncher.class);
+    private static final int DEFAULT_THREADS = 1;
+    private static final int DEFAULT_UPLOADS = 4;
+    private static final String BACKFILL_COMMAND = "backfill";
+    private static final String BACKFILL_CHECKPOINT = "backfill-checkpoint.json";
 
     private GenerationLauncher() {
     }
@@ -21,14 +37,114 @@ public final class GenerationLauncher {
         final RemoteConnection connection = new RemoteConnection();
         connection.overrideToken(accessToken);
 
+        final String profiles = System.getenv("GENERATION_PROFILES");
+        if (profiles != null && !profiles.isBlank()) {
+            try {
+                UsageProfiles.setDefault(UsageProfiles.load(new File(profiles)));
+            } catch (final IOException | IllegalArgumentException e) {
+                GenerationLauncher.LOGGER.error("could not read the usage profiles " + profiles, e);
+                System.exit(1);
+            }
+        }
+
+        int status = 0;
+        if (args.length > 0 && GenerationLauncher.BACKFILL_COMMAND.equals(args[0])) {
+            status = GenerationLauncher.backfill(args);
+        } else {
+            try {
+                // GENERATION_THREADS > 1 generates and uploads the contracts in parallel
+                final DataFiller generation = new OnDemandDataFiller(
+                        GenerationLauncher.getIntEnv("GENERATION_THREADS", GenerationLauncher.DEFAULT_THREADS),
+                        GenerationLauncher.getIntEnv("GENERATION_UPLOADS", GenerationLauncher.DEFAULT_UPLOADS),
+                        GenerationLauncher.getSeed());
+                generation.fill();
+            } catch (final IOException e) {
+                GenerationLauncher.LOGGER.error("couldn't access DB");
+            }
+        }
+        HttpTransport.getDefault().getMetrics().logSummary();
+
+        System.exit(status);
+    }
+
+    /**
+     * Backfill every contract between two dates: <code>backfill from to [checkpoint]</code>, with the dates in the
+     * <code>yyyy-MM-dd</code> format, in the client timezone, and the end excluded. The checkpoint defaults to
+     * {@value #BACKFILL_CHECKPOINT} in the app directory.
+     *
+     * @return the exit status
+     */
+    private static int backfill(final String[] args) {
+        if (args.length < 3 || args.length > 4) {
+            GenerationLauncher.LOGGER.error("usage: GenerationLauncher backfill from to [checkpoint]");
+            return 1;
+        }
+        final ZoneId zone = ZoneId.of(Settings.CLIENT_TIMEZONE);
+        final long from;
+        final long to;
+        try {
+            from = LocalDate.parse(args[1]).atStartOfDay(zone).toInstant().toEpochMilli();
+            to = LocalDate.parse(args[2]).atStartOfDay(zone).toInstant().toEpochMilli();
+        } catch (final DateTimeParseException e) {
+            GenerationLauncher.LOGGER.error("invalid date: " + e.getParsedString());
+            return 1;
+        }
+        final File checkpoint = args.length > 3 ? new File(args[3])
+                : new File(IOControllerFactory.getDefaultIOController().getDefaultDirectory(),
+                        GenerationLauncher.BACKFILL_CHECKPOINT);
         try {
-            final DataFiller generation = new OnDemandDataFiller();
-            generation.fill();
-        } catch (final IOException e) {
-            GenerationLauncher.LOGGER.error("couldn't access DB");
+            final HistoricalBackfill backfill = new HistoricalBackfill(
+                    DataControllerFactory.getDefaultDataController(null), checkpoint,
+                    HistoricalBackfill.DEFAULT_WINDOW,
+                    GenerationLauncher.getIntEnv("GENERATION_THREADS", HistoricalBackfill.DEFAULT_THREADS),
+                    GenerationLauncher.getSeed());
+            backfill.backfill(ContractControllerFactory.getDefaultDataController(null).getAllContracts(), from, to);
+            if (!backfill.getFailedContracts().isEmpty()) {
+                GenerationLauncher.LOGGER.error("could not backfill the contracts " + backfill.getFailedContracts()
+                        + ", run the backfill again to resume");
+                return 1;
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            GenerationLauncher.LOGGER.error("backfill failed", e);
+            return 1;
         }
+        return 0;
+    }
 
-        System.exit(0);
+    /**
+     * Read the master seed from GENERATION_SEED, so that a run can be reproduced.
+     */
+    @Nullable
+    private static GenerationSeed getSeed() {
+        final String value = System.getenv("GENERATION_SEED");
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            final GenerationSeed seed = new GenerationSeed(Long.parseLong(value.trim()));
+            GenerationLauncher.LOGGER.info("generating with the seed " + seed.getMasterSeed());
+            return seed;
+        } catch (final NumberFormatException e) {
+            GenerationLauncher.LOGGER.error("invalid GENERATION_SEED: " + value + ", generating random values");
+            return null;
+        }
+    }
+
+    private static int getIntEnv(final String name, final int defaultValue) {
+        final String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            final int parsed = Integer.parseInt(value.trim());
+            if (parsed >= 1) {
+                return parsed;
+            }
+        } catch (final NumberFormatException e) {
+            // fall back to the default below
+        }
+        GenerationLauncher.LOGGER.error("invalid " + name + ": " + value + ", using " + defaultValue);
+        return defaultValue;
     }
 
 }
@@ -0,0 +1,66 @@
+package reega.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reega.data.exporter.CompressionCodec;
+import reega.data.exporter.ExportFormat;
+import reega.data.factory.DataControllerFactory;
+import reega.data.importer.BulkImporter;
+import reega.data.remote.RemoteConnection;
+
+/**
+ * Launcher of the bulk import of a CSV or JSON usage file: <code>ImportLauncher file [checkpoint]</code>. The format
+ * is chosen by the extension of the file, which may be compressed; the checkpoint defaults to the file name followed
+ * by <code>.checkpoint</code>.
+ */
+public final class ImportLauncher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportLauncher.class);
+    private static final String USAGE = "usage: ImportLauncher file.{csv,json}[.gz] [checkpoint]";
+
+    private ImportLauncher() {
+    }
+
+    public static void main(final String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            ImportLauncher.LOGGER.error(ImportLauncher.USAGE);
+            System.exit(1);
+        }
+        final File file = new File(args[0]);
+        final File checkpoint = new File(args.length > 1 ? args[1] : args[0] + ".checkpoint");
+        final String name = file.getName().toLowerCase(Locale.ROOT);
+        final String uncompressedName = name.substring(0,
+                name.length() - CompressionCodec.fromFileName(name).getExtension().length());
+        final ExportFormat format;
+        if (uncompressedName.endsWith(ExportFormat.CSV.getExtension())) {
+            format = ExportFormat.CSV;
+        } else if (uncompressedName.endsWith(ExportFormat.JSON.getExtension())) {
+            format = ExportFormat.JSON;
+        } else {
+            ImportLauncher.LOGGER.error("unsupported file " + file.getName() + ", " + ImportLauncher.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        final String accessToken = System.getenv("AUTH_TOKEN");
+        final RemoteConnection connection = new RemoteConnection();
+        connection.overrideToken(accessToken);
+
+        int status = 0;
+        try {
+            new BulkImporter(DataControllerFactory.getDefaultDataController(null)).importFile(format, file,
+                    checkpoint);
+        } catch (final IOException e) {
+            ImportLauncher.LOGGER.error("import of " + file.getAbsolutePath() + " failed", e);
+            status = 1;
+        }
+
+        System.exit(status);
+    }
+
+}
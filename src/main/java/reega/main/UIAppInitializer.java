@@ -3,6 +3,8 @@
  */
 package reega.main;
 
+import java.io.File;
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -40,6 +42,7 @@ import reega.data.factory.AuthControllerFactory;
 import reega.data.factory.ContractControllerFactory;
 import reega.data.factory.DataControllerFactory;
 import reega.data.factory.UserControllerFactory;
+import reega.data.remote.HttpTransport;
 import reega.data.remote.RemoteConnection;
 import reega.io.IOController;
 import reega.io.IOControllerFactory;
@@ -72,6 +75,10 @@ import reega.viewutils.ReegaView;
  */
 public final class UIAppInitializer implements AppInitializer {
 
+    private static final String HTTP_CACHE_DIRECTORY = "http-cache";
+    private static final long HTTP_CACHE_SIZE = 50L * 1024 * 1024;
+    private static final String HTTP_METRICS_MBEAN = "reega:type=HttpMetrics";
+    private static final Duration HTTP_METRICS_LOG_PERIOD = Duration.ofMinutes(5);
     private static UIAppInitializer instance;
     private ServiceProvider svcProvider;
     private boolean alreadyCalledInitialize;
@@ -97,6 +104,13 @@ public final class UIAppInitializer implements AppInitializer {
      * @return the service provider for the app
      */
     private ServiceProvider buildServiceProvider() {
+        // the transport needs to be replaced before creating any connection
+        HttpTransport.setDefault(HttpTransport.builder()
+                .cache(new File(IOControllerFactory.getDefaultIOController().getDefaultDirectory(),
+                        UIAppInitializer.HTTP_CACHE_DIRECTORY), UIAppInitializer.HTTP_CACHE_SIZE)
+                .build());
+        HttpTransport.getDefault().getMetrics().registerMBean(UIAppInitializer.HTTP_METRICS_MBEAN);
+        HttpTransport.getDefault().getMetrics().startLogging(UIAppInitializer.HTTP_METRICS_LOG_PERIOD);
         final ServiceCollection svcCollection = new ServiceCollection();
         svcCollection.addSingleton(Navigator.class, (Function<ServiceProvider, Navigator>) NavigatorImpl::new);
         svcCollection.addSingleton(MasterViewModel.class);
@@ -1,9 +1,6 @@
 package reega.statistics;
 
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import org.apache.commons.lang3.tuple.Pair;
 
 import reega.data.models.ServiceType;
 
@@ -25,9 +22,7 @@ public class DataPlotterImpl implements DataPlotter {
      */
     @Override
     public Map<Long, Double> getData() {
-        return StatisticsUtils.groupDataByDay(this.statisticsController.getCurrentData(), this.svcType)
-                .map(entry -> Pair.of(entry.getKey().getTime(), entry.getValue()))
-                .collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+        return this.statisticsController.getDailyUsage(this.svcType);
     }
 
     /**
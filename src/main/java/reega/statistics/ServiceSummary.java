@@ -0,0 +1,162 @@
+package reega.statistics;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import reega.data.models.TimeSeries;
+import reega.util.TimeBuckets;
+
+/**
+ * Usage summary of a single {@link reega.data.models.ServiceType}: the usage of each day, the peak day, the average
+ * daily usage, the total usage and the number of samples. Series can be added and subtracted, so the summary can be
+ * kept up to date without aggregating all the data again; the days are also indexed by usage to find the peak in
+ * O(log(days)).
+ */
+public final class ServiceSummary {
+    /**
+     * Highest usage first, the oldest day first when the usage is the same.
+     */
+    private static final Comparator<DayBucket> PEEK_ORDER = Comparator.comparingDouble((DayBucket b) -> b.sum)
+            .reversed()
+            .thenComparingLong(b -> b.day);
+
+    private final Map<Long, DayBucket> days = new HashMap<>();
+    private final NavigableSet<DayBucket> daysByUsage = new TreeSet<>(ServiceSummary.PEEK_ORDER);
+    private double total;
+    private long count;
+
+    /**
+     * Add the samples of <code>series</code> to the summary.
+     *
+     * @param series  samples to add
+     * @param buckets day buckets covering the span of <code>series</code>
+     */
+    void add(final TimeSeries series, final TimeBuckets buckets) {
+        this.apply(series, buckets, 1);
+    }
+
+    /**
+     * Subtract the samples of <code>series</code>, previously added with {@link #add(TimeSeries, TimeBuckets)}, from
+     * the summary.
+     *
+     * @param series  samples to subtract
+     * @param buckets day buckets covering the span of <code>series</code>
+     */
+    void subtract(final TimeSeries series, final TimeBuckets buckets) {
+        this.apply(series, buckets, -1);
+    }
+
+    /**
+     * Group the samples of <code>series</code> by day, then update each touched day once. The samples are sorted, so
+     * the day only needs to be looked up when a sample falls outside the previous one.
+     *
+     * @param series  samples to apply
+     * @param buckets day buckets covering the span of <code>series</code>
+     * @param sign    1 to add the samples, -1 to subtract them
+     */
+    private void apply(final TimeSeries series, final TimeBuckets buckets, final int sign) {
+        final Map<Long, DayBucket> deltas = new HashMap<>();
+        DayBucket current = null;
+        long dayEnd = Long.MIN_VALUE;
+        for (int i = 0; i < series.size(); i++) {
+            final long timestamp = series.getTimestamp(i);
+            if (current == null || timestamp < current.day || timestamp >= dayEnd) {
+                final int index = buckets.indexOf(timestamp);
+                final long day = index >= 0 ? buckets.getStart(index) : buckets.startOf(timestamp);
+                dayEnd = index >= 0 ? buckets.getEnd(index) : day;
+                current = deltas.computeIfAbsent(day, DayBucket::new);
+            }
+            current.sum += series.getValue(i);
+            current.count++;
+        }
+        for (final DayBucket delta : deltas.values()) {
+            final DayBucket bucket = this.days.computeIfAbsent(delta.day, DayBucket::new);
+            this.daysByUsage.remove(bucket);
+            bucket.sum += sign * delta.sum;
+            bucket.count += sign * delta.count;
+            if (bucket.count > 0) {
+                this.daysByUsage.add(bucket);
+            } else {
+                this.days.remove(bucket.day);
+            }
+            this.total += sign * delta.sum;
+            this.count += sign * delta.count;
+        }
+        if (this.count == 0) {
+            // avoid keeping the rounding errors of the subtractions
+            this.total = 0;
+        }
+    }
+
+    /**
+     * Get the usage of each day.
+     *
+     * @return a {@link Map} having the start of the day (in milliseconds) as key and the usage as value
+     */
+    public Map<Long, Double> getDailyUsage() {
+        final Map<Long, Double> dailyUsage = new HashMap<>();
+        this.days.values().forEach(bucket -> dailyUsage.put(bucket.day, bucket.sum));
+        return dailyUsage;
+    }
+
+    /**
+     * Get the day with the highest usage; if more days have the same usage the oldest one is returned.
+     *
+     * @return the date(day) of the peek usage and the value of the peek, or an empty {@link Optional} if there is no
+     *         usage
+     */
+    public Optional<Pair<Date, Double>> getPeek() {
+        if (this.daysByUsage.isEmpty()) {
+            return Optional.empty();
+        }
+        final DayBucket peek = this.daysByUsage.first();
+        return Optional.of(Pair.of(new Date(peek.day), peek.sum));
+    }
+
+    /**
+     * Get the average usage by day.
+     *
+     * @return the average usage by day, 0 if there is no usage
+     */
+    public double getAverageUsage() {
+        return this.days.isEmpty() ? 0 : this.total / this.days.size();
+    }
+
+    /**
+     * Get the total usage.
+     *
+     * @return the total usage
+     */
+    public double getTotalUsage() {
+        return this.total;
+    }
+
+    /**
+     * Get the number of samples.
+     *
+     * @return the number of samples
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Usage of a single day.
+     */
+    private static final class DayBucket {
+        private final long day;
+        private double sum;
+        private long count;
+
+        DayBucket(final long day) {
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package reega.statistics;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import reega.data.models.Data;
+import reega.data.models.ServiceType;
+import reega.util.TimeBuckets;
+
+/**
+ * Aggregation engine that builds the {@link ServiceSummary} of every {@link ServiceType} with a single pass over the
+ * data, and keeps them up to date when data is added or removed. Samples are grouped by day in the client timezone.
+ */
+public final class StatisticsAggregator {
+
+    private StatisticsAggregator() {
+    }
+
+    /**
+     * Aggregate <code>data</code> by {@link ServiceType}.
+     *
+     * @param data data that needs to be aggregated
+     * @return a {@link Map} containing a {@link ServiceSummary} for every {@link ServiceType}
+     */
+    public static Map<ServiceType, ServiceSummary> aggregate(final List<Data> data) {
+        final Map<ServiceType, ServiceSummary> summaries = new EnumMap<>(ServiceType.class);
+        for (final ServiceType svcType : ServiceType.values()) {
+            summaries.put(svcType, new ServiceSummary());
+        }
+        StatisticsAggregator.add(summaries, data);
+        return summaries;
+    }
+
+    /**
+     * Add the contribution of <code>data</code> to <code>summaries</code>.
+     *
+     * @param summaries summaries created by {@link #aggregate(List)}
+     * @param data      data that needs to be added
+     */
+    public static void add(final Map<ServiceType, ServiceSummary> summaries, final List<Data> data) {
+        final TimeBuckets days = TimeBuckets.covering(TimeBuckets.Granularity.DAY, data);
+        data.forEach(series -> summaries.get(series.getType().getServiceType()).add(series.getSeries(), days));
+    }
+
+    /**
+     * Subtract the contribution of <code>data</code>, previously added, from <code>summaries</code>.
+     *
+     * @param summaries summaries created by {@link #aggregate(List)}
+     * @param data      data that needs to be subtracted
+     */
+    public static void subtract(final Map<ServiceType, ServiceSummary> summaries, final List<Data> data) {
+        final TimeBuckets days = TimeBuckets.covering(TimeBuckets.Granularity.DAY, data);
+        data.forEach(series -> summaries.get(series.getType().getServiceType()).subtract(series.getSeries(), days));
+    }
+}
@@ -2,6 +2,7 @@ package reega.statistics;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -17,6 +18,23 @@ public interface StatisticsController {
      */
     void setData(List<Data> data);
 
+    /**
+     * Add the data of a contract to the current data, updating the statistics without aggregating all the data
+     * again. If the contract is already present its data is replaced.
+     *
+     * @param contractID id of the contract
+     * @param data       data of the contract
+     */
+    void addContractData(int contractID, List<Data> data);
+
+    /**
+     * Remove the data of a contract from the current data, updating the statistics without aggregating all the data
+     * again.
+     *
+     * @param contractID id of the contract
+     */
+    void removeContractData(int contractID);
+
     /**
      * Get the peek usage.
      *
@@ -41,6 +59,14 @@ public interface StatisticsController {
      */
     double getTotalUsage(ServiceType svcType);
 
+    /**
+     * Get the usage of each day.
+     *
+     * @param svcType service type used to get the daily usage
+     * @return a {@link Map} having the start of the day (in milliseconds) as key and the usage of that day as value
+     */
+    Map<Long, Double> getDailyUsage(ServiceType svcType);
+
     /**
      * Get the current data.
      *
@@ -1,11 +1,11 @@
 package reega.statistics;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -16,148 +16,107 @@ import reega.data.models.ServiceType;
 
 public class StatisticsControllerImpl implements StatisticsController {
 
+    private final Map<Integer, List<Data>> dataByContract = new LinkedHashMap<>();
     private List<Data> data;
-    private Map<ServiceType, DataCache> dataCacheMap;
+    private Map<ServiceType, ServiceSummary> summaries;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void setData(final List<Data> data) {
+        this.dataByContract.clear();
+        data.forEach(d -> this.dataByContract.computeIfAbsent(d.getContractID(), k -> new ArrayList<>()).add(d));
         this.data = data;
-        this.dataCacheMap = new HashMap<>();
+        this.summaries = null;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Optional<Pair<Date, Double>> getPeek(final ServiceType svcType) {
-        final DataCache dataCache = this.getOrCreateDataCache(svcType);
-        if (dataCache.getPeek().isPresent()) {
-            return dataCache.getPeek();
+    public void addContractData(final int contractID, final List<Data> data) {
+        this.removeContractData(contractID);
+        this.dataByContract.put(contractID, data);
+        this.data = null;
+        if (this.summaries != null) {
+            StatisticsAggregator.add(this.summaries, data);
         }
-        final Optional<Pair<Date, Double>> peekValue = StatisticsUtils.groupDataByDay(this.data, svcType)
-                .max(Comparator.comparingDouble(Map.Entry::getValue))
-                .map(data -> Pair.of(data.getKey(), data.getValue()));
-        dataCache.setPeek(peekValue);
-        return dataCache.getPeek();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public double getAverageUsage(final ServiceType svcType) {
-        final DataCache dataCache = this.getOrCreateDataCache(svcType);
-        if (dataCache.getAverageUsage().isPresent()) {
-            return dataCache.getAverageUsage().get();
+    public void removeContractData(final int contractID) {
+        final List<Data> removed = this.dataByContract.remove(contractID);
+        if (removed == null) {
+            return;
+        }
+        this.data = null;
+        if (this.summaries != null) {
+            StatisticsAggregator.subtract(this.summaries, removed);
         }
-        final double averageUsage = StatisticsUtils.groupDataByDay(this.data, svcType)
-                .collect(Collectors.averagingDouble(Entry::getValue));
-        dataCache.setAverageUsage(averageUsage);
-        return dataCache.getAverageUsage().get();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public double getTotalUsage(final ServiceType svcType) {
-        final DataCache dataCache = this.getOrCreateDataCache(svcType);
-        if (dataCache.getTotalUsage().isPresent()) {
-            return dataCache.getTotalUsage().get();
-        }
-        final double totalUsage = StatisticsUtils.filterBySvcTypeAndGetData(this.data, svcType)
-                .collect(Collectors.summingDouble(Entry::getValue));
-        dataCache.setTotalUsage(totalUsage);
-        return dataCache.getTotalUsage().get();
+    public Optional<Pair<Date, Double>> getPeek(final ServiceType svcType) {
+        return this.getSummary(svcType).getPeek();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Data> getCurrentData() {
-        return this.data;
+    public double getAverageUsage(final ServiceType svcType) {
+        return this.getSummary(svcType).getAverageUsage();
     }
 
     /**
-     * Get the {@link DataCache} object corresponding to the <code>svcType</code> or create it and store it into the
-     * {@link #dataCacheMap}.
-     *
-     * @param svcType {@link ServiceType} needed
-     * @return the {@link DataCache} in the map
+     * {@inheritDoc}
      */
-    private DataCache getOrCreateDataCache(final ServiceType svcType) {
-        if (this.dataCacheMap.containsKey(svcType)) {
-            return this.dataCacheMap.get(svcType);
-        }
-        final DataCache dCache = new DataCache();
-        this.dataCacheMap.put(svcType, dCache);
-        return dCache;
+    @Override
+    public double getTotalUsage(final ServiceType svcType) {
+        return this.getSummary(svcType).getTotalUsage();
     }
 
     /**
-     * Caching class for the data in order to perform the operation only once.
+     * {@inheritDoc}
      */
-    private static class DataCache {
-        private Optional<Pair<Date, Double>> peek = Optional.empty();
-        private Optional<Double> averageUsage = Optional.empty();
-        private Optional<Double> totalUsage = Optional.empty();
-
-        /**
-         * Set the peek value.
-         *
-         * @param peek peek value
-         */
-        public void setPeek(final Optional<Pair<Date, Double>> peek) {
-            this.peek = peek;
-        }
-
-        /**
-         * Set the average usage.
-         *
-         * @param averageUsage average usage
-         */
-        public void setAverageUsage(final double averageUsage) {
-            this.averageUsage = Optional.of(averageUsage);
-        }
-
-        /**
-         * Set the total usage.
-         *
-         * @param totalUsage total usage
-         */
-        public void setTotalUsage(final double totalUsage) {
-            this.totalUsage = Optional.of(totalUsage);
-        }
-
-        /**
-         * Get the peek value.
-         *
-         * @return the peek value
-         */
-        public Optional<Pair<Date, Double>> getPeek() {
-            return this.peek;
-        }
+    @Override
+    public Map<Long, Double> getDailyUsage(final ServiceType svcType) {
+        return this.getSummary(svcType).getDailyUsage();
+    }
 
-        /**
-         * Get the average usage.
-         *
-         * @return the average usage
-         */
-        public Optional<Double> getAverageUsage() {
-            return this.averageUsage;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> getCurrentData() {
+        if (this.data == null) {
+            this.data = this.dataByContract.values()
+                    .stream()
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList());
         }
+        return this.data;
+    }
 
-        /**
-         * Get the total usage.
-         *
-         * @return the total usage
-         */
-        public Optional<Double> getTotalUsage() {
-            return this.totalUsage;
+    /**
+     * Get the {@link ServiceSummary} of <code>svcType</code>, aggregating all the data of every {@link ServiceType}
+     * in a single pass the first time a statistic is requested after {@link #setData(List)}. Afterwards the summaries
+     * are kept up to date by {@link #addContractData(int, List)} and {@link #removeContractData(int)}.
+     *
+     * @param svcType {@link ServiceType} needed
+     * @return the {@link ServiceSummary} of <code>svcType</code>
+     */
+    private ServiceSummary getSummary(final ServiceType svcType) {
+        if (this.summaries == null) {
+            this.summaries = StatisticsAggregator.aggregate(this.getCurrentData());
         }
+        return this.summaries.get(svcType);
     }
 }
@@ -1,17 +1,16 @@
 package reega.statistics;
 
-import java.util.Calendar;
+import java.util.AbstractMap;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import org.apache.commons.lang3.time.DateUtils;
-
 import reega.data.models.Data;
 import reega.data.models.ServiceType;
+import reega.util.TimeBuckets;
 
 public final class StatisticsUtils {
 
@@ -19,20 +18,27 @@ public final class StatisticsUtils {
     }
 
     /**
-     * Group the data by day.
+     * Group the data by day, in the client timezone.
      *
      * @param data    data that needs to be grouped
      * @param svcType service type needed for this type of data
-     * @return a {@link Stream} containing pairs of Day-Value
+     * @return a {@link Stream} containing pairs of Day-Value, sorted by day
      */
     public static Stream<Map.Entry<Date, Double>> groupDataByDay(final List<Data> data, final ServiceType svcType) {
-        // If the service type is not GARBAGE then data is produced once a day
-        // Else it's produced every hour
-        return StatisticsUtils.filterBySvcTypeAndGetData(data, svcType)
-                .collect(Collectors.groupingBy(elem -> DateUtils.truncate(new Date(elem.getKey()), Calendar.DATE),
-                        Collectors.summingDouble(Entry::getValue)))
-                .entrySet()
-                .stream();
+        final List<Data> filtered = data.stream()
+                .filter(dat -> dat.getType().getServiceType() == svcType)
+                .collect(Collectors.toList());
+        final TimeBuckets days = TimeBuckets.covering(TimeBuckets.Granularity.DAY, filtered);
+        final double[] sums = new double[days.size()];
+        final boolean[] used = new boolean[days.size()];
+        filtered.forEach(dat -> dat.getSeries().forEach((timestamp, value) -> {
+            final int index = days.indexOf(timestamp);
+            sums[index] += value;
+            used[index] = true;
+        }));
+        return IntStream.range(0, sums.length)
+                .filter(i -> used[i])
+                .mapToObj(i -> new AbstractMap.SimpleImmutableEntry<>(new Date(days.getStart(i)), sums[i]));
     }
 
     /**
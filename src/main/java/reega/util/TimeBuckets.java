@@ -0,0 +1,274 @@
+package reega.util;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import reega.data.models.Data;
+import reega.data.models.TimeSeries;
+import reega.main.Settings;
+
+/**
+ * Calendar buckets (hours, days, weeks or months) covering a time span in a given timezone. The boundaries are
+ * computed once with {@link ZonedDateTime}, so days of 23 or 25 hours caused by DST transitions are handled
+ * correctly; afterwards an epoch-millis timestamp is mapped to its bucket with a binary search, without allocating.
+ */
+public final class TimeBuckets {
+    private static final ZoneId CLIENT_ZONE = ZoneId.of(Settings.CLIENT_TIMEZONE);
+
+    private final Granularity granularity;
+    private final ZoneId zone;
+    /**
+     * Start of every bucket, followed by the end of the last one.
+     */
+    private final long[] boundaries;
+
+    private TimeBuckets(final Granularity granularity, final ZoneId zone, final long[] boundaries) {
+        this.granularity = granularity;
+        this.zone = zone;
+        this.boundaries = boundaries;
+    }
+
+    /**
+     * Create the buckets covering the span between <code>from</code> and <code>to</code> (both inclusive) in the
+     * client timezone.
+     *
+     * @param granularity size of the buckets
+     * @param from        first timestamp of the span, in milliseconds
+     * @param to          last timestamp of the span, in milliseconds
+     * @return a new {@link TimeBuckets}
+     */
+    public static TimeBuckets of(final Granularity granularity, final long from, final long to) {
+        return TimeBuckets.of(granularity, TimeBuckets.CLIENT_ZONE, from, to);
+    }
+
+    /**
+     * Create the buckets covering the span between <code>from</code> and <code>to</code> (both inclusive) in
+     * <code>zone</code>.
+     *
+     * @param granularity size of the buckets
+     * @param zone        timezone of the buckets
+     * @param from        first timestamp of the span, in milliseconds
+     * @param to          last timestamp of the span, in milliseconds
+     * @return a new {@link TimeBuckets}
+     */
+    public static TimeBuckets of(final Granularity granularity, final ZoneId zone, final long from, final long to) {
+        Objects.requireNonNull(granularity);
+        Objects.requireNonNull(zone);
+        if (from > to) {
+            throw new IllegalArgumentException("from is after to");
+        }
+        long[] boundaries = new long[16];
+        int size = 0;
+        ZonedDateTime current = granularity.truncate(Instant.ofEpochMilli(from).atZone(zone));
+        long boundary = current.toInstant().toEpochMilli();
+        while (true) {
+            if (size == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, size * 2);
+            }
+            boundaries[size++] = boundary;
+            if (boundary > to) {
+                break;
+            }
+            current = granularity.next(current);
+            boundary = current.toInstant().toEpochMilli();
+        }
+        return new TimeBuckets(granularity, zone, Arrays.copyOf(boundaries, size));
+    }
+
+    /**
+     * Create the buckets covering the span between the first and the last sample of <code>data</code> in the client
+     * timezone.
+     *
+     * @param granularity size of the buckets
+     * @param data        data that needs to be covered
+     * @return a new {@link TimeBuckets}, containing only the bucket of the epoch if <code>data</code> has no samples
+     */
+    public static TimeBuckets covering(final Granularity granularity, final List<Data> data) {
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (final Data d : data) {
+            final TimeSeries series = d.getSeries();
+            if (!series.isEmpty()) {
+                from = Math.min(from, series.getTimestamp(0));
+                to = Math.max(to, series.getTimestamp(series.size() - 1));
+            }
+        }
+        if (from > to) {
+            from = 0;
+            to = 0;
+        }
+        return TimeBuckets.of(granularity, from, to);
+    }
+
+    /**
+     * Get the number of buckets.
+     *
+     * @return the number of buckets
+     */
+    public int size() {
+        return this.boundaries.length - 1;
+    }
+
+    /**
+     * Get the index of the bucket containing <code>timestamp</code>.
+     *
+     * @param timestamp timestamp in milliseconds
+     * @return the index of the bucket, or -1 if <code>timestamp</code> is outside the span of the buckets
+     */
+    public int indexOf(final long timestamp) {
+        if (timestamp < this.boundaries[0] || timestamp >= this.boundaries[this.boundaries.length - 1]) {
+            return -1;
+        }
+        final int index = Arrays.binarySearch(this.boundaries, timestamp);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Get the start of the bucket at <code>index</code>.
+     *
+     * @param index index of the bucket
+     * @return the start of the bucket in milliseconds (inclusive)
+     */
+    public long getStart(final int index) {
+        this.checkIndex(index);
+        return this.boundaries[index];
+    }
+
+    /**
+     * Get the end of the bucket at <code>index</code>.
+     *
+     * @param index index of the bucket
+     * @return the end of the bucket in milliseconds (exclusive), which is the start of the next one
+     */
+    public long getEnd(final int index) {
+        this.checkIndex(index);
+        return this.boundaries[index + 1];
+    }
+
+    /**
+     * Get the start of the bucket containing <code>timestamp</code>. Timestamps outside the span are still mapped
+     * correctly, but through the slower calendar computation.
+     *
+     * @param timestamp timestamp in milliseconds
+     * @return the start of the bucket in milliseconds
+     */
+    public long startOf(final long timestamp) {
+        final int index = this.indexOf(timestamp);
+        if (index >= 0) {
+            return this.boundaries[index];
+        }
+        return this.granularity.truncate(Instant.ofEpochMilli(timestamp).atZone(this.zone)).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Get the size of the buckets.
+     *
+     * @return the granularity of the buckets
+     */
+    public Granularity getGranularity() {
+        return this.granularity;
+    }
+
+    /**
+     * Get the timezone of the buckets.
+     *
+     * @return the timezone of the buckets
+     */
+    public ZoneId getZone() {
+        return this.zone;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + this.size());
+        }
+    }
+
+    /**
+     * Size of a bucket.
+     */
+    public enum Granularity {
+        /**
+         * One hour.
+         */
+        HOUR {
+            @Override
+            ZonedDateTime truncate(final ZonedDateTime dateTime) {
+                return dateTime.truncatedTo(ChronoUnit.HOURS);
+            }
+
+            @Override
+            ZonedDateTime next(final ZonedDateTime start) {
+                return start.plusHours(1);
+            }
+        },
+        /**
+         * One calendar day.
+         */
+        DAY {
+            @Override
+            ZonedDateTime truncate(final ZonedDateTime dateTime) {
+                return dateTime.toLocalDate().atStartOfDay(dateTime.getZone());
+            }
+
+            @Override
+            ZonedDateTime next(final ZonedDateTime start) {
+                return start.toLocalDate().plusDays(1).atStartOfDay(start.getZone());
+            }
+        },
+        /**
+         * One ISO week, starting on monday.
+         */
+        WEEK {
+            @Override
+            ZonedDateTime truncate(final ZonedDateTime dateTime) {
+                final LocalDate monday = dateTime.toLocalDate()
+                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                return monday.atStartOfDay(dateTime.getZone());
+            }
+
+            @Override
+            ZonedDateTime next(final ZonedDateTime start) {
+                return start.toLocalDate().plusWeeks(1).atStartOfDay(start.getZone());
+            }
+        },
+        /**
+         * One calendar month.
+         */
+        MONTH {
+            @Override
+            ZonedDateTime truncate(final ZonedDateTime dateTime) {
+                return dateTime.toLocalDate().withDayOfMonth(1).atStartOfDay(dateTime.getZone());
+            }
+
+            @Override
+            ZonedDateTime next(final ZonedDateTime start) {
+                return start.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay(start.getZone());
+            }
+        };
+
+        /**
+         * Get the start of the bucket containing <code>dateTime</code>.
+         *
+         * @param dateTime date time
+         * @return the start of the bucket
+         */
+        abstract ZonedDateTime truncate(ZonedDateTime dateTime);
+
+        /**
+         * Get the start of the bucket following the one starting at <code>start</code>.
+         *
+         * @param start start of a bucket
+         * @return the start of the next bucket
+         */
+        abstract ZonedDateTime next(ZonedDateTime start);
+    }
+}
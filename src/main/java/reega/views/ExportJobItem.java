@@ -0,0 +1,80 @@
+package reega.views;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import reega.data.exporter.ExportJob;
+import reega.viewutils.ViewUtils;
+
+/**
+ * Item showing the progress of an {@link ExportJob}, with a button to cancel it or, once it has finished, to remove
+ * it.
+ */
+final class ExportJobItem extends VBox {
+    private final ExportJob job;
+    private final Label status = new Label();
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Button button = new Button();
+    private final Consumer<ExportJob> listener = j -> Platform.runLater(this::update);
+
+    /**
+     * Create the item of <code>job</code>.
+     *
+     * @param job      job shown by the item
+     * @param onRemove action executed when the user removes a finished job
+     */
+    ExportJobItem(final ExportJob job, final Runnable onRemove) {
+        this.job = job;
+        ViewUtils.wrapNodeWithStyleClasses(this, "export-job");
+        this.progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(this.progressBar, Priority.ALWAYS);
+        this.button.setOnAction(e -> {
+            if (this.job.getState().isFinished()) {
+                onRemove.run();
+            } else {
+                this.job.cancel();
+            }
+        });
+        final HBox progressBox = new HBox(5, this.progressBar, this.button);
+        progressBox.setAlignment(Pos.CENTER_LEFT);
+        this.getChildren().addAll(new Label(job.getFile().getName()), progressBox, this.status);
+        this.job.addListener(this.listener);
+        this.update();
+    }
+
+    /**
+     * Stop following the job.
+     */
+    void dispose() {
+        this.job.removeListener(this.listener);
+    }
+
+    /**
+     * Get the job shown by this item.
+     *
+     * @return the job shown by this item
+     */
+    ExportJob getJob() {
+        return this.job;
+    }
+
+    private void update() {
+        final ExportJob.State state = this.job.getState();
+        this.progressBar.setProgress(this.job.getProgress());
+        this.button.setText(state.isFinished() ? "Remove" : "Cancel");
+        if (state == ExportJob.State.RUNNING) {
+            this.status.setText(String.format(Locale.US, "%d of %d records", this.job.getRecordsWritten(),
+                    this.job.getTotalRecords()));
+        } else {
+            this.status.setText(state.name().toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -2,7 +2,9 @@ package reega.views;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +27,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import reega.controllers.MainViewModel;
+import reega.data.exporter.ExportJob;
 import reega.data.models.ServiceType;
 import reega.statistics.DataPlotter;
 import reega.viewcomponents.Card;
@@ -52,6 +55,8 @@ public abstract class MainView extends GridPane implements ReegaView {
     private VBox buttonsPane;
     @FXML
     private ToggleButton logoutButton;
+    @FXML
+    private VBox exportsPane;
 
     public MainView(final MainViewModel viewModel) {
         ReegaFXMLLoader.loadFXML(this, "views/Main.fxml");
@@ -75,6 +80,10 @@ public abstract class MainView extends GridPane implements ReegaView {
             this.populateButtonsPane(viewModel);
         });
         this.managedUser.managedProperty().bind(this.managedUser.visibleProperty());
+        this.populateExportsPane(viewModel);
+        viewModel.getExportJobs().addListener((ListChangeListener<? super ExportJob>) change -> {
+            this.populateExportsPane(viewModel);
+        });
     }
 
     protected final WrappableLabel getManagedUser() {
@@ -124,6 +133,24 @@ public abstract class MainView extends GridPane implements ReegaView {
         }).collect(Collectors.toList()));
     }
 
+    /**
+     * Populate the {@link #exportsPane}, keeping the items of the jobs that are still in the list.
+     *
+     * @param viewModel viewModel used to populate the {@link #exportsPane}
+     */
+    private void populateExportsPane(final MainViewModel viewModel) {
+        final Map<ExportJob, ExportJobItem> items = new HashMap<>();
+        this.exportsPane.getChildren().forEach(node -> {
+            final ExportJobItem item = (ExportJobItem) node;
+            items.put(item.getJob(), item);
+        });
+        this.exportsPane.getChildren().setAll(viewModel.getExportJobs().stream().map(job -> {
+            final ExportJobItem item = items.remove(job);
+            return item != null ? item : new ExportJobItem(job, () -> viewModel.getExportJobs().remove(job));
+        }).collect(Collectors.toList()));
+        items.values().forEach(ExportJobItem::dispose);
+    }
+
     /**
      * Populate the {@link #servicesPane}.
      *
@@ -7,6 +7,8 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.DialogPane;
+import reega.io.DirectoryDialog;
+import reega.io.JavaFXDirectoryDialog;
 import reega.io.JavaFXSaveDialog;
 import reega.io.SaveDialog;
 
@@ -50,4 +52,13 @@ public final class DialogFactory {
         return new JavaFXSaveDialog();
     }
 
+    /**
+     * Get the default {@link DirectoryDialog}.
+     *
+     * @return the default {@link DirectoryDialog} implementation
+     */
+    public static DirectoryDialog getDefaultDirectoryDialog() {
+        return new JavaFXDirectoryDialog();
+    }
+
 }
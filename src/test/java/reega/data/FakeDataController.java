@@ -0,0 +1,212 @@
+package reega.data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+/**
+ * In-memory {@link DataController} that keeps the series stored with {@link #putUserDataBatch(List)}. The failures of
+ * the uploads are configured with {@link #failingBatch(int)}, {@link #failingContract(int)} and
+ * {@link #throwingUpload(int, int)}, and removed with {@link #stopFailing()}.
+ */
+public final class FakeDataController implements DataController {
+    private static final int NONE = -1;
+
+    private final List<Data> stored = new ArrayList<>();
+    private final Map<Integer, Integer> contractUploads = new ConcurrentHashMap<>();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int failingBatch = FakeDataController.NONE;
+    private volatile int failingContract = FakeDataController.NONE;
+    private volatile int throwingContract = FakeDataController.NONE;
+    private volatile int throwingUpload = FakeDataController.NONE;
+    private volatile long uploadDelayMillis;
+
+    /**
+     * Return the whole batch as failed from the upload number <code>batch</code>, counting from 1.
+     *
+     * @param batch number of the failing upload
+     * @return this controller
+     */
+    public FakeDataController failingBatch(final int batch) {
+        this.failingBatch = batch;
+        return this;
+    }
+
+    /**
+     * Return the series of <code>contractID</code> as failed, storing the other series of the same batch.
+     *
+     * @param contractID ID of the failing contract
+     * @return this controller
+     */
+    public FakeDataController failingContract(final int contractID) {
+        this.failingContract = contractID;
+        return this;
+    }
+
+    /**
+     * Throw an {@link IllegalStateException} from the upload number <code>upload</code> of <code>contractID</code>,
+     * counting from 1. The contract of a batch is the one of its first series.
+     *
+     * @param contractID ID of the contract
+     * @param upload     number of the failing upload of the contract
+     * @return this controller
+     */
+    public FakeDataController throwingUpload(final int contractID, final int upload) {
+        this.throwingContract = contractID;
+        this.throwingUpload = upload;
+        return this;
+    }
+
+    /**
+     * Make every following upload succeed.
+     *
+     * @return this controller
+     */
+    public FakeDataController stopFailing() {
+        this.failingBatch = FakeDataController.NONE;
+        this.failingContract = FakeDataController.NONE;
+        this.throwingContract = FakeDataController.NONE;
+        return this;
+    }
+
+    /**
+     * Make every upload last at least <code>delay</code>, so that concurrent uploads overlap.
+     *
+     * @param delay duration of an upload
+     * @return this controller
+     */
+    public FakeDataController uploadDelay(final Duration delay) {
+        this.uploadDelayMillis = delay.toMillis();
+        return this;
+    }
+
+    /**
+     * Get the stored series, in upload order.
+     *
+     * @return a copy of the stored series
+     */
+    public List<Data> getStored() {
+        synchronized (this.stored) {
+            return new ArrayList<>(this.stored);
+        }
+    }
+
+    /**
+     * Get the timestamps stored for a series, in upload order.
+     *
+     * @param contractID ID of the contract of the series
+     * @param type       type of the series
+     * @return the stored timestamps, empty if there are none
+     */
+    public List<Long> getTimestamps(final int contractID, final DataType type) {
+        final List<Long> timestamps = new ArrayList<>();
+        for (final Data data : this.getStored()) {
+            if (data.getContractID() == contractID && data.getType() == type) {
+                data.getSeries().forEach((timestamp, value) -> timestamps.add(timestamp));
+            }
+        }
+        return timestamps;
+    }
+
+    /**
+     * Get the number of calls to {@link #putUserDataBatch(List)}, failed ones included.
+     *
+     * @return the number of uploads
+     */
+    public int getUploads() {
+        return this.uploads.get();
+    }
+
+    /**
+     * Get the maximum number of uploads that were running at the same time.
+     *
+     * @return the maximum number of concurrent uploads
+     */
+    public int getMaxInFlight() {
+        return this.maxInFlight.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putUserData(final Data data) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> putUserDataBatch(final List<Data> data) {
+        final int upload = this.uploads.incrementAndGet();
+        this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+        try {
+            this.sleep();
+            final int contractID = data.get(0).getContractID();
+            final int contractUpload = this.contractUploads.merge(contractID, 1, Integer::sum);
+            if (contractID == this.throwingContract && contractUpload == this.throwingUpload) {
+                throw new IllegalStateException("upload failed");
+            }
+            if (upload == this.failingBatch) {
+                return data;
+            }
+            final List<Data> failed = new ArrayList<>();
+            synchronized (this.stored) {
+                for (final Data d : data) {
+                    if (d.getContractID() == this.failingContract) {
+                        failed.add(d);
+                    } else {
+                        this.stored.add(d);
+                    }
+                }
+            }
+            return failed;
+        } finally {
+            this.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getLatestData(final int contractID, final DataType service) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Map<DataType, Long>> getLatestTimestamps(final Collection<Integer> contractIDs) {
+        return Map.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Data> getMonthlyData(final Integer contractID) {
+        throw new UnsupportedOperationException();
+    }
+
+    private void sleep() {
+        if (this.uploadDelayMillis > 0) {
+            try {
+                Thread.sleep(this.uploadDelayMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
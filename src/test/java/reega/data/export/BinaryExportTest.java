@@ -0,0 +1,98 @@
+package reega.data.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reega.data.exporter.CompressionCodec;
+import reega.data.exporter.ExportFormat;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ReegaExporterFactory;
+import reega.data.importer.ReegaImporterFactory;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class BinaryExportTest {
+    private static final long BASE_TIMESTAMP = 1898938800000L;
+    private File file;
+
+    @BeforeEach
+    public void createFile() throws IOException {
+        this.file = File.createTempFile("reega", ".reega");
+    }
+
+    @AfterEach
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        final Random random = new Random(7);
+        final Data hourly = new Data(2, DataType.PAPER);
+        for (int i = 0; i < 5000; i++) {
+            hourly.addRecord(BinaryExportTest.BASE_TIMESTAMP + i * 3_600_000L, random.nextGaussian());
+        }
+        final Data irregular = new Data(1, DataType.WATER);
+        long timestamp = -BinaryExportTest.BASE_TIMESTAMP;
+        for (int i = 0; i < 300; i++) {
+            timestamp += 1 + (long) (random.nextDouble() * Math.pow(10, i % 12));
+            irregular.addRecord(timestamp, i % 3 == 0 ? Double.NaN : random.nextDouble() * 1e6);
+        }
+        final Data empty = new Data(1, DataType.GAS);
+        final List<Data> data = List.of(hourly, irregular, empty);
+
+        ReegaExporterFactory.export(ExportFormat.BINARY, data, this.file.getAbsolutePath());
+        final List<Data> imported = ReegaImporterFactory.importData(ExportFormat.BINARY, this.file.getAbsolutePath());
+
+        // the series are sorted by contract
+        Assertions.assertEquals(3, imported.size());
+        this.assertSameData(irregular, imported.get(0));
+        this.assertSameData(empty, imported.get(1));
+        this.assertSameData(hourly, imported.get(2));
+    }
+
+    @Test
+    public void compressedFileRoundTrip() throws IOException {
+        final Data data = new Data(3, DataType.ELECTRICITY);
+        for (int i = 0; i < 1000; i++) {
+            data.addRecord(BinaryExportTest.BASE_TIMESTAMP + i * 3_600_000L, i / 10.0);
+        }
+        final File compressed = File.createTempFile("reega", ".reega.gz");
+        try {
+            ReegaExporterFactory.export(ExportFormat.BINARY, List.of(data), compressed.getAbsolutePath(),
+                    ExportOptions.builder().compression(CompressionCodec.GZIP).build());
+            final List<Data> imported = ReegaImporterFactory.importData(ExportFormat.BINARY,
+                    compressed.getAbsolutePath());
+            Assertions.assertEquals(1, imported.size());
+            this.assertSameData(data, imported.get(0));
+        } finally {
+            Files.deleteIfExists(compressed.toPath());
+        }
+    }
+
+    @Test
+    public void corruptedFileIsRejected() throws IOException {
+        ReegaExporterFactory.export(ExportFormat.BINARY, List.of(new Data(1, DataType.GAS)),
+                this.file.getAbsolutePath());
+        try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        Assertions.assertThrows(IOException.class,
+                () -> ReegaImporterFactory.importData(ExportFormat.BINARY, this.file.getAbsolutePath()));
+    }
+
+    private void assertSameData(final Data expected, final Data actual) {
+        Assertions.assertEquals(expected.getContractID(), actual.getContractID());
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.getData(), actual.getData());
+    }
+}
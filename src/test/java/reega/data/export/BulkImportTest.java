@@ -0,0 +1,99 @@
+package reega.data.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reega.data.FakeDataController;
+import reega.data.exporter.CompressionCodec;
+import reega.data.exporter.ExportFormat;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ReegaExporterFactory;
+import reega.data.importer.BulkImporter;
+import reega.data.importer.ReegaImporterFactory;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class BulkImportTest {
+    private static final long BASE_TIMESTAMP = 1898938800000L;
+    private static final int RECORDS_BY_SERIES = 1000;
+    @TempDir
+    Path directory;
+    private List<Data> data;
+
+    @BeforeEach
+    public void createData() {
+        this.data = new ArrayList<>();
+        for (int contract = 1; contract <= 3; contract++) {
+            for (final DataType type : List.of(DataType.ELECTRICITY, DataType.PAPER)) {
+                final Data d = new Data(contract, type);
+                for (int i = 0; i < BulkImportTest.RECORDS_BY_SERIES; i++) {
+                    // crosses the DST change of the 31st of March 2030
+                    d.addRecord(BulkImportTest.BASE_TIMESTAMP + 2_160_000_000L + i * 61_000L, contract * i / 3.0);
+                }
+                this.data.add(d);
+            }
+        }
+    }
+
+    @Test
+    public void exportedFilesAreImported() throws IOException {
+        for (final ExportFormat format : List.of(ExportFormat.CSV, ExportFormat.JSON)) {
+            for (final CompressionCodec codec : List.of(CompressionCodec.NONE, CompressionCodec.GZIP)) {
+                final File file = this.directory.resolve("data" + format.getExtension() + codec.getExtension())
+                        .toFile();
+                ReegaExporterFactory.export(format, this.data, file.getAbsolutePath(),
+                        ExportOptions.builder().compression(codec).build());
+                final List<Data> imported = ReegaImporterFactory.importData(format, file.getAbsolutePath());
+                this.assertSameData(this.data, imported);
+            }
+        }
+    }
+
+    @Test
+    public void bulkImportResumesFromTheCheckpoint() throws IOException {
+        final File file = this.directory.resolve("data.csv").toFile();
+        final File checkpoint = this.directory.resolve("data.checkpoint").toFile();
+        ReegaExporterFactory.export(ExportFormat.CSV, this.data, file.getAbsolutePath());
+
+        final FakeDataController failing = new FakeDataController().failingBatch(3);
+        Assertions.assertThrows(IOException.class,
+                () -> new BulkImporter(failing, 700, 1).importFile(ExportFormat.CSV, file, checkpoint));
+        Assertions.assertTrue(checkpoint.exists());
+
+        final FakeDataController working = new FakeDataController();
+        final long stored = new BulkImporter(working, 700, 3).importFile(ExportFormat.CSV, file, checkpoint);
+        Assertions.assertFalse(checkpoint.exists());
+        // the first two batches are not sent again
+        Assertions.assertEquals(this.data.size() * BulkImportTest.RECORDS_BY_SERIES - 2 * 700, stored);
+
+        final List<Data> all = new ArrayList<>(failing.getStored());
+        all.addAll(working.getStored());
+        final long records = all.stream().mapToLong(d -> d.getSeries().size()).sum();
+        Assertions.assertEquals(this.data.size() * BulkImportTest.RECORDS_BY_SERIES, records);
+        Assertions.assertTrue(working.getStored().stream().allMatch(d -> d.getSeries().size() <= 700));
+    }
+
+    private void assertSameData(final List<Data> expected, final List<Data> actual) {
+        final Comparator<Data> order = Comparator.comparingInt(Data::getContractID)
+                .thenComparingInt(d -> d.getType().getID());
+        final List<Data> sortedExpected = new ArrayList<>(expected);
+        sortedExpected.sort(order);
+        final List<Data> sortedActual = new ArrayList<>(actual);
+        sortedActual.sort(order);
+        Assertions.assertEquals(sortedExpected.size(), sortedActual.size());
+        for (int i = 0; i < sortedExpected.size(); i++) {
+            Assertions.assertEquals(sortedExpected.get(i).getContractID(), sortedActual.get(i).getContractID());
+            Assertions.assertEquals(sortedExpected.get(i).getType(), sortedActual.get(i).getType());
+            Assertions.assertEquals(sortedExpected.get(i).getData(), sortedActual.get(i).getData());
+        }
+    }
+}
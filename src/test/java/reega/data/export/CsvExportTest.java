@@ -0,0 +1,122 @@
+package reega.data.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reega.data.exporter.CompressionCodec;
+import reega.data.exporter.ExportFormat;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ReegaExporterFactory;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+import reega.main.Settings;
+
+public final class CsvExportTest {
+    private static final long BASE_TIMESTAMP = 1898938800000L;
+
+    private static Data data(final int contractID, final DataType type) {
+        return new Data(contractID, type, Map.of(CsvExportTest.BASE_TIMESTAMP + 1000, 5.5,
+                CsvExportTest.BASE_TIMESTAMP + 2000, 6.4, CsvExportTest.BASE_TIMESTAMP + 3000, 7.3));
+    }
+
+    // contracts interleaved on purpose, the rows are grouped by contract keeping the order of the series
+    private static List<Data> referenceData() {
+        return List.of(CsvExportTest.data(2, DataType.PAPER), CsvExportTest.data(1, DataType.PAPER),
+                CsvExportTest.data(1, DataType.GLASS), CsvExportTest.data(2, DataType.WATER),
+                CsvExportTest.data(1, DataType.ELECTRICITY), CsvExportTest.data(2, DataType.MIXED),
+                CsvExportTest.data(2, DataType.GLASS), CsvExportTest.data(1, DataType.MIXED),
+                CsvExportTest.data(1, DataType.WATER), CsvExportTest.data(2, DataType.ELECTRICITY));
+    }
+
+    @Test
+    public void exportMatchesReference() throws IOException, URISyntaxException {
+        final File file = File.createTempFile("reega", ".csv");
+        try {
+            ReegaExporterFactory.export(ExportFormat.CSV, CsvExportTest.referenceData(), file.getAbsolutePath());
+            final File testFile = reega.data.utils.FileUtils.getFileFromResources("exporter/csv1.csv");
+            Assertions.assertTrue(FileUtils.contentEquals(testFile, file));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void compressedExportMatchesReference() throws IOException, URISyntaxException {
+        final File file = File.createTempFile("reega", ".csv.gz");
+        try {
+            final ExportOptions options = ExportOptions.builder()
+                    .compression(CompressionCodec.fromFileName(file.getName()))
+                    .build();
+            ReegaExporterFactory.export(ExportFormat.CSV, CsvExportTest.referenceData(), file.getAbsolutePath(),
+                    options);
+            final byte[] expected = Files
+                    .readAllBytes(reega.data.utils.FileUtils.getFileFromResources("exporter/csv1.csv").toPath());
+            try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+                Assertions.assertArrayEquals(expected, inputStream.readAllBytes());
+            }
+            Assertions.assertTrue(file.length() < expected.length);
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void rowsAreFormattedLikeTheJdk() throws IOException {
+        final Random random = new Random(42);
+        final double[] values = new double[2000];
+        for (int i = 0; i < values.length; i++) {
+            switch (i % 5) {
+                case 0:
+                    values[i] = random.nextGaussian() * 1000;
+                    break;
+                case 1:
+                    values[i] = Math.round(random.nextDouble() * 100_000) / 100.0;
+                    break;
+                case 2:
+                    values[i] = random.nextInt(1000) - 500;
+                    break;
+                case 3:
+                    values[i] = random.nextDouble() / 1000;
+                    break;
+                default:
+                    values[i] = random.nextDouble() * 1e9;
+                    break;
+            }
+        }
+        // hourly samples for almost three months, across the start of the daylight saving time
+        final Data data = new Data(1, DataType.GAS);
+        for (int i = 0; i < values.length; i++) {
+            data.addRecord(CsvExportTest.BASE_TIMESTAMP + i * 3_600_000L, values[i]);
+        }
+        final File file = File.createTempFile("reega", ".csv");
+        try {
+            ReegaExporterFactory.export(ExportFormat.CSV, List.of(data), file.getAbsolutePath());
+            final List<String> rows = Files.readAllLines(file.toPath());
+            final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX");
+            format.setTimeZone(TimeZone.getTimeZone(Settings.CLIENT_TIMEZONE));
+            Assertions.assertEquals(values.length + 1, rows.size());
+            for (int i = 0; i < values.length; i++) {
+                final String row = rows.get(i + 1);
+                Assertions.assertEquals(format.format(new Date(CsvExportTest.BASE_TIMESTAMP + i * 3_600_000L)),
+                        row.substring(0, row.indexOf(',')));
+                Assertions.assertEquals(Double.toString(values[i]), row.substring(row.lastIndexOf(',') + 1));
+            }
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package reega.data.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reega.data.exporter.ExportFormat;
+import reega.data.exporter.ExportJob;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ExportQueue;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class ExportQueueTest {
+    private static final long BASE_TIMESTAMP = 1898938800000L;
+    private static final int RECORDS = 100_000;
+    private final ExportQueue queue = new ExportQueue();
+    private List<Data> data;
+    private File file;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        final Data series = new Data(1, DataType.ELECTRICITY);
+        for (int i = 0; i < ExportQueueTest.RECORDS; i++) {
+            series.addRecord(ExportQueueTest.BASE_TIMESTAMP + i * 60_000L, i / 7.0);
+        }
+        this.data = List.of(series);
+        this.file = File.createTempFile("reega", ".csv");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        this.queue.shutdown();
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    private static CountDownLatch finished(final ExportJob job) {
+        final CountDownLatch latch = new CountDownLatch(1);
+        job.addListener(j -> {
+            if (j.getState().isFinished()) {
+                latch.countDown();
+            }
+        });
+        if (job.getState().isFinished()) {
+            latch.countDown();
+        }
+        return latch;
+    }
+
+    @Test
+    public void exportCompletes() throws InterruptedException {
+        final ExportJob job = this.queue.submit(ExportFormat.CSV, this.data, this.file, ExportOptions.getDefault());
+        Assertions.assertTrue(ExportQueueTest.finished(job).await(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(ExportJob.State.COMPLETED, job.getState());
+        Assertions.assertEquals(ExportQueueTest.RECORDS, job.getRecordsWritten());
+        Assertions.assertEquals(ExportQueueTest.RECORDS, job.getTotalRecords());
+        Assertions.assertEquals(1.0, job.getProgress());
+        Assertions.assertTrue(this.file.length() > 0);
+    }
+
+    @Test
+    public void cancelledExportDeletesPartialFile() throws InterruptedException {
+        final ExportJob job = this.queue.submit(ExportFormat.CSV, this.data, this.file, ExportOptions.getDefault());
+        job.addListener(j -> {
+            if (j.getRecordsWritten() > 0 && j.getRecordsWritten() < j.getTotalRecords()) {
+                j.cancel();
+            }
+        });
+        Assertions.assertTrue(ExportQueueTest.finished(job).await(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(ExportJob.State.CANCELLED, job.getState());
+        Assertions.assertFalse(this.file.exists());
+    }
+
+    @Test
+    public void queuedExportCanBeCancelled() throws InterruptedException, IOException {
+        final File other = File.createTempFile("reega", ".json");
+        Files.delete(other.toPath());
+        final ExportJob first = this.queue.submit(ExportFormat.JSON, this.data, this.file, ExportOptions.getDefault());
+        final ExportJob second = this.queue.submit(ExportFormat.CSV, this.data, other, ExportOptions.getDefault());
+        second.cancel();
+        Assertions.assertTrue(ExportQueueTest.finished(first).await(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(ExportQueueTest.finished(second).await(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(ExportJob.State.COMPLETED, first.getState());
+        Assertions.assertEquals(ExportJob.State.CANCELLED, second.getState());
+        Assertions.assertFalse(other.exists());
+    }
+}
@@ -0,0 +1,61 @@
+package reega.data.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonParser;
+
+import reega.data.exporter.ExportFormat;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ReegaExporterFactory;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class JsonExportTest {
+    private static final long BASE_TIMESTAMP = 1898938800000L;
+
+    private static Data data(final int contractID, final DataType type) {
+        return new Data(contractID, type, Map.of(JsonExportTest.BASE_TIMESTAMP + 1000, 5.5,
+                JsonExportTest.BASE_TIMESTAMP + 2000, 6.4, JsonExportTest.BASE_TIMESTAMP + 3000, 7.3));
+    }
+
+    private static String export(final List<Data> data, final ExportOptions options) throws IOException {
+        final File file = File.createTempFile("reega", ".json");
+        try {
+            ReegaExporterFactory.export(ExportFormat.JSON, data, file.getAbsolutePath(), options);
+            return Files.readString(file.toPath());
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void exportMatchesReference() throws IOException, URISyntaxException {
+        final List<Data> data = List.of(JsonExportTest.data(2, DataType.PAPER), JsonExportTest.data(1, DataType.PAPER),
+                JsonExportTest.data(1, DataType.GLASS), JsonExportTest.data(2, DataType.WATER),
+                JsonExportTest.data(1, DataType.ELECTRICITY), JsonExportTest.data(2, DataType.MIXED),
+                JsonExportTest.data(2, DataType.GLASS), JsonExportTest.data(1, DataType.MIXED),
+                JsonExportTest.data(1, DataType.WATER), JsonExportTest.data(2, DataType.ELECTRICITY));
+        final String expected = reega.data.utils.FileUtils.getFileFromResourcesAsString("exporter/json1.json");
+
+        final String pretty = JsonExportTest.export(data, ExportOptions.getDefault());
+        Assertions.assertEquals(JsonParser.parseString(expected), JsonParser.parseString(pretty));
+        Assertions.assertTrue(pretty.contains("\n"));
+
+        final String compact = JsonExportTest.export(data, ExportOptions.builder().prettyPrint(false).build());
+        Assertions.assertEquals(JsonParser.parseString(expected), JsonParser.parseString(compact));
+        Assertions.assertFalse(compact.contains("\n"));
+    }
+
+    @Test
+    public void exportEmptyData() throws IOException {
+        Assertions.assertEquals("[]", JsonExportTest.export(null, ExportOptions.getDefault()));
+    }
+}
@@ -0,0 +1,105 @@
+package reega.data.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reega.data.exporter.ExportCancelledException;
+import reega.data.exporter.ExportFormat;
+import reega.data.exporter.ExportManifest;
+import reega.data.exporter.ExportMonitor;
+import reega.data.exporter.ExportOptions;
+import reega.data.exporter.ReegaExporterFactory;
+import reega.data.exporter.ShardedExporter;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class ShardedExportTest {
+    private static final long BASE_TIMESTAMP = 1898938800000L;
+    @TempDir
+    Path directory;
+    private List<Data> data;
+
+    @BeforeEach
+    public void createData() {
+        this.data = new ArrayList<>();
+        for (int contract = 5; contract >= 1; contract--) {
+            for (final DataType type : List.of(DataType.WATER, DataType.GAS)) {
+                final Data d = new Data(contract, type);
+                for (int i = 0; i < contract * 10; i++) {
+                    d.addRecord(ShardedExportTest.BASE_TIMESTAMP + i * 3_600_000L, contract + i / 10.0);
+                }
+                this.data.add(d);
+            }
+        }
+    }
+
+    @Test
+    public void shardsMatchTheirManifest() throws IOException, NoSuchAlgorithmException {
+        final ExportManifest manifest = new ShardedExporter(ExportFormat.CSV, ExportOptions.getDefault(), 2, 3)
+                .export(this.data, this.directory.toFile(), ExportMonitor.NONE);
+
+        Assertions.assertTrue(Files.exists(this.directory.resolve(ShardedExporter.MANIFEST_FILE_NAME)));
+        Assertions.assertEquals(300, manifest.getTotalRecords());
+        Assertions.assertEquals(3, manifest.getShards().size());
+        Assertions.assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)),
+                manifest.getShards().stream().map(ExportManifest.Shard::getContracts).collect(Collectors.toList()));
+        for (final ExportManifest.Shard shard : manifest.getShards()) {
+            final Path file = this.directory.resolve(shard.getFile());
+            final byte[] content = Files.readAllBytes(file);
+            Assertions.assertEquals(shard.getBytes(), content.length);
+            Assertions.assertEquals(shard.getSha256(), ShardedExportTest.sha256(content));
+            Assertions.assertEquals(
+                    shard.getContracts().stream().mapToLong(contract -> 2 * contract * 10).sum(), shard.getRecords());
+
+            // each shard is the regular export of its contracts
+            final List<Data> shardData = this.data.stream()
+                    .filter(d -> shard.getContracts().contains(d.getContractID()))
+                    .sorted((a, b) -> Integer.compare(a.getContractID(), b.getContractID()))
+                    .collect(Collectors.toList());
+            final File expected = this.directory.resolve("expected.csv").toFile();
+            ReegaExporterFactory.export(ExportFormat.CSV, shardData, expected.getAbsolutePath());
+            Assertions.assertArrayEquals(Files.readAllBytes(expected.toPath()), content);
+        }
+    }
+
+    @Test
+    public void cancelledExportDeletesTheShards() throws IOException {
+        final ExportMonitor cancelled = new ExportMonitor() {
+            @Override
+            public void progress(final long recordsWritten, final long totalRecords) {
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        };
+        Assertions.assertThrows(ExportCancelledException.class,
+                () -> new ShardedExporter(ExportFormat.JSON, ExportOptions.getDefault())
+                        .export(this.data, this.directory.toFile(), cancelled));
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    private static String sha256(final byte[] content) throws NoSuchAlgorithmException {
+        final StringBuilder builder = new StringBuilder();
+        for (final byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package reega.data.models;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
+import reega.data.models.gson.DataModel;
+
+public final class TimeSeriesTest {
+
+    @Test
+    public void putKeepsRecordsSorted() {
+        final TimeSeries series = new TimeSeries(2);
+        series.put(3000L, 3.0);
+        series.put(1000L, 1.0);
+        series.put(4000L, 4.0);
+        series.put(2000L, 2.0);
+        series.put(3000L, 3.5);
+
+        Assertions.assertEquals(4, series.size());
+        Assertions.assertEquals(List.of(1000L, 2000L, 3000L, 4000L), List.copyOf(series.asMap().keySet()));
+        Assertions.assertEquals(3.5, series.asMap().get(3000L));
+        Assertions.assertEquals(10.5, series.sum());
+    }
+
+    @Test
+    public void unsortedArraysAreSortedAndLastValueWins() {
+        final TimeSeries series = TimeSeries.of(new long[] { 5, 1, 3, 1, 2 }, new double[] { 5, 1, 3, 10, 2 }, 5);
+
+        Assertions.assertEquals(4, series.size());
+        Assertions.assertEquals(Map.of(1L, 10.0, 2L, 2.0, 3L, 3.0, 5L, 5.0), series.asMap());
+    }
+
+    @Test
+    public void putAllAppendsOrMergesRecords() {
+        final TimeSeries series = TimeSeries.of(new long[] { 1, 2 }, new double[] { 1, 2 }, 2);
+        series.putAll(TimeSeries.of(new long[] { 3, 4 }, new double[] { 3, 4 }, 2));
+        Assertions.assertEquals(Map.of(1L, 1.0, 2L, 2.0, 3L, 3.0, 4L, 4.0), series.asMap());
+
+        series.putAll(TimeSeries.of(new long[] { 0, 2, 5 }, new double[] { 0, 20, 5 }, 3));
+        Assertions.assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), List.copyOf(series.asMap().keySet()));
+        Assertions.assertEquals(20.0, series.asMap().get(2L));
+    }
+
+    @Test
+    public void rangeUsesInclusiveStartAndExclusiveEnd() {
+        final TimeSeries series = new TimeSeries();
+        for (long i = 0; i < 10; i++) {
+            series.put(i * 10, i);
+        }
+
+        final TimeSeries range = series.range(20, 50);
+        Assertions.assertEquals(3, range.size());
+        Assertions.assertEquals(20L, range.getTimestamp(0));
+        Assertions.assertEquals(40L, range.getTimestamp(2));
+        Assertions.assertTrue(series.range(95, 200).isEmpty());
+        Assertions.assertEquals(10, series.range(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    public void mapViewMatchesTheSeries() {
+        final Map<Long, Double> records = new LinkedHashMap<>();
+        records.put(300L, 7.3);
+        records.put(100L, 5.5);
+        records.put(200L, 6.4);
+        final Data data = new Data(1, DataType.GAS, records);
+
+        Assertions.assertEquals(records, data.getData());
+        Assertions.assertNull(data.getData().get(150L));
+        data.getData().put(150L, 1.0);
+        Assertions.assertEquals(1, data.getSeries().indexOf(150L));
+    }
+
+    @Test
+    public void gsonRoundTrip() {
+        final Gson gson = new Gson();
+        final String json = "{\"type\":1,\"contract_id\":4,\"data\":{\"3000\":7.3,\"1000\":5.5,\"2000\":6.4}}";
+
+        final Data data = new Data(gson.fromJson(json, DataModel.class));
+        Assertions.assertEquals(DataType.GAS, data.getType());
+        Assertions.assertEquals(4, data.getContractID());
+        Assertions.assertEquals(1000L, data.getSeries().getTimestamp(0));
+        Assertions.assertEquals(JsonParser.parseString(json), JsonParser.parseString(data.toString()));
+    }
+}
@@ -0,0 +1,425 @@
+package reega.data.remote;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.QueueDispatcher;
+import okhttp3.mockwebserver.RecordedRequest;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+public final class HttpTransportTest {
+    private static final int CALLERS = 5;
+    private final MockWebServer server = new MockWebServer();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newFixedThreadPool(HttpTransportTest.CALLERS);
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                HttpTransportTest.this.release.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setBody("[" + request.getPath().length() + "]");
+            }
+        });
+        this.server.start();
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        this.release.countDown();
+        this.executor.shutdownNow();
+        this.server.shutdown();
+    }
+
+    @Test
+    public void identicalRequestsAreCoalesced() throws Exception {
+        final HttpTransport transport = HttpTransport.builder().build();
+        transport.setToken("token");
+        final List<Future<String>> responses = this.callConcurrently(transport.getClient(),
+                () -> new Request.Builder().url(this.server.url("/data/contract")).build());
+
+        Assertions.assertEquals(1, this.server.getRequestCount());
+        for (final Future<String> response : responses) {
+            Assertions.assertEquals("[14]", response.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void postsAreNotCoalesced() throws Exception {
+        final HttpTransport transport = HttpTransport.builder().build();
+        final List<Future<String>> responses = this.callConcurrently(transport.getClient(),
+                () -> new Request.Builder().url(this.server.url("/data/contract"))
+                        .post(RequestBody.create("{}", MediaType.get("application/json")))
+                        .build());
+
+        Assertions.assertEquals(HttpTransportTest.CALLERS, this.server.getRequestCount());
+        for (final Future<String> response : responses) {
+            Assertions.assertEquals("[14]", response.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void loginsAreNotCoalesced() throws Exception {
+        final HttpTransport transport = HttpTransport.builder().build();
+        this.callConcurrently(transport.getClient(),
+                () -> new Request.Builder().url(this.server.url("/auth/emailLogin?email=a&password=b")).build());
+
+        Assertions.assertEquals(HttpTransportTest.CALLERS, this.server.getRequestCount());
+    }
+
+    @Test
+    public void cancelledRequestInFlightIsSentAgainByAWaiter() throws Exception {
+        final OkHttpClient client = HttpTransport.builder().build().getClient();
+        final Request request = new Request.Builder().url(this.server.url("/data/contract")).build();
+        final Call leader = client.newCall(request);
+        final Future<String> leaderResponse = this.executor.submit(() -> HttpTransportTest.execute(leader));
+        Thread.sleep(300);
+        final Future<String> waiterResponse = this.executor.submit(() -> HttpTransportTest.get(client, request));
+        Thread.sleep(300);
+        leader.cancel();
+        Thread.sleep(300);
+        this.release.countDown();
+
+        Assertions.assertEquals("[14]", waiterResponse.get(5, TimeUnit.SECONDS));
+        Assertions.assertThrows(ExecutionException.class, () -> leaderResponse.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, this.server.getRequestCount());
+    }
+
+    @Test
+    public void waitersHonourTheirCancellationAndTimeout() throws Exception {
+        final OkHttpClient client = HttpTransport.builder().build().getClient();
+        final Request request = new Request.Builder().url(this.server.url("/data/contract")).build();
+        final Future<String> leaderResponse = this.executor.submit(() -> HttpTransportTest.get(client, request));
+        Thread.sleep(300);
+        final Call cancelled = client.newCall(request);
+        final Future<String> cancelledResponse = this.executor.submit(() -> HttpTransportTest.execute(cancelled));
+        final OkHttpClient impatient = client.newBuilder().readTimeout(Duration.ofMillis(300)).build();
+        final Future<String> timedOutResponse = this.executor.submit(() -> HttpTransportTest.get(impatient, request));
+        Thread.sleep(300);
+        cancelled.cancel();
+
+        // both give up while the request in flight is still blocked
+        Assertions.assertThrows(ExecutionException.class, () -> cancelledResponse.get(2, TimeUnit.SECONDS));
+        Assertions.assertThrows(ExecutionException.class, () -> timedOutResponse.get(2, TimeUnit.SECONDS));
+        this.release.countDown();
+        Assertions.assertEquals("[14]", leaderResponse.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, this.server.getRequestCount());
+    }
+
+    @Test
+    public void coalescingCanBeDisabled() throws Exception {
+        final HttpTransport transport = HttpTransport.builder().coalesceRequests(false).build();
+        this.callConcurrently(transport.getClient(),
+                () -> new Request.Builder().url(this.server.url("/data/contract")).build());
+
+        Assertions.assertEquals(HttpTransportTest.CALLERS, this.server.getRequestCount());
+    }
+
+    @Test
+    public void cachedResponsesAreRevalidated() throws IOException, InterruptedException {
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                if ("\"v1\"".equals(request.getHeader("If-None-Match"))) {
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\"");
+                }
+                return new MockResponse().setHeader("ETag", "\"v1\"").setBody("[1]");
+            }
+        });
+        final HttpTransport transport = HttpTransport.builder()
+                .cache(this.cacheDirectory.toFile(), 1024 * 1024)
+                .build();
+        transport.setToken("token");
+        final Request request = new Request.Builder().url(this.server.url("/data/month")).build();
+
+        Assertions.assertEquals("[1]", HttpTransportTest.get(transport.getClient(), request));
+        Assertions.assertEquals("[1]", HttpTransportTest.get(transport.getClient(), request));
+        Assertions.assertEquals(2, this.server.getRequestCount());
+        Assertions.assertNull(this.server.takeRequest().getHeader("If-None-Match"));
+        Assertions.assertEquals("\"v1\"", this.server.takeRequest().getHeader("If-None-Match"));
+
+        // the responses of another user are not reused
+        transport.setToken("other");
+        Assertions.assertEquals("[1]", HttpTransportTest.get(transport.getClient(), request));
+        Assertions.assertNull(this.server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void freshEnoughResponsesSkipTheNetwork() throws IOException {
+        this.release.countDown();
+        final HttpTransport transport = HttpTransport.builder()
+                .cache(this.cacheDirectory.toFile(), 1024 * 1024)
+                .maxStale(Duration.ofMinutes(5))
+                .build();
+        final Request request = new Request.Builder().url(this.server.url("/data/contract")).build();
+        final Request notCacheable = new Request.Builder().url(this.server.url("/data/user_search")).build();
+
+        Assertions.assertEquals("[14]", HttpTransportTest.get(transport.getClient(), request));
+        Assertions.assertEquals("[14]", HttpTransportTest.get(transport.getClient(), request));
+        HttpTransportTest.get(transport.getClient(), notCacheable);
+        HttpTransportTest.get(transport.getClient(), notCacheable);
+        Assertions.assertEquals(3, this.server.getRequestCount());
+
+        transport.evictCache();
+        HttpTransportTest.get(transport.getClient(), request);
+        Assertions.assertEquals(4, this.server.getRequestCount());
+    }
+
+    @Test
+    public void transientFailuresAreRetried() throws IOException {
+        this.server.setDispatcher(new QueueDispatcher());
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "0"));
+        this.server.enqueue(new MockResponse().setBody("[1]"));
+        final HttpTransport transport = HttpTransport.builder().retryPolicy(HttpTransportTest.fastRetries(3)).build();
+
+        final Request request = new Request.Builder().url(this.server.url("/data/month")).build();
+        Assertions.assertEquals("[1]", HttpTransportTest.get(transport.getClient(), request));
+        Assertions.assertEquals(3, this.server.getRequestCount());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, transport.getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void postsAreRetriedOnlyWithAnIdempotencyKey() throws IOException {
+        this.server.setDispatcher(new QueueDispatcher());
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setBody("[1]"));
+        final HttpTransport transport = HttpTransport.builder().retryPolicy(HttpTransportTest.fastRetries(3)).build();
+        final Request.Builder request = new Request.Builder().url(this.server.url("/data/fillUserDataBatch"))
+                .post(RequestBody.create("[]", MediaType.get("application/json")));
+
+        try (Response response = transport.getClient().newCall(request.build()).execute()) {
+            Assertions.assertEquals(503, response.code());
+        }
+        Assertions.assertEquals(1, this.server.getRequestCount());
+        request.header(HttpTransport.IDEMPOTENCY_KEY_HEADER, "key");
+        Assertions.assertEquals("[1]", HttpTransportTest.get(transport.getClient(), request.build()));
+        Assertions.assertEquals(3, this.server.getRequestCount());
+    }
+
+    @Test
+    public void readOnlyPostsAreRetried() throws IOException {
+        this.server.setDispatcher(new QueueDispatcher());
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setBody("[1]"));
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setBody("[2]"));
+        final HttpTransport transport = HttpTransport.builder()
+                .retryPolicy(HttpTransportTest.fastRetries(3))
+                .safePost("data/custom")
+                .build();
+        final RequestBody body = RequestBody.create("[1]", MediaType.get("application/json"));
+
+        final Request history = new Request.Builder().url(this.server.url("/data/history")).post(body).build();
+        Assertions.assertEquals("[1]", HttpTransportTest.get(transport.getClient(), history));
+        final Request custom = new Request.Builder().url(this.server.url("/data/custom")).post(body).build();
+        Assertions.assertEquals("[2]", HttpTransportTest.get(transport.getClient(), custom));
+        Assertions.assertEquals(4, this.server.getRequestCount());
+    }
+
+    @Test
+    public void batchUploadsCarryAStableIdempotencyKey() throws InterruptedException {
+        this.server.setDispatcher(new QueueDispatcher());
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse());
+        this.server.enqueue(new MockResponse());
+        final HttpTransport transport = HttpTransport.builder().retryPolicy(HttpTransportTest.fastRetries(3)).build();
+        final RemoteDataAPI api = new RemoteDataAPI(new RemoteConnection(this.server.url("/").toString(), true,
+                transport));
+        final List<Data> data = List.of(new Data(1, DataType.ELECTRICITY, Map.of(1000L, 1.0, 2000L, 2.0)));
+
+        Assertions.assertTrue(api.putUserDataBatch(data).isEmpty());
+        Assertions.assertTrue(api.putUserDataBatch(data).isEmpty());
+        final String key = this.server.takeRequest().getHeader(HttpTransport.IDEMPOTENCY_KEY_HEADER);
+        Assertions.assertNotNull(key);
+        Assertions.assertEquals(key, this.server.takeRequest().getHeader(HttpTransport.IDEMPOTENCY_KEY_HEADER));
+        Assertions.assertEquals(key, this.server.takeRequest().getHeader(HttpTransport.IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Test
+    public void openCircuitFailsFast() throws IOException {
+        this.server.setDispatcher(new QueueDispatcher());
+        this.server.enqueue(new MockResponse().setResponseCode(500));
+        this.server.enqueue(new MockResponse().setResponseCode(500));
+        final HttpTransport transport = HttpTransport.builder()
+                .retryPolicy(RetryPolicy.NONE)
+                .circuitBreaker(2, Duration.ofMinutes(1))
+                .build();
+        final Request request = new Request.Builder().url(this.server.url("/data/contract")).build();
+
+        HttpTransportTest.get(transport.getClient(), request);
+        HttpTransportTest.get(transport.getClient(), request);
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, transport.getCircuitBreaker().getState());
+        Assertions.assertThrows(CircuitOpenException.class,
+                () -> HttpTransportTest.get(transport.getClient(), request));
+        Assertions.assertEquals(2, this.server.getRequestCount());
+    }
+
+    @Test
+    public void circuitClosesAfterASuccessfulProbe() {
+        final long[] now = {0};
+        final CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), () -> now[0]);
+        Assertions.assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        Assertions.assertFalse(breaker.tryAcquire());
+
+        now[0] = Duration.ofSeconds(10).toNanos();
+        Assertions.assertTrue(breaker.tryAcquire());
+        // a single probe at a time
+        Assertions.assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        Assertions.assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void metricsAreRecordedByEndpoint() throws IOException {
+        this.server.setDispatcher(new QueueDispatcher());
+        this.server.enqueue(new MockResponse());
+        this.server.enqueue(new MockResponse());
+        this.server.enqueue(new MockResponse().setResponseCode(500).setBody("error"));
+        final HttpTransport transport = HttpTransport.builder().retryPolicy(RetryPolicy.NONE).build();
+        final ReegaService service = new Retrofit.Builder().baseUrl(this.server.url("/"))
+                .client(transport.getClient())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ReegaService.class);
+
+        service.logout().execute();
+        service.logout().execute();
+        final Request request = new Request.Builder().url(this.server.url("/data/month")).build();
+        HttpTransportTest.get(transport.getClient(), request);
+
+        final Map<String, HttpMetrics.EndpointSnapshot> endpoints = transport.getMetrics()
+                .getEndpoints()
+                .stream()
+                .collect(Collectors.toMap(HttpMetrics.EndpointSnapshot::getEndpoint, Function.identity()));
+        Assertions.assertEquals(2, endpoints.get("logout").getCalls());
+        Assertions.assertEquals(0, endpoints.get("logout").getErrors());
+        final HttpMetrics.EndpointSnapshot month = endpoints.get("GET /data/month");
+        Assertions.assertEquals(1, month.getCalls());
+        Assertions.assertEquals(1, month.getErrors());
+        Assertions.assertEquals("error".length(), month.getResponseBytes());
+        Assertions.assertTrue(month.getP50Millis() <= month.getMaxMillis());
+        Assertions.assertEquals(0, transport.getMetrics().getInFlight());
+    }
+
+    @Test
+    public void metricsAreExportedThroughJmx() throws Exception {
+        final HttpTransport transport = HttpTransport.builder().build();
+        this.release.countDown();
+        final Request request = new Request.Builder().url(this.server.url("/data/contract")).build();
+        HttpTransportTest.get(transport.getClient(), request);
+        final String name = "reega.test:type=HttpMetrics";
+        transport.getMetrics().registerMBean(name);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final CompositeData[] endpoints = (CompositeData[]) server.getAttribute(new ObjectName(name), "Endpoints");
+            Assertions.assertEquals(1, endpoints.length);
+            Assertions.assertEquals("GET /data/contract", endpoints[0].get("endpoint"));
+            Assertions.assertEquals(1L, endpoints[0].get("calls"));
+        } finally {
+            server.unregisterMBean(new ObjectName(name));
+        }
+    }
+
+    @Test
+    public void connectionsUseTheirOwnTransport() throws IOException {
+        this.release.countDown();
+        final String baseUrl = this.server.url("/").toString();
+        final HttpTransport first = HttpTransport.builder().build();
+        final HttpTransport second = HttpTransport.builder().build();
+        new RemoteConnection(baseUrl, false, first).getService().logout().execute();
+        new RemoteConnection(baseUrl, false, second).getService().logout().execute();
+
+        Assertions.assertEquals(1, first.getMetrics().getEndpoints().get(0).getCalls());
+        Assertions.assertEquals(1, second.getMetrics().getEndpoints().get(0).getCalls());
+    }
+
+    private static RetryPolicy fastRetries(final int attempts) {
+        return RetryPolicy.builder()
+                .maxAttempts(attempts)
+                .baseDelay(Duration.ofMillis(1))
+                .maxDelay(Duration.ofMillis(5))
+                .build();
+    }
+
+    private static String get(final OkHttpClient client, final Request request) throws IOException {
+        return HttpTransportTest.execute(client.newCall(request));
+    }
+
+    private static String execute(final Call call) throws IOException {
+        try (Response response = call.execute()) {
+            return response.body().string();
+        }
+    }
+
+    /**
+     * Start the requests, give them the time to reach the transport while the server is blocked, then release them.
+     */
+    private List<Future<String>> callConcurrently(final OkHttpClient client, final RequestFactory requests)
+            throws InterruptedException {
+        final List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < HttpTransportTest.CALLERS; i++) {
+            responses.add(this.executor.submit(() -> {
+                try (Response response = client.newCall(requests.create()).execute()) {
+                    return response.body().string();
+                }
+            }));
+        }
+        Thread.sleep(500);
+        this.release.countDown();
+        for (final Future<String> response : responses) {
+            try {
+                response.get(5, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                Assertions.fail(e);
+            }
+        }
+        return responses;
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        Request create();
+    }
+}
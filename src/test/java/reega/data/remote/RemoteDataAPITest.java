@@ -0,0 +1,197 @@
+package reega.data.remote;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+import reega.data.models.TimeSeries;
+import reega.data.models.gson.DataModel;
+
+public final class RemoteDataAPITest {
+    private static final int MAX_BATCH_RECORDS = 50_000;
+    private static final long BASE_TIMESTAMP = 1_577_836_800_000L;
+    private static final long STEP = 3_600_000L;
+    private static final int TIMEOUT_SECONDS = 10;
+    private MockWebServer server;
+    private RemoteDataAPI api;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        this.server = new MockWebServer();
+        this.server.start();
+        final HttpTransport transport = HttpTransport.builder().retryPolicy(RetryPolicy.NONE).build();
+        this.api = new RemoteDataAPI(new RemoteConnection(this.server.url("/").toString(), true, transport));
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void seriesAreSplitAcrossChunks() throws InterruptedException {
+        this.server.enqueue(new MockResponse());
+        this.server.enqueue(new MockResponse());
+        final Data first = RemoteDataAPITest.series(1, DataType.ELECTRICITY, 70_000);
+        final Data second = RemoteDataAPITest.series(2, DataType.GAS, 10_000);
+
+        Assertions.assertTrue(this.api.putUserDataBatch(List.of(first, second)).isEmpty());
+        Assertions.assertEquals(2, this.server.getRequestCount());
+
+        final DataModel[] firstChunk = RemoteDataAPITest.takeChunk(this.server);
+        Assertions.assertEquals(1, firstChunk.length);
+        RemoteDataAPITest.assertPart(firstChunk[0], first, 0, RemoteDataAPITest.MAX_BATCH_RECORDS);
+
+        final DataModel[] secondChunk = RemoteDataAPITest.takeChunk(this.server);
+        Assertions.assertEquals(2, secondChunk.length);
+        RemoteDataAPITest.assertPart(secondChunk[0], first, RemoteDataAPITest.MAX_BATCH_RECORDS, 70_000);
+        RemoteDataAPITest.assertPart(secondChunk[1], second, 0, 10_000);
+    }
+
+    @Test
+    public void fullChunkIsSentAlone() throws InterruptedException {
+        this.server.enqueue(new MockResponse());
+        this.server.enqueue(new MockResponse());
+        final Data first = RemoteDataAPITest.series(1, DataType.ELECTRICITY, 30_000);
+        final Data empty = RemoteDataAPITest.series(1, DataType.WATER, 0);
+        final Data second = RemoteDataAPITest.series(2, DataType.GAS, 20_000);
+        final Data third = RemoteDataAPITest.series(3, DataType.PAPER, 5);
+
+        Assertions.assertTrue(this.api.putUserDataBatch(List.of(first, empty, second, third)).isEmpty());
+        Assertions.assertEquals(2, this.server.getRequestCount());
+
+        final DataModel[] fullChunk = RemoteDataAPITest.takeChunk(this.server);
+        Assertions.assertEquals(2, fullChunk.length);
+        RemoteDataAPITest.assertPart(fullChunk[0], first, 0, 30_000);
+        RemoteDataAPITest.assertPart(fullChunk[1], second, 0, 20_000);
+
+        final DataModel[] lastChunk = RemoteDataAPITest.takeChunk(this.server);
+        Assertions.assertEquals(1, lastChunk.length);
+        RemoteDataAPITest.assertPart(lastChunk[0], third, 0, 5);
+    }
+
+    @Test
+    public void failedChunksAreMappedToTheirSeries() {
+        this.server.enqueue(new MockResponse());
+        this.server.enqueue(new MockResponse().setResponseCode(400));
+        this.server.enqueue(new MockResponse());
+        final Data first = RemoteDataAPITest.series(1, DataType.ELECTRICITY, 60_000);
+        final Data second = RemoteDataAPITest.series(2, DataType.GAS, 30_000);
+        final Data third = RemoteDataAPITest.series(3, DataType.WATER, 20_000);
+        final Data fourth = RemoteDataAPITest.series(4, DataType.PAPER, 10);
+
+        // the second chunk holds the end of the first series, the second one and the start of the third one
+        final List<Data> failed = this.api.putUserDataBatch(List.of(first, second, third, fourth));
+        Assertions.assertEquals(List.of(first, second, third), failed);
+        Assertions.assertEquals(3, this.server.getRequestCount());
+    }
+
+    @Test
+    public void asyncChunksAreMappedToTheirSeries() throws Exception {
+        // the chunks are sent concurrently, fail the one holding the fourth series whatever its position
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setResponseCode(request.getBody().readUtf8().contains("\"contract_id\":4")
+                        ? 400
+                        : 200);
+            }
+        });
+        final Data first = RemoteDataAPITest.series(1, DataType.ELECTRICITY, 60_000);
+        final Data second = RemoteDataAPITest.series(2, DataType.GAS, 30_000);
+        final Data third = RemoteDataAPITest.series(3, DataType.WATER, 20_000);
+        final Data fourth = RemoteDataAPITest.series(4, DataType.PAPER, 10);
+
+        final List<Data> failed = this.api.putUserDataBatchAsync(List.of(first, second, third, fourth))
+                .get(RemoteDataAPITest.TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Assertions.assertEquals(Set.of(third, fourth), Set.copyOf(failed));
+        Assertions.assertEquals(3, this.server.getRequestCount());
+    }
+
+    @Test
+    public void asyncReadsParseTheResponses() throws Exception {
+        final Gson gson = new Gson();
+        this.server.enqueue(new MockResponse().setBody("[{\"contract_id\":1,\"type\":" + DataType.GAS.getID()
+                + ",\"timestamp\":" + gson.toJson(new Date(RemoteDataAPITest.BASE_TIMESTAMP)) + "}]"));
+        this.server.enqueue(new MockResponse().setBody(gson.toJson(List.of(
+                RemoteDataAPITest.series(1, DataType.WATER, 3).getJsonModel()))));
+
+        final Map<Integer, Map<DataType, Long>> latest = this.api.getLatestTimestampsAsync(List.of(1))
+                .get(RemoteDataAPITest.TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Assertions.assertEquals(Map.of(1, Map.of(DataType.GAS, RemoteDataAPITest.BASE_TIMESTAMP)), latest);
+        Assertions.assertEquals("/data/getLatestTimestamps", this.server.takeRequest().getPath());
+
+        final List<Data> monthly = this.api.getMonthlyDataAsync(1)
+                .get(RemoteDataAPITest.TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, monthly.size());
+        Assertions.assertEquals(DataType.WATER, monthly.get(0).getType());
+        Assertions.assertEquals(3, monthly.get(0).getSeries().size());
+        Assertions.assertEquals("/data/month?contract_id=1", this.server.takeRequest().getPath());
+    }
+
+    @Test
+    public void asyncFailuresCompleteTheFuture() {
+        this.server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        final CompletableFuture<Void> future = this.api.putUserDataAsync(RemoteDataAPITest.series(1,
+                DataType.GAS, 10));
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> future.get(RemoteDataAPITest.TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof IOException);
+    }
+
+    /**
+     * Create a series of <code>size</code> hourly records.
+     */
+    private static Data series(final int contractID, final DataType type, final int size) {
+        final long[] timestamps = new long[size];
+        final double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = RemoteDataAPITest.BASE_TIMESTAMP + i * RemoteDataAPITest.STEP;
+            values[i] = contractID * i;
+        }
+        return new Data(contractID, type, TimeSeries.of(timestamps, values, size));
+    }
+
+    /**
+     * Read the series sent with the next batch request.
+     */
+    private static DataModel[] takeChunk(final MockWebServer server) throws InterruptedException {
+        final RecordedRequest request = server.takeRequest();
+        Assertions.assertEquals("/data/fillUserDataBatch", request.getPath());
+        return new Gson().fromJson(request.getBody().readUtf8(), DataModel[].class);
+    }
+
+    /**
+     * Check that <code>model</code> holds the records of <code>series</code> from <code>from</code> to
+     * <code>to</code>, excluded.
+     */
+    private static void assertPart(final DataModel model, final Data series, final int from, final int to) {
+        Assertions.assertEquals(series.getContractID(), model.contractId);
+        Assertions.assertEquals(series.getType().getID(), model.type);
+        Assertions.assertEquals(to - from, model.data.size());
+        for (int i = from; i < to; i++) {
+            Assertions.assertEquals(series.getSeries().getTimestamp(i), model.data.getTimestamp(i - from));
+            Assertions.assertEquals(series.getSeries().getValue(i), model.data.getValue(i - from));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package reega.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reega.data.FakeDataController;
+import reega.data.models.BaseContract;
+import reega.data.models.Contract;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class HistoricalBackfillTest {
+    private static final int CONTRACTS = 10;
+    private static final int FAILING_CONTRACT = 3;
+    private static final int DAYS = 90;
+    private static final long FROM = 1_577_836_800_000L; // 2020-01-01T00:00:00Z
+    private static final long TO = HistoricalBackfillTest.FROM
+            + Duration.ofDays(HistoricalBackfillTest.DAYS).toMillis();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void interruptedBackfillIsResumed() throws IOException {
+        final File checkpoint = this.directory.resolve("backfill.json").toFile();
+        final List<Contract> contracts = new ArrayList<>();
+        for (int i = 1; i <= HistoricalBackfillTest.CONTRACTS; i++) {
+            contracts.add(new BaseContract(i, "address " + i, List.of("gas", "garbage"), new Date()));
+        }
+        final FakeDataController controller = new FakeDataController()
+                .throwingUpload(HistoricalBackfillTest.FAILING_CONTRACT, 2);
+
+        final HistoricalBackfill failing = new HistoricalBackfill(controller, checkpoint, Duration.ofDays(7), 4,
+                new GenerationSeed(1));
+        failing.backfill(contracts, HistoricalBackfillTest.FROM, HistoricalBackfillTest.TO);
+        Assertions.assertEquals(Set.of(HistoricalBackfillTest.FAILING_CONTRACT), failing.getFailedContracts());
+        Assertions.assertTrue(checkpoint.exists());
+        // only the first window of the failing contract has been stored
+        Assertions.assertEquals(7 * 24,
+                controller.getTimestamps(HistoricalBackfillTest.FAILING_CONTRACT, DataType.GAS).size());
+
+        controller.stopFailing();
+        final int uploads = controller.getUploads();
+        final HistoricalBackfill resumed = new HistoricalBackfill(controller, checkpoint, Duration.ofDays(7), 4,
+                new GenerationSeed(1));
+        final long stored = resumed.backfill(contracts, HistoricalBackfillTest.FROM, HistoricalBackfillTest.TO);
+        Assertions.assertTrue(resumed.getFailedContracts().isEmpty());
+        Assertions.assertFalse(checkpoint.exists());
+        // the contracts already backfilled are skipped, without asking the backend
+        Assertions.assertEquals(12, controller.getUploads() - uploads);
+        Assertions.assertEquals((HistoricalBackfillTest.DAYS - 7) * (24 + 4), stored);
+
+        for (final Contract contract : contracts) {
+            HistoricalBackfillTest.assertGrid(controller.getTimestamps(contract.getId(), DataType.GAS),
+                    Duration.ofHours(1).toMillis());
+            HistoricalBackfillTest.assertGrid(controller.getTimestamps(contract.getId(), DataType.PAPER),
+                    Duration.ofDays(1).toMillis());
+        }
+
+        // the resumed run stored the same values of an uninterrupted one
+        final FakeDataController uninterrupted = new FakeDataController();
+        new HistoricalBackfill(uninterrupted, this.directory.resolve("whole.json").toFile(), Duration.ofDays(7), 4,
+                new GenerationSeed(1)).backfill(contracts, HistoricalBackfillTest.FROM, HistoricalBackfillTest.TO);
+        for (final Contract contract : contracts) {
+            for (final DataType type : List.of(DataType.GAS, DataType.PAPER)) {
+                Assertions.assertEquals(HistoricalBackfillTest.values(uninterrupted, contract.getId(), type),
+                        HistoricalBackfillTest.values(controller, contract.getId(), type));
+            }
+        }
+    }
+
+    @Test
+    public void checkpointOfAnotherRangeIsRejected() throws IOException {
+        final File checkpoint = this.directory.resolve("backfill.json").toFile();
+        BackfillCheckpoint.load(checkpoint, 0, 10).save(checkpoint);
+        final HistoricalBackfill backfill = new HistoricalBackfill(new FakeDataController(), checkpoint);
+        Assertions.assertThrows(IOException.class, () -> backfill.backfill(List.of(), 0, 20));
+    }
+
+    /**
+     * Get the values stored for a series, by timestamp.
+     */
+    private static Map<Long, Double> values(final FakeDataController controller, final int contractID,
+            final DataType type) {
+        final Map<Long, Double> values = new HashMap<>();
+        for (final Data data : controller.getStored()) {
+            if (data.getContractID() == contractID && data.getType() == type) {
+                data.getSeries().forEach(values::put);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Check that every timestamp of the range has been stored once.
+     */
+    private static void assertGrid(final List<Long> timestamps, final long step) {
+        final List<Long> sorted = new ArrayList<>(timestamps);
+        sorted.sort(null);
+        Assertions.assertEquals((HistoricalBackfillTest.TO - HistoricalBackfillTest.FROM) / step, sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Assertions.assertEquals(HistoricalBackfillTest.FROM + i * step, sorted.get(i));
+        }
+    }
+}
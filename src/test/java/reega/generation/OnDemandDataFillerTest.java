@@ -0,0 +1,116 @@
+package reega.generation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reega.data.FakeDataController;
+import reega.data.models.BaseContract;
+import reega.data.models.Contract;
+import reega.data.models.Data;
+import reega.data.models.DataType;
+
+public final class OnDemandDataFillerTest {
+    private static final int CONTRACTS = 20;
+    private static final int FAILING_CONTRACT = 7;
+    private static final int MAX_UPLOADS = 2;
+
+    @Test
+    public void contractsAreFilledInParallel() {
+        final FakeDataController controller = OnDemandDataFillerTest.controller()
+                .failingContract(OnDemandDataFillerTest.FAILING_CONTRACT);
+        final OnDemandDataFiller filler = new OnDemandDataFiller(controller, OnDemandDataFillerTest.contracts(), 4,
+                OnDemandDataFillerTest.MAX_UPLOADS, null);
+        filler.fill();
+
+        Assertions.assertEquals(Set.of(OnDemandDataFillerTest.FAILING_CONTRACT), filler.getFailedContracts());
+        Assertions.assertTrue(controller.getMaxInFlight() <= OnDemandDataFillerTest.MAX_UPLOADS);
+        // one upload for each contract, the failing one doesn't stop the others
+        Assertions.assertEquals(OnDemandDataFillerTest.CONTRACTS, controller.getUploads());
+        Assertions.assertEquals((OnDemandDataFillerTest.CONTRACTS - 1) * 2, controller.getStored().size());
+        Assertions.assertTrue(controller.getStored().stream().allMatch(data -> data.getSeries().size() > 0));
+    }
+
+    @Test
+    public void serialFillUploadsOneBatch() {
+        final FakeDataController controller = OnDemandDataFillerTest.controller()
+                .failingContract(OnDemandDataFillerTest.FAILING_CONTRACT);
+        final OnDemandDataFiller filler = new OnDemandDataFiller(controller, OnDemandDataFillerTest.contracts(), 1,
+                1, null);
+        filler.fill();
+
+        Assertions.assertEquals(Set.of(OnDemandDataFillerTest.FAILING_CONTRACT), filler.getFailedContracts());
+        Assertions.assertEquals(1, controller.getUploads());
+    }
+
+    @Test
+    public void seededFillsAreReproducible() {
+        final GenerationSeed seed = new GenerationSeed(42);
+        final FakeDataController serial = OnDemandDataFillerTest.controller();
+        new OnDemandDataFiller(serial, OnDemandDataFillerTest.contracts(), 1, 1, seed).fill();
+        final FakeDataController parallel = OnDemandDataFillerTest.controller();
+        new OnDemandDataFiller(parallel, OnDemandDataFillerTest.contracts(), 4, 2, seed).fill();
+
+        final Map<String, Data> serialSeries = OnDemandDataFillerTest.byKey(serial.getStored());
+        final Map<String, Data> parallelSeries = OnDemandDataFillerTest.byKey(parallel.getStored());
+        Assertions.assertEquals(serialSeries.keySet(), parallelSeries.keySet());
+        serialSeries.forEach((key, data) -> Assertions.assertArrayEquals(OnDemandDataFillerTest.values(data),
+                OnDemandDataFillerTest.values(parallelSeries.get(key)), key));
+
+        final FakeDataController otherSeed = OnDemandDataFillerTest.controller();
+        new OnDemandDataFiller(otherSeed, OnDemandDataFillerTest.contracts(), 1, 1, new GenerationSeed(43)).fill();
+        Assertions.assertFalse(Arrays.equals(OnDemandDataFillerTest.values(serialSeries.get("1-gas")),
+                OnDemandDataFillerTest.values(OnDemandDataFillerTest.byKey(otherSeed.getStored()).get("1-gas"))));
+    }
+
+    /**
+     * Get the first values of a series, the same number for every filler even if they were created a step apart.
+     */
+    private static double[] values(final Data data) {
+        final double[] values = new double[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data.getSeries().getValue(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void bulkFillMatchesSingleValues() {
+        final GenerationSeed seed = new GenerationSeed(7);
+        final Generator single = GaussianGeneratorFactory.getGaussianGenerator(DataType.WATER,
+                seed.forSeries(1, DataType.WATER));
+        final Generator bulk = GaussianGeneratorFactory.getGaussianGenerator(DataType.WATER,
+                seed.forSeries(1, DataType.WATER));
+        final double[] expected = new double[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = single.nextValue();
+        }
+        final double[] values = new double[expected.length];
+        bulk.fill(values, 0L, 3_600_000L);
+        Assertions.assertArrayEquals(expected, values);
+    }
+
+    private static Map<String, Data> byKey(final List<Data> data) {
+        return data.stream().collect(Collectors.toMap(d -> d.getContractID() + "-" + d.getType().getName(), d -> d));
+    }
+
+    private static FakeDataController controller() {
+        return new FakeDataController().uploadDelay(Duration.ofMillis(10));
+    }
+
+    private static List<Contract> contracts() {
+        final List<Contract> contracts = new ArrayList<>();
+        for (int i = 1; i <= OnDemandDataFillerTest.CONTRACTS; i++) {
+            contracts.add(new BaseContract(i, "address " + i, List.of("gas", "water"), new Date()));
+        }
+        return contracts;
+    }
+}
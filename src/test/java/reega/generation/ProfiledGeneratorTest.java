@@ -0,0 +1,99 @@
+package reega.generation;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reega.data.models.DataType;
+
+public final class ProfiledGeneratorTest {
+    private static final long HOUR = 3_600_000L;
+    private static final ZoneId ZONE = ZoneId.of("Europe/Rome");
+
+    @Test
+    public void valuesFollowTheProfile() {
+        final double[] hourly = new double[24];
+        hourly[20] = 1;
+        final double[] monthly = new double[12];
+        Arrays.fill(monthly, 1);
+        monthly[0] = 3;
+        final UsageProfile profile = new UsageProfile(hourly, 1, monthly, 0, 1);
+        final Generator generator = new ProfiledGenerator(() -> 1.0, profile, ProfiledGeneratorTest.ZONE,
+                new SplittableRandom(1));
+
+        // a year of hourly values, starting at local midnight, across both DST changes
+        final long start = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ProfiledGeneratorTest.ZONE)
+                .toInstant()
+                .toEpochMilli();
+        final double[] values = new double[365 * 24];
+        generator.fill(values, start, ProfiledGeneratorTest.HOUR);
+        for (int i = 0; i < values.length; i++) {
+            final ZonedDateTime time = ZonedDateTime.ofInstant(
+                    Instant.ofEpochMilli(start + i * ProfiledGeneratorTest.HOUR), ProfiledGeneratorTest.ZONE);
+            if (time.getHour() != 20) {
+                Assertions.assertEquals(0.0, values[i], time.toString());
+            } else {
+                // normalized curves: the only hour weighs 24, January weighs 36 / 14
+                final double month = time.getMonthValue() == 1 ? 36.0 / 14 : 12.0 / 14;
+                Assertions.assertEquals(24 * month, values[i], 1e-9, time.toString());
+            }
+        }
+    }
+
+    @Test
+    public void bulkFillMatchesSingleValues() {
+        final GenerationSeed seed = new GenerationSeed(11);
+        final Generator single = GaussianGeneratorFactory.getProfiledGenerator(DataType.ELECTRICITY,
+                seed.forSeries(3, DataType.ELECTRICITY));
+        final Generator bulk = GaussianGeneratorFactory.getProfiledGenerator(DataType.ELECTRICITY,
+                seed.forSeries(3, DataType.ELECTRICITY));
+        final long start = 1_600_000_000_000L;
+        final double[] values = new double[5000];
+        bulk.fill(values, start, ProfiledGeneratorTest.HOUR);
+        for (int i = 0; i < values.length; i++) {
+            Assertions.assertEquals(single.valueAt(start + i * ProfiledGeneratorTest.HOUR), values[i]);
+        }
+    }
+
+    @Test
+    public void defaultProfilesHaveDailyPeaks() {
+        final Generator generator = GaussianGeneratorFactory.getProfiledGenerator(DataType.ELECTRICITY,
+                new SplittableRandom(5));
+        final long start = ZonedDateTime.of(2021, 3, 1, 0, 0, 0, 0, UsageProfiles.getDefault().getZone())
+                .toInstant()
+                .toEpochMilli();
+        final double[] values = new double[28 * 24];
+        generator.fill(values, start, ProfiledGeneratorTest.HOUR);
+        double night = 0;
+        double evening = 0;
+        for (int day = 0; day < 28; day++) {
+            night += values[day * 24 + 3];
+            evening += values[day * 24 + 19];
+        }
+        Assertions.assertTrue(evening > 2 * night);
+    }
+
+    @Test
+    public void invalidProfilesAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> UsageProfiles
+                .load(new StringReader("{\"profiles\": {\"gas\": {\"hourly\": [1, 2, 3]}}}")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> UsageProfiles.load(new StringReader("{\"profiles\": {\"steam\": {}}}")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> UsageProfiles.load(new StringReader("{\"timezone\": \"Mars/Olympus\"}")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> UsageProfiles.load(new StringReader("{\"profiles\": {\"gas\": null}}")));
+        final UsageProfiles profiles = UsageProfiles
+                .load(new StringReader("{\"timezone\": \"UTC\", \"profiles\": {\"gas\": {\"weekend\": 2}}}"));
+        Assertions.assertEquals(ZoneId.of("UTC"), profiles.getZone());
+        Assertions.assertTrue(profiles.get(DataType.GAS).isPresent());
+        Assertions.assertFalse(profiles.get(DataType.WATER).isPresent());
+        Assertions.assertEquals(1.0, profiles.get(DataType.GAS).get().getSpikeFactor());
+    }
+}
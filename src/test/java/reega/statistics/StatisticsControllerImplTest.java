@@ -1,9 +1,9 @@
 package reega.statistics;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.List;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.TestInstance;
 import reega.data.models.Data;
 import reega.data.models.DataType;
 import reega.data.models.ServiceType;
+import reega.main.Settings;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public final class StatisticsControllerImplTest {
@@ -22,7 +23,7 @@ public final class StatisticsControllerImplTest {
     private static final double COMMON_TOTAL = 52.0;
     private final List<Data> data = new ArrayList<>();
     private final StatisticsController statisticsController = new StatisticsControllerImpl();
-    private final Date peekDate = new GregorianCalendar(2021, Calendar.APRIL, 3).getTime();
+    private final Date peekDate = StatisticsControllerImplTest.day(3);
     private final Pair<Date, Double> commonPeek = Pair.of(this.peekDate, 27.0);
 
     @BeforeAll
@@ -47,8 +48,15 @@ public final class StatisticsControllerImplTest {
         this.statisticsController.setData(this.data);
     }
 
+    // days are grouped in the client timezone
+    private static Date day(final int dayOfMonth) {
+        return Date.from(LocalDate.of(2021, 4, dayOfMonth)
+                .atStartOfDay(ZoneId.of(Settings.CLIENT_TIMEZONE))
+                .toInstant());
+    }
+
     private void addRecordToData(final Data data) {
-        data.addRecord(new GregorianCalendar(2021, Calendar.APRIL, 2).getTimeInMillis(), 25.0d);
+        data.addRecord(StatisticsControllerImplTest.day(2).getTime(), 25.0d);
         data.addRecord(this.peekDate.getTime(), 27.0d);
     }
 
@@ -127,4 +135,35 @@ public final class StatisticsControllerImplTest {
     public void waterTotalTest() {
         Assertions.assertEquals(this.totalTest(ServiceType.WATER), StatisticsControllerImplTest.COMMON_TOTAL);
     }
+
+    @Test
+    public void incrementalContractTest() {
+        final StatisticsController controller = new StatisticsControllerImpl();
+        controller.setData(new ArrayList<>(this.data));
+        final Data gasSecondContract = new Data(2, DataType.GAS);
+        gasSecondContract.addRecord(StatisticsControllerImplTest.day(2).getTime(), 40.0d);
+        gasSecondContract.addRecord(StatisticsControllerImplTest.day(4).getTime(), 10.0d);
+        // force the aggregation before changing the contracts
+        Assertions.assertEquals(StatisticsControllerImplTest.COMMON_TOTAL, controller.getTotalUsage(ServiceType.GAS));
+
+        controller.addContractData(2, List.of(gasSecondContract));
+        Assertions.assertEquals(StatisticsControllerImplTest.COMMON_TOTAL + 50.0,
+                controller.getTotalUsage(ServiceType.GAS));
+        Assertions.assertEquals(Pair.of(StatisticsControllerImplTest.day(2), 65.0),
+                controller.getPeek(ServiceType.GAS).get());
+        Assertions.assertEquals((StatisticsControllerImplTest.COMMON_TOTAL + 50.0) / 3,
+                controller.getAverageUsage(ServiceType.GAS));
+        Assertions.assertEquals(this.data.size() + 1, controller.getCurrentData().size());
+
+        controller.removeContractData(1);
+        Assertions.assertEquals(50.0, controller.getTotalUsage(ServiceType.GAS));
+        Assertions.assertEquals(0.0, controller.getTotalUsage(ServiceType.WATER));
+        Assertions.assertTrue(controller.getPeek(ServiceType.WATER).isEmpty());
+        Assertions.assertEquals(List.of(gasSecondContract), controller.getCurrentData());
+
+        controller.addContractData(1, this.data);
+        Assertions.assertEquals(this.commonPeek, controller.getPeek(ServiceType.WATER).get());
+        Assertions.assertEquals(StatisticsControllerImplTest.COMMON_AVERAGE,
+                controller.getAverageUsage(ServiceType.WATER));
+    }
 }
@@ -0,0 +1,66 @@
+package reega.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class TimeBucketsTest {
+    private static final ZoneId ROME = ZoneId.of("Europe/Rome");
+    private static final long HOUR = 3_600_000L;
+
+    private static long millis(final LocalDateTime dateTime) {
+        return dateTime.atZone(TimeBucketsTest.ROME).toInstant().toEpochMilli();
+    }
+
+    private static long startOfDay(final int month, final int day) {
+        return LocalDate.of(2021, month, day).atStartOfDay(TimeBucketsTest.ROME).toInstant().toEpochMilli();
+    }
+
+    @Test
+    public void daysAcrossDstTransitions() {
+        final TimeBuckets days = TimeBuckets.of(TimeBuckets.Granularity.DAY, TimeBucketsTest.ROME,
+                TimeBucketsTest.startOfDay(3, 27), TimeBucketsTest.startOfDay(10, 31) + 20 * TimeBucketsTest.HOUR);
+
+        final int springForward = days.indexOf(TimeBucketsTest.startOfDay(3, 28));
+        Assertions.assertEquals(1, springForward);
+        Assertions.assertEquals(23 * TimeBucketsTest.HOUR, days.getEnd(springForward) - days.getStart(springForward));
+
+        // 23:30 of the 31st of October is 24 hours and a half after the start of that 25 hours long day
+        final long lateEvening = TimeBucketsTest.millis(LocalDateTime.of(2021, 10, 31, 23, 30));
+        final int fallBack = days.indexOf(lateEvening);
+        Assertions.assertEquals(days.size() - 1, fallBack);
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(10, 31), days.getStart(fallBack));
+        Assertions.assertEquals(25 * TimeBucketsTest.HOUR, days.getEnd(fallBack) - days.getStart(fallBack));
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(10, 31), days.startOf(lateEvening));
+    }
+
+    @Test
+    public void timestampsOutsideTheSpan() {
+        final long from = TimeBucketsTest.millis(LocalDateTime.of(2021, 4, 3, 10, 0));
+        final TimeBuckets days = TimeBuckets.of(TimeBuckets.Granularity.DAY, TimeBucketsTest.ROME, from, from);
+
+        Assertions.assertEquals(1, days.size());
+        Assertions.assertEquals(0, days.indexOf(from));
+        Assertions.assertEquals(-1, days.indexOf(TimeBucketsTest.startOfDay(4, 2)));
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(4, 1),
+                days.startOf(TimeBucketsTest.millis(LocalDateTime.of(2021, 4, 1, 18, 0))));
+    }
+
+    @Test
+    public void weeksAndMonths() {
+        final long timestamp = TimeBucketsTest.millis(LocalDateTime.of(2021, 4, 3, 10, 0));
+        final TimeBuckets weeks = TimeBuckets.of(TimeBuckets.Granularity.WEEK, TimeBucketsTest.ROME, timestamp,
+                timestamp);
+        final TimeBuckets months = TimeBuckets.of(TimeBuckets.Granularity.MONTH, TimeBucketsTest.ROME, timestamp,
+                timestamp);
+
+        // the 3rd of April 2021 is a saturday
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(3, 29), weeks.startOf(timestamp));
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(4, 5), weeks.getEnd(0));
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(4, 1), months.startOf(timestamp));
+        Assertions.assertEquals(TimeBucketsTest.startOfDay(5, 1), months.getEnd(0));
+    }
+}